@@ -0,0 +1,59 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.graph.BreathFirstSearch;
+import io.imulab.review.graph.CsrGraph;
+import io.imulab.review.graph.ParallelBreathFirstSearch;
+import io.imulab.review.graph.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BreathFirstSearch} against {@link ParallelBreathFirstSearch} on the common pool, over a random undirected
+ * {@link CsrGraph} with an average degree of 16.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BreathFirstSearchBenchmark {
+
+    @Param({"100000", "1000000", "4000000"})
+    public int vertices;
+
+    private CsrGraph graph;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(0x5EED);
+        CsrGraph.Builder builder = new CsrGraph.Builder(vertices).undirected();
+        for (long i = 0; i < vertices * 8L; i++) {
+            builder.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        graph = builder.build();
+    }
+
+    @Benchmark
+    public Path sequential() {
+        return new BreathFirstSearch(graph, 0);
+    }
+
+    @Benchmark
+    public Path parallel() {
+        return new ParallelBreathFirstSearch(graph, 0);
+    }
+}
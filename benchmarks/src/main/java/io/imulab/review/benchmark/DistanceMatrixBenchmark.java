@@ -0,0 +1,100 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.graph.CsrGraph;
+import io.imulab.review.graph.DijkstraSP;
+import io.imulab.review.graph.DistanceMatrix;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distances from 100 random sources to 1000 random targets over a random {@link CsrGraph} with an average out degree
+ * of 8: one {@link DijkstraSP} per source, serially, against {@link DistanceMatrix#manyToMany}. On a dense graph of 512
+ * vertices, all pairs through a search per source against the blocked Floyd-Warshall of
+ * {@link DistanceMatrix#allPairs}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DistanceMatrixBenchmark {
+
+    private static final int DENSE = 512;
+
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    private CsrGraph graph;
+    private CsrGraph dense;
+    private int[] sources;
+    private int[] targets;
+    private int[] all;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(0x5EED);
+        CsrGraph.Builder builder = new CsrGraph.Builder(vertices);
+        for (long i = 0; i < vertices * 8L; i++) {
+            builder.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextDouble());
+        }
+        graph = builder.build();
+
+        sources = random.ints(100, 0, vertices).toArray();
+        targets = random.ints(1000, 0, vertices).toArray();
+
+        builder = new CsrGraph.Builder(DENSE);
+        for (int v = 0; v < DENSE; v++) {
+            for (int w = 0; w < DENSE; w++) {
+                if (v != w && random.nextInt(4) == 0)
+                    builder.addEdge(v, w, random.nextDouble());
+            }
+        }
+        dense = builder.build();
+
+        all = new int[DENSE];
+        for (int v = 0; v < DENSE; v++) {
+            all[v] = v;
+        }
+    }
+
+    @Benchmark
+    public float serial() {
+        float sum = 0f;
+        for (int s : sources) {
+            DijkstraSP sp = new DijkstraSP(graph, s);
+            for (int t : targets) {
+                sum += (float) sp.distanceTo(t);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public DistanceMatrix manyToMany() {
+        return DistanceMatrix.manyToMany(graph, sources, targets);
+    }
+
+    @Benchmark
+    public DistanceMatrix denseManyToMany() {
+        return DistanceMatrix.manyToMany(dense, all, all);
+    }
+
+    @Benchmark
+    public DistanceMatrix denseAllPairs() {
+        return DistanceMatrix.allPairs(dense);
+    }
+}
@@ -0,0 +1,98 @@
+package io.imulab.review.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Shapes of input data fed to the sort benchmarks. Every distribution is generated from a fixed seed so that
+ * consecutive runs (and runs on different machines) sort exactly the same sequence.
+ */
+public enum Distribution {
+
+    /**
+     * Uniformly random keys over the full int range, mostly distinct.
+     */
+    RANDOM {
+        @Override
+        void fill(int[] keys, SplittableRandom random) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextInt();
+            }
+        }
+    },
+
+    /**
+     * Already sorted in ascending order.
+     */
+    SORTED {
+        @Override
+        void fill(int[] keys, SplittableRandom random) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = i;
+            }
+        }
+    },
+
+    /**
+     * Sorted in descending order.
+     */
+    REVERSED {
+        @Override
+        void fill(int[] keys, SplittableRandom random) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = keys.length - i;
+            }
+        }
+    },
+
+    /**
+     * Random keys drawn from a handful of distinct values, e.g. status codes.
+     */
+    FEW_UNIQUE {
+        @Override
+        void fill(int[] keys, SplittableRandom random) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = random.nextInt(FEW_UNIQUE_VALUES);
+            }
+        }
+    },
+
+    /**
+     * Ascending for the first half and descending for the second half: 0, 1, 2 ... 2, 1, 0.
+     */
+    ORGAN_PIPE {
+        @Override
+        void fill(int[] keys, SplittableRandom random) {
+            int half = keys.length / 2;
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = i < half ? i : keys.length - i - 1;
+            }
+        }
+    };
+
+    private static final long SEED = 0x5EEDL;
+
+    private static final int FEW_UNIQUE_VALUES = 16;
+
+    abstract void fill(int[] keys, SplittableRandom random);
+
+    /**
+     * Generate n keys following this distribution.
+     */
+    public int[] ints(int n) {
+        int[] keys = new int[n];
+        fill(keys, new SplittableRandom(SEED));
+        return keys;
+    }
+
+    /**
+     * Generate n boxed keys following this distribution.
+     */
+    public Integer[] integers(int n) {
+        int[] keys = ints(n);
+        Integer[] boxed = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            boxed[i] = keys[i];
+        }
+        return boxed;
+    }
+}
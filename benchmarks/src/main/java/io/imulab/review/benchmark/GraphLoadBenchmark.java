@@ -0,0 +1,106 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.graph.CsrGraph;
+import io.imulab.review.graph.DirectedEdge;
+import io.imulab.review.graph.EdgeListParser;
+import io.imulab.review.graph.EdgeWeightedDiGraph;
+import io.imulab.review.graph.MappedCsrGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a random weighted edge list with 8 edges per vertex: line by line into an {@link EdgeWeightedDiGraph} with an
+ * {@code addEdge} call per edge, with the {@link EdgeListParser} in one thread and in parallel, and from the binary
+ * file of the same graph with {@link MappedCsrGraph}. Mapping does not read the edges, so the last one also sums the
+ * targets to pay for touching every page once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GraphLoadBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    private File text;
+    private File binary;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        text = File.createTempFile("edges", ".txt");
+        binary = File.createTempFile("edges", ".csr");
+
+        Random random = new Random(0x5EED);
+        try (Writer writer = new BufferedWriter(new FileWriter(text))) {
+            for (long i = 0; i < vertices * 8L; i++) {
+                int v = random.nextInt(vertices), w = random.nextInt(vertices);
+                writer.write(v + " " + w + " " + random.nextFloat() + "\n");
+            }
+        }
+        new EdgeListParser().vertices(vertices).weighted().parse(text).save(binary);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() {
+        text.delete();
+        binary.delete();
+    }
+
+    @Benchmark
+    public EdgeWeightedDiGraph addEdge() throws IOException {
+        EdgeWeightedDiGraph graph = new EdgeWeightedDiGraph(vertices);
+        try (BufferedReader reader = new BufferedReader(new FileReader(text))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(" ");
+                graph.addEdge(new DirectedEdge(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]),
+                        Double.parseDouble(fields[2])));
+            }
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public CsrGraph parse() throws IOException {
+        return new EdgeListParser().vertices(vertices).weighted().parse(text);
+    }
+
+    @Benchmark
+    public CsrGraph parallelParse() throws IOException {
+        return new EdgeListParser().vertices(vertices).weighted().parallel().parse(text);
+    }
+
+    @Benchmark
+    public long mapped() throws IOException {
+        MappedCsrGraph graph = MappedCsrGraph.load(binary);
+        long sum = 0;
+        for (int e = 0; e < graph.arcs(); e++) {
+            sum += graph.target(e);
+        }
+        return sum;
+    }
+}
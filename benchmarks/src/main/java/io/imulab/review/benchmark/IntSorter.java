@@ -0,0 +1,35 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.sort.HeapSort;
+import io.imulab.review.sort.IntSortable;
+import io.imulab.review.sort.MergeSort;
+import io.imulab.review.sort.QuickSort;
+
+/**
+ * The O(NlgN) sorters that have an {@link IntSortable} overload.
+ */
+public enum IntSorter {
+
+    MERGE {
+        @Override
+        public void sort(IntSortable target) {
+            MergeSort.sort(target);
+        }
+    },
+
+    QUICK {
+        @Override
+        public void sort(IntSortable target) {
+            QuickSort.sort(target);
+        }
+    },
+
+    HEAP {
+        @Override
+        public void sort(IntSortable target) {
+            HeapSort.sort(target);
+        }
+    };
+
+    public abstract void sort(IntSortable target);
+}
@@ -0,0 +1,71 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.graph.BoruvkaMST;
+import io.imulab.review.graph.CsrGraph;
+import io.imulab.review.graph.EagerPrimMST;
+import io.imulab.review.graph.EdgeArray;
+import io.imulab.review.graph.FilterKruskalMST;
+import io.imulab.review.graph.MinimumSpanningTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FilterKruskalMST}, {@link EagerPrimMST} and {@link BoruvkaMST} on the common pool, over random graphs with
+ * an average degree of 16 and uniformly random weights.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MinimumSpanningTreeBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    private EdgeArray edges;
+    private CsrGraph graph;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(0x5EED);
+        edges = new EdgeArray(vertices, vertices * 8);
+        for (long i = 0; i < vertices * 8L; i++) {
+            int v = random.nextInt(vertices);
+            int w = random.nextInt(vertices);
+            if (v != w) {
+                edges.addEdge(v, w, random.nextDouble());
+            }
+        }
+        graph = CsrGraph.of(edges);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree filterKruskal() {
+        return new FilterKruskalMST(edges);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree eagerPrim() {
+        return new EagerPrimMST(graph);
+    }
+
+    @Benchmark
+    public MinimumSpanningTree boruvka() {
+        return new BoruvkaMST(edges);
+    }
+}
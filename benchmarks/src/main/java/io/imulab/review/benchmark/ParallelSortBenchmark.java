@@ -0,0 +1,83 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.sort.Array;
+import io.imulab.review.sort.IntArray;
+import io.imulab.review.sort.ParallelMergeSort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ParallelMergeSort} against {@link Arrays#parallelSort}, both on the common pool, for boxed and primitive
+ * keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ParallelSortBenchmark {
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public Distribution distribution;
+
+    @Param({"100000", "1000000", "10000000"})
+    public int size;
+
+    private int[] ints;
+    private int[] intWork;
+    private Integer[] integers;
+    private Integer[] integerWork;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        ints = distribution.ints(size);
+        intWork = new int[size];
+        integers = distribution.integers(size);
+        integerWork = new Integer[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(ints, 0, intWork, 0, size);
+        System.arraycopy(integers, 0, integerWork, 0, size);
+    }
+
+    @Benchmark
+    public int[] parallelMergeSortInts() {
+        ParallelMergeSort.sort(new IntArray(intWork));
+        return intWork;
+    }
+
+    @Benchmark
+    public int[] arraysParallelSortInts() {
+        Arrays.parallelSort(intWork);
+        return intWork;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Integer[] parallelMergeSortIntegers() {
+        ParallelMergeSort.sort(new Array<>(integerWork));
+        return integerWork;
+    }
+
+    @Benchmark
+    public Integer[] arraysParallelSortIntegers() {
+        Arrays.parallelSort(integerWork);
+        return integerWork;
+    }
+}
@@ -0,0 +1,141 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.graph.AStarSearch;
+import io.imulab.review.graph.BidirectionalDijkstra;
+import io.imulab.review.graph.ContractionHierarchy;
+import io.imulab.review.graph.ContractionHierarchySearch;
+import io.imulab.review.graph.CsrGraph;
+import io.imulab.review.graph.DijkstraEngine;
+import io.imulab.review.graph.DijkstraSP;
+import io.imulab.review.graph.LandmarkHeuristic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single source to target queries on a square grid with random weights, a rough stand-in for a road network: a full
+ * {@link DijkstraSP} per query, a {@link DijkstraEngine} that stops at the target, {@link BidirectionalDijkstra}, and
+ * {@link AStarSearch} with 8 landmarks, and a {@link ContractionHierarchySearch}. Each invocation answers a batch of
+ * random queries with the same reusable search. The hierarchy is built in a setup of its own, only for the benchmark
+ * that needs it, as it takes minutes on the larger grid.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PointToPointBenchmark {
+
+    private static final int QUERIES = 16;
+
+    @Param({"300", "1000"})
+    public int side;
+
+    private CsrGraph graph;
+    private int[] sources;
+    private int[] targets;
+    private DijkstraEngine engine;
+    private BidirectionalDijkstra bidirectional;
+    private AStarSearch alt;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(0x5EED);
+        int V = side * side;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) {
+                    builder.addEdge(v, v + 1, 1 + random.nextInt(100));
+                    builder.addEdge(v + 1, v, 1 + random.nextInt(100));
+                }
+                if (r + 1 < side) {
+                    builder.addEdge(v, v + side, 1 + random.nextInt(100));
+                    builder.addEdge(v + side, v, 1 + random.nextInt(100));
+                }
+            }
+        }
+        graph = builder.build();
+
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            sources[q] = random.nextInt(V);
+            targets[q] = random.nextInt(V);
+        }
+
+        engine = new DijkstraEngine(graph);
+        bidirectional = new BidirectionalDijkstra(graph);
+        alt = new AStarSearch(graph, LandmarkHeuristic.farthest(graph, 8));
+    }
+
+    @Benchmark
+    public double dijkstra() {
+        double total = 0d;
+        for (int q = 0; q < QUERIES; q++) {
+            total += new DijkstraSP(graph, sources[q]).distanceTo(targets[q]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double engine() {
+        double total = 0d;
+        for (int q = 0; q < QUERIES; q++) {
+            total += engine.search(sources[q], targets[q]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double bidirectional() {
+        double total = 0d;
+        for (int q = 0; q < QUERIES; q++) {
+            total += bidirectional.search(sources[q], targets[q]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double aStarLandmarks() {
+        double total = 0d;
+        for (int q = 0; q < QUERIES; q++) {
+            total += alt.search(sources[q], targets[q]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double contractionHierarchy(Hierarchy hierarchy) {
+        double total = 0d;
+        for (int q = 0; q < QUERIES; q++) {
+            total += hierarchy.search.search(sources[q], targets[q]);
+        }
+        return total;
+    }
+
+    @State(Scope.Thread)
+    public static class Hierarchy {
+
+        private ContractionHierarchySearch search;
+
+        @Setup(Level.Trial)
+        public void build(PointToPointBenchmark benchmark) {
+            search = new ContractionHierarchySearch(ContractionHierarchy.build(benchmark.graph));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.sort.IntArray;
+import io.imulab.review.sort.IntSortable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the {@link IntArray} overloads, to be read next to the {@code ARRAY} rows of {@link SortBenchmark}
+ * for the same sorter, distribution and size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PrimitiveSortBenchmark {
+
+    @Param({"MERGE", "QUICK", "HEAP"})
+    public IntSorter sorter;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public Distribution distribution;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private int[] source;
+    private int[] work;
+    private IntSortable target;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = distribution.ints(size);
+        work = new int[size];
+        target = new IntArray(work);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, work, 0, size);
+    }
+
+    @Benchmark
+    public IntSortable sort() {
+        sorter.sort(target);
+        return target;
+    }
+}
@@ -0,0 +1,68 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.graph.CsrGraph;
+import io.imulab.review.graph.DeltaSteppingSP;
+import io.imulab.review.graph.DijkstraEngine;
+import io.imulab.review.graph.DijkstraSP;
+import io.imulab.review.graph.ShortestPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full shortest path trees from one source over a random {@link CsrGraph} with an average out degree of 8 and uniformly
+ * random weights: {@link DijkstraSP}, a warm {@link DijkstraEngine}, and {@link DeltaSteppingSP} on the common pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SingleSourceBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int vertices;
+
+    private CsrGraph graph;
+    private DijkstraEngine engine;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(0x5EED);
+        CsrGraph.Builder builder = new CsrGraph.Builder(vertices);
+        for (long i = 0; i < vertices * 8L; i++) {
+            builder.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextDouble());
+        }
+        graph = builder.build();
+        engine = new DijkstraEngine(graph);
+    }
+
+    @Benchmark
+    public ShortestPath dijkstra() {
+        return new DijkstraSP(graph, 0);
+    }
+
+    @Benchmark
+    public ShortestPath engine() {
+        engine.search(0);
+        return engine;
+    }
+
+    @Benchmark
+    public ShortestPath deltaStepping() {
+        return new DeltaSteppingSP(graph, 0);
+    }
+}
@@ -0,0 +1,66 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.sort.Sortable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the O(NlgN) sorters over every target kind and input distribution, from 1K to 10M elements.
+ *
+ * Each invocation sorts a fresh copy of the same generated input, the copy is made outside of the measured region.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SortBenchmark {
+
+    @Param({"MERGE", "BOTTOM_UP_MERGE", "QUICK", "QUICK_THREE_WAY", "QUICK_DUAL_PIVOT", "QUICK_ADAPTIVE", "HEAP",
+            "HEAP_IN_PLACE"})
+    public Sorter sorter;
+
+    @Param({"ARRAY", "LIST"})
+    public TargetKind kind;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE", "ORGAN_PIPE"})
+    public Distribution distribution;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private Integer[] source;
+    private Integer[] work;
+    private Sortable<Integer> target;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        source = distribution.integers(size);
+        work = new Integer[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(source, 0, work, 0, size);
+        target = kind.wrap(work);
+    }
+
+    @Benchmark
+    public Sortable<Integer> sort() {
+        sorter.sort(target);
+        return target;
+    }
+}
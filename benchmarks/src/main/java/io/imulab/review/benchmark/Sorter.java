@@ -0,0 +1,87 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.sort.BottomUpMergeSort;
+import io.imulab.review.sort.HeapSort;
+import io.imulab.review.sort.InsertionSort;
+import io.imulab.review.sort.MergeSort;
+import io.imulab.review.sort.QuickSort;
+import io.imulab.review.sort.SelectionSort;
+import io.imulab.review.sort.Sortable;
+
+/**
+ * Every sorter in {@code io.imulab.review.sort}, addressable by name from a JMH {@code @Param}.
+ */
+public enum Sorter {
+
+    MERGE {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            MergeSort.sort(target);
+        }
+    },
+
+    BOTTOM_UP_MERGE {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            BottomUpMergeSort.sort(target);
+        }
+    },
+
+    QUICK {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            QuickSort.sort(target);
+        }
+    },
+
+    QUICK_THREE_WAY {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            QuickSort.sort(target, Sortable.Direction.ASC, QuickSort.Mode.THREE_WAY);
+        }
+    },
+
+    QUICK_DUAL_PIVOT {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            QuickSort.sort(target, Sortable.Direction.ASC, QuickSort.Mode.DUAL_PIVOT);
+        }
+    },
+
+    QUICK_ADAPTIVE {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            QuickSort.sort(target, Sortable.Direction.ASC, QuickSort.Mode.ADAPTIVE);
+        }
+    },
+
+    HEAP {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            HeapSort.sort(target);
+        }
+    },
+
+    HEAP_IN_PLACE {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            HeapSort.sortInPlace(target);
+        }
+    },
+
+    INSERTION {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            InsertionSort.sort(target);
+        }
+    },
+
+    SELECTION {
+        @Override
+        public void sort(Sortable<Integer> target) {
+            SelectionSort.sort(target);
+        }
+    };
+
+    public abstract void sort(Sortable<Integer> target);
+}
@@ -0,0 +1,30 @@
+package io.imulab.review.benchmark;
+
+import io.imulab.review.sort.Array;
+import io.imulab.review.sort.List;
+import io.imulab.review.sort.Sortable;
+
+/**
+ * The {@link Sortable} implementations a benchmark can sort.
+ */
+public enum TargetKind {
+
+    ARRAY {
+        @Override
+        public Sortable<Integer> wrap(Integer[] items) {
+            return new Array<>(items);
+        }
+    },
+
+    LIST {
+        @Override
+        public Sortable<Integer> wrap(Integer[] items) {
+            return new List<>(items);
+        }
+    };
+
+    /**
+     * Wrap the items in a fresh target. {@link #ARRAY} sorts the given array in place, {@link #LIST} copies it.
+     */
+    public abstract Sortable<Integer> wrap(Integer[] items);
+}
@@ -0,0 +1,98 @@
+package io.imulab.review.graph;
+
+
+/**
+ * The A* search: Dijkstra's Algorithm, with vertices ranked by their distance from the source plus a {@link Heuristic}
+ * estimate of their distance to the target, instead of the distance from the source alone.
+ *
+ * Vertices that lead towards the target are then scanned before those that lead away from it, and the search stops as
+ * soon as the target is taken off the queue. With an admissible estimate, the path found is the shortest. When the
+ * estimate is not consistent, a vertex may be reached through a shorter path after it was scanned, in which case it
+ * goes back on the queue and is scanned again.
+ *
+ * The search keeps its state in a {@link SearchWorkspace}, so repeated queries do not allocate, apart from the path
+ * itself. Weights must not be negative.
+ */
+public class AStarSearch implements PointToPointSearch {
+
+    private final CsrGraph graph;
+    private final Heuristic heuristic;
+    private final SearchWorkspace space;
+
+    private int target = -1;
+
+    public AStarSearch(EdgeWeightedDiGraph graph, Heuristic heuristic) {
+        this(CsrGraph.of(graph), heuristic);
+    }
+
+    public AStarSearch(CsrGraph graph, Heuristic heuristic) {
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        this.graph = graph;
+        this.heuristic = heuristic;
+        this.space = new SearchWorkspace(graph.V());
+    }
+
+    @Override
+    public double search(int source, int target) {
+        checkIndex(source);
+        checkIndex(target);
+
+        this.target = target;
+        space.reset();
+
+        space.reach(source, 0d, -1);
+        space.pq.insert(source, heuristic.estimate(source, target));
+
+        while (!space.pq.isEmpty()) {
+            int v = space.pq.removeMin();
+            if (v == target)
+                break;
+
+            double dv = space.distanceTo(v);
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                int w = graph.target(e);
+                double dw = dv + graph.weight(e);
+                if (dw < space.distanceTo(w)) {
+                    space.reach(w, dw, e);
+                    space.pq.insertOrDecrease(w, dw + heuristic.estimate(w, target));
+                }
+            }
+        }
+
+        return space.distanceTo(target);
+    }
+
+    @Override
+    public boolean hasPath() {
+        return target != -1 && space.isReached(target);
+    }
+
+    @Override
+    public double distanceTo(int v) {
+        checkTarget(v);
+        return space.distanceTo(target);
+    }
+
+    @Override
+    public Iterable<DirectedEdge> pathTo(int v) {
+        checkTarget(v);
+        if (!hasPath())
+            return null;
+
+        return space.path(graph, target);
+    }
+
+    private void checkTarget(int v) {
+        if (target == -1)
+            throw new IllegalStateException("no query has been searched");
+        if (v != target)
+            throw new IllegalArgumentException(v + " is not the target of the last query");
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= graph.V())
+            throw new IndexOutOfBoundsException(index + " is out of bounds");
+    }
+}
@@ -0,0 +1,141 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.sort.TopologicalSort;
+
+
+/**
+ * Shortest, or longest, paths in an edge weighted directed acyclic graph, in linear time.
+ *
+ * In topological order, every edge leads forward, so by the time a vertex comes up, every path into it has been
+ * relaxed and its distance is final. Relaxing the edges of every vertex once, in that order, computes the shortest
+ * path tree in O(V + E), with no priority queue, and negative weights are no problem. Flipping the comparison computes
+ * longest paths instead, which is how the critical path of a schedule is found; longest paths are hard in general
+ * graphs, but not without cycles.
+ *
+ * The order comes from {@link TopologicalSort}, and is checked against every edge, so a graph with a cycle is turned
+ * down with an {@link IllegalArgumentException} rather than given wrong answers.
+ */
+public class AcyclicSP implements ShortestPath {
+
+    private final CsrGraph graph;
+    private final int source;
+    private final boolean longest;
+    private final double[] distTo;
+    private final int[] edgeTo;
+
+    private AcyclicSP(CsrGraph graph, int source, boolean longest) {
+        if (source < 0 || source >= graph.V())
+            throw new IllegalArgumentException("source is out of bounds");
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        this.graph = graph;
+        this.source = source;
+        this.longest = longest;
+        this.distTo = new double[graph.V()];
+        this.edgeTo = new int[graph.V()];
+
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        for (int v = 0; v < graph.V(); v++) {
+            distTo[v] = unreached;
+            edgeTo[v] = -1;
+        }
+        distTo[source] = 0d;
+
+        int[] order = order(graph);
+
+        // nothing before the source in the order can be reached from it
+        int start = 0;
+        while (order[start] != source) {
+            start++;
+        }
+        for (int i = start; i < order.length; i++) {
+            int v = order[i];
+            if (distTo[v] == unreached)
+                continue;
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                relax(v, e);
+            }
+        }
+    }
+
+    /**
+     * Shortest paths from the source.
+     */
+    public static AcyclicSP shortest(CsrGraph graph, int source) {
+        return new AcyclicSP(graph, source, false);
+    }
+
+    public static AcyclicSP shortest(EdgeWeightedDiGraph graph, int source) {
+        return shortest(CsrGraph.of(graph), source);
+    }
+
+    /**
+     * Longest paths from the source.
+     */
+    public static AcyclicSP longest(CsrGraph graph, int source) {
+        return new AcyclicSP(graph, source, true);
+    }
+
+    public static AcyclicSP longest(EdgeWeightedDiGraph graph, int source) {
+        return longest(CsrGraph.of(graph), source);
+    }
+
+    /**
+     * A topological order of the graph, checked against every edge.
+     */
+    private static int[] order(CsrGraph graph) {
+        int[] order = TopologicalSort.order(graph);
+        int[] position = new int[graph.V()];
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+
+        for (int v = 0; v < graph.V(); v++) {
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                if (position[graph.target(e)] <= position[v])
+                    throw new IllegalArgumentException("graph has a cycle through edge " + graph.edge(e));
+            }
+        }
+
+        return order;
+    }
+
+    private void relax(int v, int e) {
+        int w = graph.target(e);
+        double tentativeDistance = distTo[v] + graph.weight(e);
+        if (longest ? tentativeDistance > distTo[w] : tentativeDistance < distTo[w]) {
+            distTo[w] = tentativeDistance;
+            edgeTo[w] = e;
+        }
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public boolean isLongest() {
+        return longest;
+    }
+
+    /**
+     * Return the distance of the shortest, or longest, path from the source to v. Infinite, positive for shortest
+     * paths and negative for longest paths, if there is no path.
+     */
+    @Override
+    public double distanceTo(int v) {
+        return distTo[v];
+    }
+
+    public boolean hasPathTo(int v) {
+        return !Double.isInfinite(distTo[v]);
+    }
+
+    @Override
+    public Iterable<DirectedEdge> pathTo(int v) {
+        if (!hasPathTo(v))
+            return null;
+
+        return graph.path(v, w -> edgeTo[w]);
+    }
+}
@@ -0,0 +1,186 @@
+package io.imulab.review.graph;
+
+import java.util.Stack;
+
+/**
+ * The queue based Bellman-Ford algorithm, also known as SPFA, which computes shortest paths with negative weights, and
+ * finds a negative cycle when there is one.
+ *
+ * Only a vertex whose distance has just dropped can lower the distance of its neighbors, so rather than relaxing every
+ * edge V times, only the edges of such vertices are relaxed, which are kept on a FIFO queue. A vertex is on the queue
+ * at most once, so the queue is a ring of V slots. The worst case remains O(EV), but on most graphs the queue drains
+ * long before that.
+ *
+ * With no negative cycle, a shortest path has fewer than V edges. The search counts the edges on the path to each
+ * vertex, and once one reaches V, looks for a cycle among the edges the paths are made of. Any cycle there is a
+ * negative cycle, and the search stops with it.
+ */
+public class BellmanFordSP implements ShortestPath {
+
+    private final CsrGraph graph;
+    private final int source;
+    private final double[] distTo;
+    private final int[] edgeTo;
+
+    // the vertex at the other end of edgeTo, and the number of edges on the path to each vertex
+    private final int[] parent;
+    private final int[] length;
+
+    private final boolean[] onQueue;
+    private final int[] queue;
+    private int head;
+    private int size;
+
+    private Stack<DirectedEdge> cycle;
+
+    public BellmanFordSP(EdgeWeightedDiGraph graph, int source) {
+        this(CsrGraph.of(graph), source);
+    }
+
+    public BellmanFordSP(CsrGraph graph, int source) {
+        if (source < 0 || source >= graph.V())
+            throw new IllegalArgumentException("source is out of bounds");
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        int V = graph.V();
+        this.graph = graph;
+        this.source = source;
+        this.distTo = new double[V];
+        this.edgeTo = new int[V];
+        this.parent = new int[V];
+        this.length = new int[V];
+        this.onQueue = new boolean[V];
+        this.queue = new int[V];
+
+        for (int v = 0; v < V; v++) {
+            distTo[v] = Double.POSITIVE_INFINITY;
+            edgeTo[v] = -1;
+            parent[v] = -1;
+        }
+        distTo[source] = 0d;
+
+        offer(source);
+        while (size > 0 && cycle == null) {
+            int v = poll();
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                relax(v, e);
+                if (cycle != null)
+                    break;
+            }
+        }
+    }
+
+    private void relax(int v, int e) {
+        int w = graph.target(e);
+        double tentativeDistance = distTo[v] + graph.weight(e);
+        if (tentativeDistance < distTo[w]) {
+            distTo[w] = tentativeDistance;
+            edgeTo[w] = e;
+            parent[w] = v;
+            length[w] = length[v] + 1;
+
+            if (length[w] >= graph.V()) {
+                findNegativeCycle();
+                // even without a cycle among the edges yet, the path lengths keep growing until there is one,
+                // so keep searching, and only check again on the next full V edges.
+                length[w] = 0;
+            }
+
+            if (!onQueue[w]) {
+                offer(w);
+            }
+        }
+    }
+
+    /**
+     * Look for a cycle in the graph of edgeTo, where every vertex has at most one edge in. Walking back from each
+     * vertex, a walk that runs into itself has found a cycle.
+     */
+    private void findNegativeCycle() {
+        int V = graph.V();
+
+        // 0: not visited, 1: on the walk in progress, 2: done
+        byte[] state = new byte[V];
+        for (int s = 0; s < V && cycle == null; s++) {
+            int v = s;
+            while (v != -1 && state[v] == 0) {
+                state[v] = 1;
+                v = parent[v];
+            }
+
+            if (v != -1 && state[v] == 1) {
+                cycle = new Stack<>();
+                int w = v;
+                do {
+                    cycle.push(graph.edge(edgeTo[w]));
+                    w = parent[w];
+                } while (w != v);
+
+                // pushed from the last edge backwards, reverse to walk it forwards
+                Stack<DirectedEdge> reverse = new Stack<>();
+                while (!cycle.isEmpty()) {
+                    reverse.push(cycle.pop());
+                }
+                cycle = reverse;
+            }
+
+            for (v = s; v != -1 && state[v] == 1; v = parent[v]) {
+                state[v] = 2;
+            }
+        }
+    }
+
+    private void offer(int v) {
+        queue[(head + size) % queue.length] = v;
+        size++;
+        onQueue[v] = true;
+    }
+
+    private int poll() {
+        int v = queue[head];
+        head = (head + 1) % queue.length;
+        size--;
+        onQueue[v] = false;
+        return v;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public boolean hasNegativeCycle() {
+        return cycle != null;
+    }
+
+    /**
+     * The negative cycle found, as edges in order, or null if there is none.
+     */
+    public Iterable<DirectedEdge> negativeCycle() {
+        return cycle;
+    }
+
+    @Override
+    public double distanceTo(int v) {
+        checkNoNegativeCycle();
+        return distTo[v];
+    }
+
+    public boolean hasPathTo(int v) {
+        checkNoNegativeCycle();
+        return distTo[v] < Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public Iterable<DirectedEdge> pathTo(int v) {
+        if (!hasPathTo(v))
+            return null;
+
+        return graph.path(v, w -> edgeTo[w]);
+    }
+
+    private void checkNoNegativeCycle() {
+        if (cycle != null)
+            throw new IllegalStateException("negative cycle reachable from the source");
+    }
+}
@@ -0,0 +1,151 @@
+package io.imulab.review.graph;
+
+import java.util.List;
+
+
+/**
+ * Dijkstra's Algorithm, run from the source forward and from the target backward at the same time.
+ *
+ * Every step scans the vertex at the top of the smaller of the two queues. When an edge scanned by one side leads to a
+ * vertex the other side has reached, the two partial paths join into a complete one, and the shortest seen is kept.
+ * Once the tops of the two queues add up to no less than that path, no path through unscanned vertices can be
+ * shorter, and the search stops. Each side then only explores a ball of about half the radius of the one a one sided
+ * search would, which on road-like graphs is a fraction of the vertices.
+ *
+ * The backward side searches the reverse of the graph, which is built once when the search is created. Both sides
+ * keep their state in a {@link SearchWorkspace}, so repeated queries do not allocate, apart from the path itself.
+ *
+ * Weights must not be negative.
+ */
+public class BidirectionalDijkstra implements PointToPointSearch {
+
+    private final CsrGraph forward;
+    private final CsrGraph backward;
+    private final SearchWorkspace forwardSpace;
+    private final SearchWorkspace backwardSpace;
+
+    private int target = -1;
+    private double distance = Double.POSITIVE_INFINITY;
+
+    // the vertex where the shortest path found so far joins the two sides
+    private int meet = -1;
+
+    public BidirectionalDijkstra(EdgeWeightedDiGraph graph) {
+        this(CsrGraph.of(graph));
+    }
+
+    public BidirectionalDijkstra(CsrGraph graph) {
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        this.forward = graph;
+        this.backward = graph.reverse();
+        this.forwardSpace = new SearchWorkspace(graph.V());
+        this.backwardSpace = new SearchWorkspace(graph.V());
+    }
+
+    @Override
+    public double search(int source, int target) {
+        checkIndex(source);
+        checkIndex(target);
+
+        this.target = target;
+        this.distance = Double.POSITIVE_INFINITY;
+        this.meet = -1;
+
+        forwardSpace.reset();
+        backwardSpace.reset();
+
+        forwardSpace.reach(source, 0d, -1);
+        forwardSpace.pq.insert(source, 0d);
+        backwardSpace.reach(target, 0d, -1);
+        backwardSpace.pq.insert(target, 0d);
+        if (source == target) {
+            distance = 0d;
+            meet = source;
+            return distance;
+        }
+
+        while (!forwardSpace.pq.isEmpty() && !backwardSpace.pq.isEmpty()) {
+            if (forwardSpace.pq.minKey() + backwardSpace.pq.minKey() >= distance)
+                break;
+
+            if (forwardSpace.pq.size() <= backwardSpace.pq.size()) {
+                scan(forward, forwardSpace, backwardSpace);
+            } else {
+                scan(backward, backwardSpace, forwardSpace);
+            }
+        }
+
+        return distance;
+    }
+
+    /**
+     * Scan the top vertex of one side, and check every vertex it reaches against the other side.
+     */
+    private void scan(CsrGraph graph, SearchWorkspace space, SearchWorkspace other) {
+        int v = space.pq.removeMin();
+        double dv = space.distanceTo(v);
+
+        for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+            int w = graph.target(e);
+            double dw = dv + graph.weight(e);
+
+            if (dw < space.distanceTo(w)) {
+                space.reach(w, dw, e);
+                space.pq.insertOrDecrease(w, dw);
+            }
+
+            if (other.isReached(w)) {
+                double total = space.distanceTo(w) + other.distanceTo(w);
+                if (total < distance) {
+                    distance = total;
+                    meet = w;
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean hasPath() {
+        return meet != -1;
+    }
+
+    @Override
+    public double distanceTo(int v) {
+        checkTarget(v);
+        return distance;
+    }
+
+    @Override
+    public Iterable<DirectedEdge> pathTo(int v) {
+        checkTarget(v);
+        if (!hasPath())
+            return null;
+
+        // from the source to the meeting vertex, the forward edges
+        List<DirectedEdge> path = forwardSpace.path(forward, meet);
+
+        // from the meeting vertex to the target, the backward edges turned around
+        for (int e = backwardSpace.edgeTo(meet); e != -1; ) {
+            int x = backward.source(e);
+            int y = backward.target(e);
+            path.add(new DirectedEdge(y, x, backward.weight(e)));
+            e = backwardSpace.edgeTo(x);
+        }
+
+        return path;
+    }
+
+    private void checkTarget(int v) {
+        if (target == -1)
+            throw new IllegalStateException("no query has been searched");
+        if (v != target)
+            throw new IllegalArgumentException(v + " is not the target of the last query");
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= forward.V())
+            throw new IndexOutOfBoundsException(index + " is out of bounds");
+    }
+}
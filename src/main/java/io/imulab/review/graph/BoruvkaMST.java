@@ -0,0 +1,235 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.misc.ConcurrentUnionFind;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Boruvka's algorithm, run in parallel on a {@link ForkJoinPool}.
+ *
+ * Every round, each component picks the lightest edge leaving it, and all the picked edges join the tree at once.
+ * Every round at least halves the number of components, so there are at most lgV rounds. A round has two parallel
+ * steps:
+ *
+ * - the edges that still cross components are scanned, and each one is offered as the lightest edge of the two
+ *   components it connects, by compare-and-set on the edge the component has picked so far. Edges inside a component
+ *   are dropped for good.
+ * - each component unions along the edge it picked, in a {@link ConcurrentUnionFind}. When two components picked the
+ *   same edge, only the first union succeeds, so the edge joins the tree once.
+ *
+ * Ties between equal weights are broken by edge index, which makes "lightest" a total order, so the picked edges can
+ * never form a cycle. Disconnected graphs yield a minimum spanning forest.
+ */
+public class BoruvkaMST implements MinimumSpanningTree {
+
+    // number of edges, or components, a single task handles
+    private static final int GRAIN = 1 << 13;
+
+    private static final long INFINITY = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+
+    private final EdgeArray edges;
+    private final ForkJoinPool pool;
+    private final ConcurrentUnionFind uf;
+
+    // lightest edge picked by each component root, -1 if none, and an upper bound on its weight as double bits
+    private final AtomicIntegerArray best;
+    private final AtomicLongArray bestWeight;
+
+    // edges still crossing components, and how many of them each block of GRAIN keeps after a round
+    private int[] alive;
+    private int aliveCount;
+    private final int[] kept;
+
+    private final int[] mst;
+    private final AtomicInteger mstCount;
+
+    public BoruvkaMST(EdgeWeightedGraph graph) {
+        this(EdgeArray.of(graph));
+    }
+
+    public BoruvkaMST(EdgeArray edges) {
+        this(edges, ForkJoinPool.commonPool());
+    }
+
+    public BoruvkaMST(EdgeArray edges, ForkJoinPool pool) {
+        this.edges = edges;
+        this.pool = pool;
+        this.uf = new ConcurrentUnionFind(edges.V());
+        this.best = new AtomicIntegerArray(edges.V());
+        this.bestWeight = new AtomicLongArray(edges.V());
+        this.alive = new int[edges.E()];
+        this.aliveCount = edges.E();
+        this.kept = new int[(edges.E() + GRAIN - 1) / GRAIN];
+        this.mst = new int[Math.max(edges.V() - 1, 0)];
+        this.mstCount = new AtomicInteger();
+
+        for (int i = 0; i < edges.E(); i++) {
+            alive[i] = i;
+        }
+        for (int v = 0; v < edges.V(); v++) {
+            best.set(v, -1);
+            bestWeight.set(v, INFINITY);
+        }
+
+        // a tree of V - 1 edges spans the graph, whatever edges are left can only close cycles
+        while (aliveCount > 0 && mstCount.get() < mst.length) {
+            int before = mstCount.get();
+            pool.invoke(new PickTask(0, (aliveCount + GRAIN - 1) / GRAIN));
+            compact();
+            pool.invoke(new UnionTask(0, edges.V()));
+            if (mstCount.get() == before) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Edge a is lighter than edge b, ties broken by index.
+     */
+    private boolean lighter(int a, int b) {
+        double wa = edges.weight[a];
+        double wb = edges.weight[b];
+        return wa < wb || (wa == wb && a < b);
+    }
+
+    private void offer(int root, int e) {
+        // the recorded weight is the lightest of the edges picked so far, lowered only after an edge is picked, so it
+        // is never below the weight of the current pick. An edge heavier than it is heavier than an edge that was
+        // picked, and picks only get lighter, so it can be turned away without looking the picked edge up
+        double weight = edges.weight[e];
+        if (weight > Double.longBitsToDouble(bestWeight.get(root))) {
+            return;
+        }
+
+        while (true) {
+            int current = best.get(root);
+            if (current != -1 && !lighter(e, current)) {
+                return;
+            }
+            if (best.compareAndSet(root, current, e)) {
+                lowerWeight(root, weight);
+                return;
+            }
+        }
+    }
+
+    private void lowerWeight(int root, double weight) {
+        long bits = Double.doubleToLongBits(weight);
+        while (true) {
+            long current = bestWeight.get(root);
+            if (Double.longBitsToDouble(current) <= weight || bestWeight.compareAndSet(root, current, bits)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Every block moved the edges it kept to its front. Close the gaps between blocks.
+     */
+    private void compact() {
+        int blocks = (aliveCount + GRAIN - 1) / GRAIN;
+        int count = 0;
+        for (int b = 0; b < blocks; b++) {
+            System.arraycopy(alive, b * GRAIN, alive, count, kept[b]);
+            count += kept[b];
+        }
+        aliveCount = count;
+    }
+
+    @Override
+    public Iterable<Edge> edges() {
+        Queue<Edge> tree = new LinkedList<>();
+        for (int i = 0; i < mstCount.get(); i++) {
+            tree.offer(edges.edge(mst[i]));
+        }
+        return tree;
+    }
+
+    @Override
+    public double weight() {
+        double total = 0d;
+        for (int i = 0; i < mstCount.get(); i++) {
+            total += edges.weight[mst[i]];
+        }
+        return total;
+    }
+
+    /**
+     * Drops edges within a component and offers the rest to their components, for a range of blocks of alive edges.
+     */
+    private class PickTask extends RecursiveAction {
+
+        private final int lo;
+        private final int hi;
+
+        PickTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new PickTask(lo, mid), new PickTask(mid, hi));
+                return;
+            }
+
+            int start = lo * GRAIN;
+            int end = Math.min(start + GRAIN, aliveCount);
+            int k = start;
+            for (int i = start; i < end; i++) {
+                int e = alive[i];
+                int rootV = uf.find(edges.either[e]);
+                int rootW = uf.find(edges.other[e]);
+                if (rootV != rootW) {
+                    offer(rootV, e);
+                    offer(rootW, e);
+                    alive[k++] = e;
+                }
+            }
+            kept[lo] = k - start;
+        }
+    }
+
+    /**
+     * Unions every component in a range of vertices along the edge it picked.
+     */
+    private class UnionTask extends RecursiveAction {
+
+        private final int lo;
+        private final int hi;
+
+        UnionTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new UnionTask(lo, mid), new UnionTask(mid, hi));
+                return;
+            }
+
+            for (int v = lo; v < hi; v++) {
+                int e = best.get(v);
+                if (e == -1) {
+                    continue;
+                }
+                best.set(v, -1);
+                bestWeight.set(v, INFINITY);
+                if (uf.union(edges.either[e], edges.other[e])) {
+                    mst[mstCount.getAndIncrement()] = e;
+                }
+            }
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package io.imulab.review.graph;
 
-import java.util.LinkedList;
-import java.util.Queue;
-
 /**
  * Breath first search algorithm. This implementation inherits from depth first search algorithm to avoid re-implementing
  * much of the setup and display logic, it only override the core traversal algorithm.
  *
  * Breath first search algorithm computes the shortest path because it prioritizes the consideration of adjacent vertices.
+ *
+ * Every vertex enters the queue at most once, so the queue is a plain array of V slots with a head and a tail cursor.
+ * On a {@link CsrGraph}, neighbors are read straight from its edge arrays.
  */
 public class BreathFirstSearch extends DepthFirstSearch {
 
@@ -21,16 +21,29 @@ public class BreathFirstSearch extends DepthFirstSearch {
     }
 
     private void bfs(int source) {
-        Queue<Integer> queue = new LinkedList<>();
-        queue.offer(source);
+        int[] queue = new int[graph.V()];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
         marked[source] = true;
-        while (!queue.isEmpty()) {
-            int v = queue.poll();
-            for (int w : graph.adjacent(v)) {
-                if (!marked[w]) {
-                    edgeTo[w] = v;
-                    marked[w] = true;
-                    queue.offer(w);
+        while (head < tail) {
+            int v = queue[head++];
+            if (graph instanceof CsrGraph) {
+                CsrGraph csr = (CsrGraph) graph;
+                for (int e = csr.begin(v), end = csr.end(v); e < end; e++) {
+                    int w = csr.target(e);
+                    if (!marked[w]) {
+                        edgeTo[w] = v;
+                        marked[w] = true;
+                        queue[tail++] = w;
+                    }
+                }
+            } else {
+                for (int w : graph.adjacent(v)) {
+                    if (!marked[w]) {
+                        edgeTo[w] = v;
+                        marked[w] = true;
+                        queue[tail++] = w;
+                    }
                 }
             }
         }
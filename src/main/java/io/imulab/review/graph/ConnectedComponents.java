@@ -1,49 +1,92 @@
 package io.imulab.review.graph;
 
+import io.imulab.review.misc.ConcurrentUnionFind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
 /**
  * The algorithm that answers the question: "is the two vertices connected".
+ *
+ * The constructor labels components with a depth first search. {@link #parallel(Graph)} instead streams every edge
+ * into a {@link ConcurrentUnionFind} from a {@link ForkJoinPool}, which scales with the number of threads on graphs
+ * too large to search on one. Both number components densely from 0, in the order of their smallest vertex.
  */
 @SuppressWarnings("Duplicates")
 public class ConnectedComponents {
 
+    // number of vertices a single task streams the edges of
+    private static final int GRAIN = 1 << 12;
+
     private final Graph graph;
-    private final boolean[] marked;
     private final int[] cc;
     private int id;
 
     ConnectedComponents(Graph g) {
         this.graph = g;
-        this.marked = new boolean[g.V()];
         this.cc = new int[g.V()];
         this.id = 0;
 
         traverse();
     }
 
+    private ConnectedComponents(Graph g, int[] cc, int count) {
+        this.graph = g;
+        this.cc = cc;
+        this.id = count;
+    }
+
+    /**
+     * Compute the connected components of a graph in parallel on the common pool.
+     */
+    public static ConnectedComponents parallel(Graph g) {
+        return parallel(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the connected components of a graph in parallel. Every edge is treated as undirected, so on a directed
+     * graph these are its weakly connected components.
+     *
+     * Tasks split the vertices into ranges and union each vertex with its neighbors. Edges of an undirected
+     * {@link CsrGraph} are stored twice, and only streamed in one direction. Since the root of every set is its
+     * smallest vertex, a single ascending pass over the vertices then numbers the components densely.
+     */
+    public static ConnectedComponents parallel(Graph g, ForkJoinPool pool) {
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(g.V());
+        pool.invoke(new UnionTask(g, uf, 0, g.V()));
+
+        int[] cc = new int[g.V()];
+        int count = 0;
+        for (int v = 0; v < g.V(); v++) {
+            int root = uf.find(v);
+            cc[v] = root == v ? count++ : cc[root];
+        }
+
+        return new ConnectedComponents(g, cc, count);
+    }
+
     private void traverse() {
+        DepthFirstTraversal traversal = new DepthFirstTraversal(graph);
+        DepthFirstTraversal.Visitor visitor = new DepthFirstTraversal.Visitor() {
+            @Override
+            public void preorder(int v, int parent) {
+                cc[v] = id;
+            }
+        };
+
         for (int v = 0; v < graph.V(); v++) {
-            if (marked[v]) {
+            if (traversal.isMarked(v)) {
                 continue;
             }
-            dfs(v);
+            traversal.traverse(v, visitor);
             id++;
         }
     }
 
-    private void dfs(int v) {
-        marked[v] = true;
-        cc[v] = id;
-        for (int w : graph.adjacent(v)) {
-            if (!marked[w]) {
-                dfs(w);
-            }
-        }
-    }
-
     /**
      * Whether the vertices are connected in the graph.
      */
-    boolean isConnected(int v, int w) {
+    public boolean isConnected(int v, int w) {
         checkIndex(v);
         checkIndex(w);
         return cc[v] == cc[w];
@@ -52,14 +95,14 @@ public class ConnectedComponents {
     /**
      * The number of connected components in a graph.
      */
-    int count() {
+    public int count() {
         return id;
     }
 
     /**
      * The identifier for the component the vertex is in.
      */
-    int id(int v) {
+    public int id(int v) {
         checkIndex(v);
         return cc[v];
     }
@@ -68,4 +111,50 @@ public class ConnectedComponents {
         if (index < 0 || index >= graph.V())
             throw new IndexOutOfBoundsException(index + " is out of bounds");
     }
+
+    /**
+     * Unions every vertex in a range with its neighbors.
+     */
+    static class UnionTask extends RecursiveAction {
+
+        private final Graph graph;
+        private final ConcurrentUnionFind uf;
+        private final int lo;
+        private final int hi;
+
+        UnionTask(Graph graph, ConcurrentUnionFind uf, int lo, int hi) {
+            this.graph = graph;
+            this.uf = uf;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new UnionTask(graph, uf, lo, mid), new UnionTask(graph, uf, mid, hi));
+                return;
+            }
+
+            if (graph instanceof CsrGraph) {
+                CsrGraph csr = (CsrGraph) graph;
+                boolean undirected = csr.isUndirected();
+                for (int v = lo; v < hi; v++) {
+                    for (int e = csr.begin(v), end = csr.end(v); e < end; e++) {
+                        int w = csr.target(e);
+                        if (!undirected || v < w) {
+                            uf.union(v, w);
+                        }
+                    }
+                }
+            } else {
+                for (int v = lo; v < hi; v++) {
+                    for (int w : graph.adjacent(v)) {
+                        uf.union(v, w);
+                    }
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,556 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.tree.IndexMinPQ;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A contraction hierarchy: the vertices of a graph put in order, and the graph augmented with shortcut edges, so that
+ * a shortest path query only has to search upward in that order from both ends. See
+ * {@link ContractionHierarchySearch} for the queries.
+ *
+ * Building the hierarchy contracts the vertices one at a time, least important first. Contracting v removes it from
+ * the remaining graph, and for every pair of remaining neighbors u -> v -> w adds a shortcut u -> w, of the weight of
+ * the two edges, unless a witness search finds a path from u to w avoiding v that is no longer. A vertex's importance
+ * weighs the shortcuts its contraction would add against the edges it would remove, four to one, so that the
+ * remaining graph stays sparse, plus the number of its neighbors already contracted, which spreads contraction evenly
+ * over the graph. Importance is kept on an {@link IndexMinPQ}. It is computed again for the neighbors of every vertex
+ * contracted, and for the vertex on top before it is contracted, which is put back if it turns out to no longer be
+ * the least important. Witness searches stop once every neighbor they look for is settled, and give up after
+ * settling a few hundred vertices, which at worst adds a shortcut that was not needed.
+ *
+ * Every edge, original or shortcut, between a vertex and one contracted after it is kept for the queries. An edge
+ * leading up in the order is kept in the upward graph, at its tail. An edge leading down is kept turned around in
+ * the downward graph, at its head, so that it too can be followed upward by a backward search. A shortcut remembers
+ * the vertex it bypasses, from which the two edges it stands for can be found again when a path is unpacked.
+ *
+ * Preprocessing takes much longer than a single Dijkstra search, and pays off over many queries. A hierarchy can be
+ * saved and loaded again, see {@link #save(File)} and {@link #load(File)}. It is immutable once built, and can be
+ * shared by any number of searches on different threads.
+ *
+ * Weights must not be negative.
+ */
+public class ContractionHierarchy {
+
+    // vertices a witness search settles at most
+    private static final int WITNESS_LIMIT = 500;
+
+    private static final int MAGIC = 0x43480001;
+
+    private final int[] rank;
+    private final CsrGraph up;
+    private final int[] upMiddle;
+    private final CsrGraph down;
+    private final int[] downMiddle;
+
+    private ContractionHierarchy(int[] rank, CsrGraph up, int[] upMiddle, CsrGraph down, int[] downMiddle) {
+        this.rank = rank;
+        this.up = up;
+        this.upMiddle = upMiddle;
+        this.down = down;
+        this.downMiddle = downMiddle;
+    }
+
+    public static ContractionHierarchy build(EdgeWeightedDiGraph graph) {
+        return build(CsrGraph.of(graph));
+    }
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        return new Contraction(graph).run();
+    }
+
+    /**
+     * Position of v in the contraction order, 0 for the first vertex contracted.
+     */
+    public int rank(int v) {
+        checkIndex(v);
+        return rank[v];
+    }
+
+    public int V() {
+        return rank.length;
+    }
+
+    /**
+     * Number of shortcut edges added to the graph.
+     */
+    public int shortcuts() {
+        int count = 0;
+        for (int m : upMiddle) {
+            if (m != -1)
+                count++;
+        }
+        for (int m : downMiddle) {
+            if (m != -1)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Edges from each vertex to the vertices after it in the order.
+     */
+    CsrGraph up() {
+        return up;
+    }
+
+    /**
+     * Edges into each vertex from the vertices after it in the order, turned around.
+     */
+    CsrGraph down() {
+        return down;
+    }
+
+    /**
+     * The vertex bypassed by the edge at position e of the upward graph, -1 if it is an original edge.
+     */
+    int upMiddle(int e) {
+        return upMiddle[e];
+    }
+
+    /**
+     * The vertex bypassed by the edge at position e of the downward graph, -1 if it is an original edge.
+     */
+    int downMiddle(int e) {
+        return downMiddle[e];
+    }
+
+    /**
+     * Save the hierarchy to a file, which is created or overwritten.
+     */
+    public void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(rank.length);
+            writeInts(out, rank);
+            writeGraph(out, up, upMiddle);
+            writeGraph(out, down, downMiddle);
+        }
+    }
+
+    /**
+     * Load a hierarchy saved by {@link #save(File)}.
+     */
+    public static ContractionHierarchy load(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC)
+                throw new IOException(file + " is not a contraction hierarchy");
+
+            // each vertex takes at least a rank and two offsets, which bounds V before anything is allocated
+            int V = in.readInt();
+            if (V < 0 || 3L * V * Integer.BYTES > file.length())
+                throw new IOException(file + " has a corrupt header");
+            int[] rank = readInts(in, V);
+            checkRange(file, rank, V, false);
+
+            int[] offsets = readOffsets(in, file, V);
+            int arcs = offsets[V];
+            int[] targets = readInts(in, arcs);
+            checkRange(file, targets, V, false);
+            CsrGraph up = new CsrGraph(offsets, targets, readDoubles(in, arcs), false);
+            int[] upMiddle = readInts(in, arcs);
+            checkRange(file, upMiddle, V, true);
+
+            offsets = readOffsets(in, file, V);
+            arcs = offsets[V];
+            targets = readInts(in, arcs);
+            checkRange(file, targets, V, false);
+            CsrGraph down = new CsrGraph(offsets, targets, readDoubles(in, arcs), false);
+            int[] downMiddle = readInts(in, arcs);
+            checkRange(file, downMiddle, V, true);
+
+            return new ContractionHierarchy(rank, up, upMiddle, down, downMiddle);
+        }
+    }
+
+    private static void writeGraph(DataOutputStream out, CsrGraph graph, int[] middle) throws IOException {
+        int V = graph.V();
+        for (int v = 0; v <= V; v++) {
+            out.writeInt(v < V ? graph.begin(v) : graph.arcs());
+        }
+        for (int e = 0; e < graph.arcs(); e++) {
+            out.writeInt(graph.target(e));
+        }
+        for (int e = 0; e < graph.arcs(); e++) {
+            out.writeDouble(graph.weight(e));
+        }
+        writeInts(out, middle);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Read the V + 1 offsets of a graph, which start at 0, never decrease, and leave room in the file for the arcs.
+     */
+    private static int[] readOffsets(DataInputStream in, File file, int V) throws IOException {
+        int[] offsets = readInts(in, V + 1);
+        if (offsets[0] != 0)
+            throw new IOException(file + " has offsets starting at " + offsets[0]);
+        for (int v = 0; v < V; v++) {
+            if (offsets[v + 1] < offsets[v])
+                throw new IOException(file + " has decreasing offsets at vertex " + v);
+        }
+
+        // a target, a weight and a middle per arc
+        if ((long) offsets[V] * (2 * Integer.BYTES + Double.BYTES) > file.length())
+            throw new IOException(file + " is too short for " + offsets[V] + " arcs");
+        return offsets;
+    }
+
+    /**
+     * Check every value is a vertex, or -1 where that is allowed.
+     */
+    private static void checkRange(File file, int[] values, int V, boolean orNone) throws IOException {
+        for (int value : values) {
+            if ((value < 0 || value >= V) && !(orNone && value == -1))
+                throw new IOException(file + " has " + value + " out of bounds for " + V + " vertices");
+        }
+    }
+
+    private static double[] readDoubles(DataInputStream in, int length) throws IOException {
+        double[] values = new double[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+
+    private void checkIndex(int v) {
+        if (v < 0 || v >= rank.length)
+            throw new IndexOutOfBoundsException(v + " is out of bounds");
+    }
+
+    /**
+     * The state of the graph while it is being contracted, thrown away once the hierarchy is built.
+     */
+    private static class Contraction {
+
+        private final int V;
+        private final Arcs[] out;
+        private final Arcs[] in;
+        private final int[] deleted;
+        private final int[] rank;
+        private final SearchWorkspace witness;
+
+        // the witness search each vertex was last a target of
+        private final int[] isTarget;
+        private int search;
+
+        // the edges of the hierarchy, as they are found
+        private final Arcs upArcs;
+        private final Arcs downArcs;
+
+        Contraction(CsrGraph graph) {
+            this.V = graph.V();
+            this.out = new Arcs[V];
+            this.in = new Arcs[V];
+            this.deleted = new int[V];
+            this.rank = new int[V];
+            this.witness = new SearchWorkspace(V);
+            this.isTarget = new int[V];
+            this.upArcs = new Arcs();
+            this.downArcs = new Arcs();
+
+            for (int v = 0; v < V; v++) {
+                out[v] = new Arcs();
+                in[v] = new Arcs();
+            }
+            for (int v = 0; v < V; v++) {
+                for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                    int w = graph.target(e);
+                    double weight = graph.weight(e);
+                    if (weight < 0d)
+                        throw new IllegalArgumentException("edge " + graph.edge(e) + " has negative weight");
+                    if (v != w)
+                        addArc(v, w, weight, -1);
+                }
+            }
+        }
+
+        ContractionHierarchy run() {
+            IndexMinPQ pq = new IndexMinPQ(V);
+            // the last vertex whose contraction updated each vertex, so that a neighbor both ways is updated once
+            int[] touched = new int[V];
+            Arrays.fill(touched, -1);
+
+            for (int v = 0; v < V; v++) {
+                pq.insert(v, importance(v));
+            }
+
+            int next = 0;
+            while (!pq.isEmpty()) {
+                int v = pq.removeMin();
+
+                // importance goes stale as neighbors are contracted, check it again before committing
+                double importance = importance(v);
+                if (!pq.isEmpty() && importance > pq.minKey()) {
+                    pq.insert(v, importance);
+                    continue;
+                }
+
+                contract(v, false);
+                rank[v] = next++;
+                keep(v);
+                remove(v);
+
+                for (Arcs arcs : new Arcs[]{out[v], in[v]}) {
+                    for (int i = 0; i < arcs.size; i++) {
+                        int w = arcs.to[i];
+                        if (touched[w] == v)
+                            continue;
+
+                        touched[w] = v;
+                        deleted[w]++;
+                        double updated = importance(w);
+                        if (updated < pq.keyOf(w))
+                            pq.decreaseKey(w, updated);
+                    }
+                }
+
+                // v is gone from the remaining graph, it only needs its edges until they are kept
+                out[v] = null;
+                in[v] = null;
+            }
+
+            CsrGraph up = new CsrGraph(upArcs.sort(V), upArcs.to, upArcs.weight, false);
+            CsrGraph down = new CsrGraph(downArcs.sort(V), downArcs.to, downArcs.weight, false);
+            return new ContractionHierarchy(rank, up, upArcs.middle, down, downArcs.middle);
+        }
+
+        private double importance(int v) {
+            // edge difference weighs most, favoring vertices whose removal leaves the graph sparse
+            return 8 * contract(v, true) - 2 * (out[v].size + in[v].size) + deleted[v];
+        }
+
+        /**
+         * Find the shortcuts needed to contract v, and add them unless simulating.
+         *
+         * @return the number of shortcuts.
+         */
+        private int contract(int v, boolean simulate) {
+            Arcs ins = in[v], outs = out[v];
+            double maxOut = 0d;
+            for (int j = 0; j < outs.size; j++) {
+                maxOut = Math.max(maxOut, outs.weight[j]);
+            }
+
+            int shortcuts = 0;
+            for (int i = 0; i < ins.size; i++) {
+                int u = ins.to[i];
+                double viaV = ins.weight[i];
+                witnessSearch(u, v, viaV + maxOut, outs);
+
+                for (int j = 0; j < outs.size; j++) {
+                    int w = outs.to[j];
+                    if (w == u)
+                        continue;
+
+                    double shortcut = viaV + outs.weight[j];
+                    if (witness.distanceTo(w) > shortcut) {
+                        shortcuts++;
+                        if (!simulate)
+                            addArc(u, w, shortcut, v);
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Dijkstra's Algorithm from the source over the remaining graph without v, up to the given distance, or until
+         * every target is settled.
+         */
+        private void witnessSearch(int source, int v, double limit, Arcs targets) {
+            witness.reset();
+            witness.reach(source, 0d, -1);
+            witness.pq.insert(source, 0d);
+
+            search++;
+            int remaining = 0;
+            for (int j = 0; j < targets.size; j++) {
+                int w = targets.to[j];
+                if (w != source && isTarget[w] != search) {
+                    isTarget[w] = search;
+                    remaining++;
+                }
+            }
+
+            int settled = 0;
+            while (remaining > 0 && !witness.pq.isEmpty() && witness.pq.minKey() <= limit
+                    && settled++ < WITNESS_LIMIT) {
+                int x = witness.pq.removeMin();
+                if (isTarget[x] == search)
+                    remaining--;
+
+                double dx = witness.distanceTo(x);
+
+                Arcs arcs = out[x];
+                for (int i = 0; i < arcs.size; i++) {
+                    int y = arcs.to[i];
+                    if (y == v)
+                        continue;
+
+                    double dy = dx + arcs.weight[i];
+                    if (dy < witness.distanceTo(y)) {
+                        witness.reach(y, dy, -1);
+                        witness.pq.insertOrDecrease(y, dy);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Add an edge to the remaining graph, or lower the weight of the one already there.
+         */
+        private void addArc(int u, int w, double weight, int middle) {
+            int i = out[u].indexOf(w);
+            if (i == -1) {
+                out[u].add(w, weight, middle);
+                in[w].add(u, weight, middle);
+            } else if (weight < out[u].weight[i]) {
+                out[u].set(i, weight, middle);
+                in[w].set(in[w].indexOf(u), weight, middle);
+            }
+        }
+
+        /**
+         * Keep the edges between v, just contracted, and the vertices still remaining, for the queries.
+         */
+        private void keep(int v) {
+            Arcs outs = out[v], ins = in[v];
+            for (int i = 0; i < outs.size; i++) {
+                upArcs.add(v, outs.to[i], outs.weight[i], outs.middle[i]);
+            }
+            for (int i = 0; i < ins.size; i++) {
+                downArcs.add(v, ins.to[i], ins.weight[i], ins.middle[i]);
+            }
+        }
+
+        /**
+         * Take v, just contracted, out of the adjacency lists of its neighbors.
+         */
+        private void remove(int v) {
+            Arcs outs = out[v], ins = in[v];
+            for (int i = 0; i < outs.size; i++) {
+                Arcs arcs = in[outs.to[i]];
+                arcs.remove(arcs.indexOf(v));
+            }
+            for (int i = 0; i < ins.size; i++) {
+                Arcs arcs = out[ins.to[i]];
+                arcs.remove(arcs.indexOf(v));
+            }
+        }
+    }
+
+    /**
+     * A growable list of edges, each with the vertex it bypasses. Tails are only kept by the lists that are not the
+     * adjacency list of a single vertex.
+     */
+    private static class Arcs {
+
+        int[] from;
+        int[] to = new int[4];
+        double[] weight = new double[4];
+        int[] middle = new int[4];
+        int size;
+
+        void add(int to, double weight, int middle) {
+            add(-1, to, weight, middle);
+        }
+
+        void add(int from, int to, double weight, int middle) {
+            if (from != -1 && this.from == null) {
+                this.from = new int[this.to.length];
+            }
+            if (size == this.to.length) {
+                if (this.from != null)
+                    this.from = Arrays.copyOf(this.from, size * 2);
+                this.to = Arrays.copyOf(this.to, size * 2);
+                this.weight = Arrays.copyOf(this.weight, size * 2);
+                this.middle = Arrays.copyOf(this.middle, size * 2);
+            }
+            if (this.from != null)
+                this.from[size] = from;
+            this.to[size] = to;
+            this.weight[size] = weight;
+            this.middle[size] = middle;
+            size++;
+        }
+
+        void set(int i, double weight, int middle) {
+            this.weight[i] = weight;
+            this.middle[i] = middle;
+        }
+
+        /**
+         * Remove the edge at i, moving the last edge in its place.
+         */
+        void remove(int i) {
+            size--;
+            to[i] = to[size];
+            weight[i] = weight[size];
+            middle[i] = middle[size];
+        }
+
+        int indexOf(int to) {
+            for (int i = 0; i < size; i++) {
+                if (this.to[i] == to)
+                    return i;
+            }
+            return -1;
+        }
+
+        /**
+         * Counting sort the edges by their tail, stably, and return the offsets of each tail's edges.
+         */
+        int[] sort(int V) {
+            int[] offsets = new int[V + 1];
+            for (int i = 0; i < size; i++) {
+                offsets[from[i] + 1]++;
+            }
+            for (int v = 0; v < V; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+
+            int[] next = Arrays.copyOf(offsets, V);
+            int[] sortedTo = new int[size];
+            double[] sortedWeight = new double[size];
+            int[] sortedMiddle = new int[size];
+            for (int i = 0; i < size; i++) {
+                int e = next[from[i]]++;
+                sortedTo[e] = to[i];
+                sortedWeight[e] = weight[i];
+                sortedMiddle[e] = middle[i];
+            }
+
+            from = null;
+            to = sortedTo;
+            weight = sortedWeight;
+            middle = sortedMiddle;
+            return offsets;
+        }
+    }
+}
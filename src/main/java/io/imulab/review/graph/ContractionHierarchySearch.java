@@ -0,0 +1,186 @@
+package io.imulab.review.graph;
+
+import java.util.Stack;
+
+/**
+ * Point to point shortest paths over a {@link ContractionHierarchy}.
+ *
+ * A query is a bidirectional Dijkstra search that only ever moves up the contraction order: forward from the source
+ * over the upward graph, backward from the target over the downward one. Every shortest path has a highest vertex,
+ * and thanks to the shortcuts, a path of the same length that climbs to it from both ends, so the two searches meet
+ * there. A side stops once the top of its queue is no shorter than the best path found, and the other carries on
+ * alone. On road-like graphs, each side settles a few hundred vertices, however far apart the source and target are.
+ *
+ * A vertex is stalled, and its edges are not relaxed, when one of the edges leading into it from above shows that
+ * the search reached it the long way round. It could not be on a shortest path through its current distance anyway.
+ *
+ * The path of a query is unpacked from shortcuts into the edges of the original graph only when it is asked for.
+ *
+ * Like the other {@link PointToPointSearch}es, a search is not thread safe. Each thread needs its own, but they can all
+ * share the same hierarchy.
+ */
+public class ContractionHierarchySearch implements PointToPointSearch {
+
+    private final ContractionHierarchy hierarchy;
+    private final SearchWorkspace forwardSpace;
+    private final SearchWorkspace backwardSpace;
+
+    private int target = -1;
+    private double distance = Double.POSITIVE_INFINITY;
+
+    // the highest vertex on the shortest path found so far, where the two sides meet
+    private int meet = -1;
+
+    public ContractionHierarchySearch(ContractionHierarchy hierarchy) {
+        this.hierarchy = hierarchy;
+        this.forwardSpace = new SearchWorkspace(hierarchy.V());
+        this.backwardSpace = new SearchWorkspace(hierarchy.V());
+    }
+
+    @Override
+    public double search(int source, int target) {
+        checkIndex(source);
+        checkIndex(target);
+
+        this.target = target;
+        this.distance = Double.POSITIVE_INFINITY;
+        this.meet = -1;
+
+        forwardSpace.reset();
+        backwardSpace.reset();
+
+        forwardSpace.reach(source, 0d, -1);
+        forwardSpace.pq.insert(source, 0d);
+        backwardSpace.reach(target, 0d, -1);
+        backwardSpace.pq.insert(target, 0d);
+
+        while (!forwardSpace.pq.isEmpty() || !backwardSpace.pq.isEmpty()) {
+            boolean forward = backwardSpace.pq.isEmpty()
+                    || (!forwardSpace.pq.isEmpty() && forwardSpace.pq.minKey() <= backwardSpace.pq.minKey());
+            SearchWorkspace space = forward ? forwardSpace : backwardSpace;
+
+            if (space.pq.minKey() >= distance) {
+                space.pq.clear();
+                continue;
+            }
+
+            if (forward) {
+                scan(hierarchy.up(), hierarchy.down(), forwardSpace, backwardSpace);
+            } else {
+                scan(hierarchy.down(), hierarchy.up(), backwardSpace, forwardSpace);
+            }
+        }
+
+        return distance;
+    }
+
+    /**
+     * Scan the top vertex of one side, which searches the graph given, unless the edges of the opposite graph show it
+     * is stalled.
+     */
+    private void scan(CsrGraph graph, CsrGraph opposite, SearchWorkspace space, SearchWorkspace other) {
+        int v = space.pq.removeMin();
+        double dv = space.distanceTo(v);
+
+        if (other.isReached(v)) {
+            double total = dv + other.distanceTo(v);
+            if (total < distance) {
+                distance = total;
+                meet = v;
+            }
+        }
+
+        for (int e = opposite.begin(v), end = opposite.end(v); e < end; e++) {
+            if (space.distanceTo(opposite.target(e)) + opposite.weight(e) < dv)
+                return;
+        }
+
+        for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+            int w = graph.target(e);
+            double dw = dv + graph.weight(e);
+            if (dw < space.distanceTo(w)) {
+                space.reach(w, dw, e);
+                space.pq.insertOrDecrease(w, dw);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasPath() {
+        return meet != -1;
+    }
+
+    @Override
+    public double distanceTo(int v) {
+        checkTarget(v);
+        return distance;
+    }
+
+    @Override
+    public Iterable<DirectedEdge> pathTo(int v) {
+        checkTarget(v);
+        if (!hasPath())
+            return null;
+
+        CsrGraph up = hierarchy.up(), down = hierarchy.down();
+
+        // from the meeting vertex down to the target, the downward graph encoded as negative positions
+        Stack<Integer> downward = new Stack<>();
+        for (int e = backwardSpace.edgeTo(meet); e != -1; e = backwardSpace.edgeTo(down.source(e))) {
+            downward.push(-e - 1);
+        }
+
+        // the arcs of the path, so that they pop in order: the downward ones at the bottom, last edge first, then
+        // the ones from the source up to the meeting vertex on top of them
+        Stack<Integer> arcs = new Stack<>();
+        while (!downward.isEmpty()) {
+            arcs.push(downward.pop());
+        }
+        for (int e = forwardSpace.edgeTo(meet); e != -1; e = forwardSpace.edgeTo(up.source(e))) {
+            arcs.push(e);
+        }
+
+        Stack<DirectedEdge> path = new Stack<>();
+        while (!arcs.isEmpty()) {
+            int arc = arcs.pop();
+            boolean upward = arc >= 0;
+            int e = upward ? arc : -arc - 1;
+            int middle = upward ? hierarchy.upMiddle(e) : hierarchy.downMiddle(e);
+            int from = upward ? up.source(e) : down.target(e);
+            int to = upward ? up.target(e) : down.source(e);
+
+            if (middle == -1) {
+                path.push(new DirectedEdge(from, to, upward ? up.weight(e) : down.weight(e)));
+            } else {
+                // the shortcut from -> middle -> to: middle was contracted before both of its ends
+                arcs.push(find(up, middle, to));
+                arcs.push(-find(down, middle, from) - 1);
+            }
+        }
+
+        return path;
+    }
+
+    /**
+     * Position of the edge from v to w in a graph of the hierarchy.
+     */
+    private int find(CsrGraph graph, int v, int w) {
+        for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+            if (graph.target(e) == w)
+                return e;
+        }
+        throw new IllegalStateException("no edge between " + v + " and " + w);
+    }
+
+    private void checkTarget(int v) {
+        if (target == -1)
+            throw new IllegalStateException("no query has been searched");
+        if (v != target)
+            throw new IllegalArgumentException(v + " is not the target of the last query");
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= hierarchy.V())
+            throw new IndexOutOfBoundsException(index + " is out of bounds");
+    }
+}
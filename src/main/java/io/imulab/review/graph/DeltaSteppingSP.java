@@ -0,0 +1,295 @@
+package io.imulab.review.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Delta-stepping, a parallel single source shortest path algorithm by Meyer and Sanders.
+ *
+ * Vertices are kept in buckets of width delta by their tentative distance, and buckets are settled in order. Edges are
+ * split at delta: a light edge can lead back into the bucket being settled, a heavy edge cannot. Settling a bucket
+ * relaxes the light edges of all its vertices in parallel, over and over, for as long as that puts vertices back into
+ * the bucket. After that, the heavy edges of every vertex the bucket settled are relaxed in parallel, once. Dijkstra's
+ * Algorithm is the extreme of a tiny delta, where each bucket holds a single distance, and Bellman-Ford the extreme of
+ * an infinite delta, where one bucket holds everything. In between, each bucket offers enough vertices to keep a
+ * {@link ForkJoinPool} busy, while few of them have to be relaxed twice.
+ *
+ * Tentative distances are the bits of non-negative doubles in an {@link AtomicLongArray}. Such bits order the same
+ * way as the doubles they encode, so relaxing an edge is a compare-and-set loop keeping the smaller long. The final
+ * distances are the ones {@link DijkstraSP} computes: every vertex ends with the smallest value of distance plus
+ * weight over its incoming edges, summed the same way. Parents are not tracked while relaxing, as they would need a
+ * second atomic write. Instead, a breath first search from the source over tight edges, the ones whose weight closes
+ * the gap between the distances of their ends exactly, builds the shortest path tree at the end.
+ *
+ * Buckets are kept sparse, in a {@link TreeMap} by index, and dropped once settled. The largest distance over delta can
+ * be far more than the number of vertices when delta is small, so the search jumps from one non-empty bucket to the
+ * next instead of walking an array of them, and holds only the buckets vertices are waiting in.
+ *
+ * Weights must not be negative.
+ */
+public class DeltaSteppingSP implements ShortestPath {
+
+    // number of vertices a single task relaxes the edges of
+    private static final int GRAIN = 256;
+
+    private static final long INFINITY = Double.doubleToLongBits(Double.POSITIVE_INFINITY);
+
+    private final CsrGraph graph;
+    private final int source;
+    private final double delta;
+    private final ForkJoinPool pool;
+    private final AtomicLongArray distTo;
+    private final int[] edgeTo;
+
+    // the bucket each vertex is waiting in, -1 if none
+    private final long[] queued;
+    private final TreeMap<Long, IntBag> buckets;
+
+    // the bucket being settled, and its index
+    private IntBag bucket;
+    private long current;
+
+    public DeltaSteppingSP(EdgeWeightedDiGraph graph, int source) {
+        this(CsrGraph.of(graph), source);
+    }
+
+    public DeltaSteppingSP(CsrGraph graph, int source) {
+        this(graph, source, defaultDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    public DeltaSteppingSP(CsrGraph graph, int source, double delta, ForkJoinPool pool) {
+        if (source < 0 || source >= graph.V())
+            throw new IllegalArgumentException("source is out of bounds");
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+        if (!(delta > 0))
+            throw new IllegalArgumentException("delta must be positive");
+        for (int e = 0; e < graph.arcs(); e++) {
+            if (graph.weight(e) < 0)
+                throw new IllegalArgumentException("negative weight on edge " + graph.edge(e));
+        }
+
+        this.graph = graph;
+        this.source = source;
+        this.delta = delta;
+        this.pool = pool;
+        this.distTo = new AtomicLongArray(graph.V());
+        this.edgeTo = new int[graph.V()];
+        this.queued = new long[graph.V()];
+        this.buckets = new TreeMap<>();
+
+        for (int v = 0; v < graph.V(); v++) {
+            distTo.set(v, INFINITY);
+        }
+        Arrays.fill(queued, -1);
+
+        distTo.set(source, 0L);
+        enqueue(source);
+        settle();
+        buildTree();
+    }
+
+    /**
+     * The largest weight over the average out degree, the choice Meyer and Sanders analyze for random weights.
+     */
+    static double defaultDelta(CsrGraph graph) {
+        double max = 0d;
+        for (int e = 0; e < graph.arcs(); e++) {
+            max = Math.max(max, graph.weight(e));
+        }
+        double degree = Math.max(1d, (double) graph.arcs() / Math.max(1, graph.V()));
+        return max > 0 ? max / degree : 1d;
+    }
+
+    private void settle() {
+        IntBag frontier = new IntBag();
+        IntBag settled = new IntBag();
+        int[] settledIn = new int[graph.V()];
+        int round = 0;
+
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, IntBag> first = buckets.firstEntry();
+            current = first.getKey();
+            bucket = first.getValue();
+
+            // heavy edges lead past this bucket, but check again after them, in case rounding says otherwise
+            while (bucket.size > 0) {
+                settled.clear();
+                round++;
+                while (bucket.size > 0) {
+                    // take the vertices still waiting in this bucket, skipping the ones that moved to a lower one
+                    frontier.clear();
+                    for (int k = 0; k < bucket.size; k++) {
+                        int v = bucket.items[k];
+                        if (queued[v] == current) {
+                            queued[v] = -1;
+                            frontier.add(v);
+                            if (settledIn[v] != round) {
+                                settledIn[v] = round;
+                                settled.add(v);
+                            }
+                        }
+                    }
+                    bucket.clear();
+
+                    relax(frontier, true);
+                }
+
+                relax(settled, false);
+            }
+
+            buckets.remove(current);
+            bucket = null;
+        }
+    }
+
+    /**
+     * Relax the light, or heavy, edges of a set of vertices in parallel, then put every vertex that got closer into
+     * the bucket of its new distance.
+     */
+    private void relax(IntBag vertices, boolean light) {
+        if (vertices.size == 0)
+            return;
+
+        RelaxTask task = new RelaxTask(vertices.items, 0, vertices.size, light);
+        pool.invoke(task);
+        task.forEachImproved(this::enqueue);
+    }
+
+    private void enqueue(int v) {
+        long b = Math.max((long) (distanceTo(v) / delta), current);
+        if (queued[v] == b)
+            return;
+
+        IntBag target = bucket != null && b == current ? bucket : buckets.computeIfAbsent(b, k -> new IntBag());
+        target.add(v);
+        queued[v] = b;
+    }
+
+    /**
+     * Lower the distance of w to the given one, if it is lower. Returns whether it was.
+     */
+    private boolean lower(int w, double distance) {
+        long bits = Double.doubleToLongBits(distance);
+        while (true) {
+            long current = distTo.get(w);
+            if (bits >= current)
+                return false;
+            if (distTo.compareAndSet(w, current, bits))
+                return true;
+        }
+    }
+
+    /**
+     * A breath first search from the source over tight edges.
+     */
+    private void buildTree() {
+        Arrays.fill(edgeTo, -1);
+        boolean[] marked = new boolean[graph.V()];
+        int[] queue = new int[graph.V()];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        marked[source] = true;
+
+        while (head < tail) {
+            int v = queue[head++];
+            double dv = distanceTo(v);
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                int w = graph.target(e);
+                if (!marked[w] && dv + graph.weight(e) == distanceTo(w)) {
+                    marked[w] = true;
+                    edgeTo[w] = e;
+                    queue[tail++] = w;
+                }
+            }
+        }
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    @Override
+    public double distanceTo(int v) {
+        return Double.longBitsToDouble(distTo.get(v));
+    }
+
+    public boolean hasPathTo(int v) {
+        return distanceTo(v) < Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public Iterable<DirectedEdge> pathTo(int v) {
+        if (!hasPathTo(v))
+            return null;
+
+        return graph.path(v, w -> edgeTo[w]);
+    }
+
+    private interface IntAction {
+        void accept(int v);
+    }
+
+    /**
+     * Relaxes the edges of a range of vertices, and collects the vertices it brought closer in a bag of its own.
+     */
+    private class RelaxTask extends RecursiveAction {
+
+        private final int[] vertices;
+        private final int lo;
+        private final int hi;
+        private final boolean light;
+        private RelaxTask left;
+        private RelaxTask right;
+        private IntBag improved;
+
+        RelaxTask(int[] vertices, int lo, int hi, boolean light) {
+            this.vertices = vertices;
+            this.lo = lo;
+            this.hi = hi;
+            this.light = light;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                left = new RelaxTask(vertices, lo, mid, light);
+                right = new RelaxTask(vertices, mid, hi, light);
+                invokeAll(left, right);
+                return;
+            }
+
+            improved = new IntBag();
+            for (int i = lo; i < hi; i++) {
+                int v = vertices[i];
+                double dv = distanceTo(v);
+                for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                    double weight = graph.weight(e);
+                    if ((weight <= delta) == light && lower(graph.target(e), dv + weight)) {
+                        improved.add(graph.target(e));
+                    }
+                }
+            }
+        }
+
+        void forEachImproved(IntAction action) {
+            if (improved == null) {
+                left.forEachImproved(action);
+                right.forEachImproved(action);
+                return;
+            }
+            for (int k = 0; k < improved.size; k++) {
+                action.accept(improved.items[k]);
+            }
+        }
+    }
+}
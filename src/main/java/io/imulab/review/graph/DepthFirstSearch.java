@@ -19,6 +19,14 @@ public class DepthFirstSearch implements Path {
     protected int[] edgeTo;
 
     public DepthFirstSearch(Graph graph, int source) {
+        this(graph, source, true);
+    }
+
+    /**
+     * Sets up the search, and only runs it if asked to. Subclasses that need their own state initialized before the
+     * traversal pass false here, and call {@link #traverse(int)} at the end of their own constructor.
+     */
+    protected DepthFirstSearch(Graph graph, int source, boolean traverse) {
         this.graph = graph;
         this.source = source;
         if (source < 0 || source >= graph.V())
@@ -27,23 +35,26 @@ public class DepthFirstSearch implements Path {
         this.marked = new boolean[this.graph.V()];
         this.edgeTo = new int[this.graph.V()];
 
-        traverse(this.source);
+        if (traverse) {
+            traverse(this.source);
+        }
     }
 
     protected void traverse(int source) {
         dfs(source);
     }
 
-    // depth first search uses the call stack as its data structure, which is why
-    // we don't see an explicit stack data structure here.
+    // depth first search needs a stack of the vertices on the current path. It is kept
+    // by the traversal engine rather than on the call stack, so long paths cannot overflow it.
     private void dfs(int v) {
-        marked[v] = true;
-        for (int w : graph.adjacent(v)) {
-            if (!marked[w]) {
-                dfs(w);
-                edgeTo[w] = v;
+        new DepthFirstTraversal(graph, marked).traverse(v, new DepthFirstTraversal.Visitor() {
+            @Override
+            public void preorder(int w, int parent) {
+                if (parent >= 0) {
+                    edgeTo[w] = parent;
+                }
             }
-        }
+        });
     }
 
     @Override
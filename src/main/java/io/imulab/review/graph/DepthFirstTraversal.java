@@ -0,0 +1,141 @@
+package io.imulab.review.graph;
+
+import java.util.Iterator;
+
+/**
+ * A depth first traversal engine that keeps its own stack instead of recursing on the call stack.
+ *
+ * A recursive depth first search takes one stack frame per vertex on the current path, so a path a few thousand vertices
+ * long is enough to throw a {@link StackOverflowError} on a default thread stack. This engine keeps the path on a
+ * primitive int stack, and next to it, where the search left off in the adjacency list of each vertex on the path: an
+ * edge position for a {@link CsrGraph}, or the adjacency iterator for any other graph. Both arrays are at most V long.
+ *
+ * Vertices are visited in exactly the order a recursive search would visit them. A vertex is reported to the
+ * {@link Visitor} in preorder, when it is first reached and marked, and in postorder, once every vertex reachable from
+ * it has been visited.
+ *
+ * The marks are kept across calls to {@link #traverse(int, Visitor)}, so a series of calls from different roots visits
+ * every vertex exactly once, as algorithms like connected components and topological sort need.
+ */
+public class DepthFirstTraversal {
+
+    /**
+     * Callbacks of a depth first traversal.
+     */
+    public interface Visitor {
+
+        /**
+         * Vertex v is reached for the first time, from the parent vertex, or -1 if v is the root of a traversal.
+         */
+        default void preorder(int v, int parent) {
+        }
+
+        /**
+         * Every vertex reachable from vertex v has been visited.
+         */
+        default void postorder(int v) {
+        }
+    }
+
+    private final Graph graph;
+    private final CsrGraph csr;
+    private final boolean[] marked;
+
+    // the vertices on the current path, and where the search is in the adjacency list of each
+    private final int[] stack;
+    private final int[] cursor;
+    private final Iterator<Integer>[] iterators;
+
+    public DepthFirstTraversal(Graph graph) {
+        this(graph, new boolean[graph.V()]);
+    }
+
+    @SuppressWarnings("unchecked")
+    DepthFirstTraversal(Graph graph, boolean[] marked) {
+        this.graph = graph;
+        this.csr = graph instanceof CsrGraph ? (CsrGraph) graph : null;
+        this.marked = marked;
+        this.stack = new int[graph.V()];
+        this.cursor = csr != null ? new int[graph.V()] : null;
+        this.iterators = csr == null ? (Iterator<Integer>[]) new Iterator[graph.V()] : null;
+    }
+
+    /**
+     * Visit every vertex reachable from the root that has not been visited by a previous call. Nothing is visited if
+     * the root itself has been.
+     */
+    public void traverse(int root, Visitor visitor) {
+        checkIndex(root);
+        if (marked[root])
+            return;
+
+        int top = 0;
+        push(top, root, -1, visitor);
+
+        while (top >= 0) {
+            int v = stack[top];
+            int w = nextUnmarked(top);
+            if (w >= 0) {
+                push(++top, w, v, visitor);
+            } else {
+                if (iterators != null) {
+                    iterators[top] = null;
+                }
+                top--;
+                visitor.postorder(v);
+            }
+        }
+    }
+
+    /**
+     * Visit every vertex in the graph, starting new roots in ascending order of vertex index.
+     */
+    public void traverseAll(Visitor visitor) {
+        for (int v = 0; v < graph.V(); v++) {
+            traverse(v, visitor);
+        }
+    }
+
+    public boolean isMarked(int v) {
+        checkIndex(v);
+        return marked[v];
+    }
+
+    private void push(int top, int v, int parent, Visitor visitor) {
+        marked[v] = true;
+        stack[top] = v;
+        if (csr != null) {
+            cursor[top] = csr.begin(v);
+        } else {
+            iterators[top] = graph.adjacent(v).iterator();
+        }
+        visitor.preorder(v, parent);
+    }
+
+    // advance the vertex at the given stack depth to its next unmarked neighbor, -1 if there is none left
+    private int nextUnmarked(int top) {
+        if (csr != null) {
+            int end = csr.end(stack[top]);
+            while (cursor[top] < end) {
+                int w = csr.target(cursor[top]++);
+                if (!marked[w]) {
+                    return w;
+                }
+            }
+        } else {
+            Iterator<Integer> itr = iterators[top];
+            while (itr.hasNext()) {
+                int w = itr.next();
+                if (!marked[w]) {
+                    return w;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= graph.V())
+            throw new IndexOutOfBoundsException(index + " is out of bounds.");
+    }
+}
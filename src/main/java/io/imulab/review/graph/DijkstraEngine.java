@@ -0,0 +1,147 @@
+package io.imulab.review.graph;
+
+
+/**
+ * Dijkstra's Algorithm as a reusable engine, for serving a stream of shortest path queries on one graph.
+ *
+ * A {@link DijkstraSP} allocates and fills arrays of V entries for every source, which dominates the cost of a query
+ * that only explores a small neighborhood. An engine allocates its arrays once, in a {@link SearchWorkspace}, and
+ * every search after the first touches only the vertices it reaches: distances are stamped with the search that set
+ * them, so starting over is a matter of moving to the next stamp. Searches allocate nothing, only
+ * {@link #pathTo(int)} does, for the path it returns.
+ *
+ * A search can explore the whole graph, stop once a target is settled, or stop at a radius. After it, the engine is a
+ * {@link ShortestPath} from that source over the vertices the search settled. A vertex it reached but did not settle
+ * before stopping has no shortest path known yet, so it reads as unreached: an infinite distance and no path.
+ *
+ * An engine is confined to one thread. To serve queries from a pool, give each worker its own engine over the same
+ * {@link CsrGraph}, for example through {@link #perThread(CsrGraph)}. The graph itself is immutable and shared.
+ */
+public class DijkstraEngine implements ShortestPath {
+
+    private final CsrGraph graph;
+    private final SearchWorkspace space;
+    private int source = -1;
+
+    public DijkstraEngine(CsrGraph graph) {
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        this.graph = graph;
+        this.space = new SearchWorkspace(graph.V());
+    }
+
+    /**
+     * One engine per thread, created the first time a thread asks for it.
+     */
+    public static ThreadLocal<DijkstraEngine> perThread(CsrGraph graph) {
+        return ThreadLocal.withInitial(() -> new DijkstraEngine(graph));
+    }
+
+    /**
+     * Compute the full shortest path tree from the source.
+     */
+    public void search(int source) {
+        run(source, -1, null, 0, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Search from the source until the target is settled.
+     *
+     * @return the distance from the source to the target, positive infinity if there is no path.
+     */
+    public double search(int source, int target) {
+        checkIndex(target);
+        run(source, target, null, 0, Double.POSITIVE_INFINITY);
+        return space.distanceTo(target);
+    }
+
+    /**
+     * Settle every vertex within the radius of the source, and no other.
+     */
+    public void searchWithin(int source, double radius) {
+        run(source, -1, null, 0, radius);
+    }
+
+    /**
+     * Search from the source until every vertex marked in targets is settled, the stopping rule of a many to many
+     * query. count is the number of vertices marked.
+     */
+    void searchAll(int source, boolean[] targets, int count) {
+        run(source, -1, targets, count, Double.POSITIVE_INFINITY);
+    }
+
+    private void run(int source, int target, boolean[] targets, int remaining, double radius) {
+        checkIndex(source);
+
+        this.source = source;
+        space.reset();
+        space.reach(source, 0d, -1);
+        space.pq.insert(source, 0d);
+
+        while (!space.pq.isEmpty()) {
+            if (space.pq.minKey() > radius)
+                break;
+
+            int v = space.pq.removeMin();
+            space.settle(v);
+            if (v == target)
+                break;
+            if (targets != null && targets[v] && --remaining == 0)
+                break;
+
+            double dv = space.distanceTo(v);
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                int w = graph.target(e);
+                double dw = dv + graph.weight(e);
+                if (dw < space.distanceTo(w)) {
+                    space.reach(w, dw, e);
+                    space.pq.insertOrDecrease(w, dw);
+                }
+            }
+        }
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    @Override
+    public double distanceTo(int v) {
+        checkSearched();
+        checkIndex(v);
+        return space.isSettled(v) ? space.distanceTo(v) : Double.POSITIVE_INFINITY;
+    }
+
+    public boolean hasPathTo(int v) {
+        return distanceTo(v) < Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Position, in the graph, of the last edge on the path to v, or -1 for the source and vertices not settled. Lets
+     * a caller walk a path without the allocation of {@link #pathTo(int)}.
+     */
+    public int edgeTo(int v) {
+        checkSearched();
+        checkIndex(v);
+        return space.isSettled(v) ? space.edgeTo(v) : -1;
+    }
+
+    @Override
+    public Iterable<DirectedEdge> pathTo(int v) {
+        if (!hasPathTo(v))
+            return null;
+
+        return space.path(graph, v);
+    }
+
+    private void checkSearched() {
+        if (source == -1)
+            throw new IllegalStateException("no search has been run");
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= graph.V())
+            throw new IndexOutOfBoundsException(index + " is out of bounds");
+    }
+}
@@ -1,6 +1,6 @@
 package io.imulab.review.graph;
 
-import io.imulab.review.tree.Heap;
+import io.imulab.review.tree.IndexMinPQ;
 
 import java.util.Stack;
 
@@ -10,6 +10,16 @@ import java.util.Stack;
  * The algorithm starts from the source and computes a number of edges which are ranked by their tentative distance
  * to its "from" vertex. The edge that provides the minimum distance is evaluated to see it can contribute to decrease
  * the total minimum distance to the source. If it can, then continue to compute the adjacent edges to its "to" vertex.
+ *
+ * Vertices waiting to be visited are kept on an {@link IndexMinPQ} keyed by their tentative distance, so finding
+ * whether a vertex is already queued and lowering its distance are both cheap.
+ *
+ * A weighted {@link CsrGraph} can be searched as well. Its edges are only positions in the edge arrays, so the shortest
+ * path tree records edge positions instead of {@link DirectedEdge} objects, and no edge is materialized until a path
+ * is asked for.
+ *
+ * Time complexity O(ElgV)
+ * Space complexity O(V)
  */
 public class DijkstraSP implements ShortestPath {
 
@@ -18,6 +28,13 @@ public class DijkstraSP implements ShortestPath {
      */
     private DirectedEdge[] edgeTo;
 
+    /**
+     * The {@link CsrGraph} searched, and the position of the last edge on the shortest path to each indexed vertex, or
+     * -1 if there is none. Only set when searching a CSR graph, in which case {@link #edgeTo} is not.
+     */
+    private CsrGraph csr;
+    private int[] edgePositionTo;
+
     /**
      * An array marks the shortest total distance from the source to the indexed vertex. For example, if
      * distanceTo[3] = 50, then the distance from the source to vertex #4 is 50.
@@ -25,9 +42,9 @@ public class DijkstraSP implements ShortestPath {
     private double[] distanceTo;
 
     /**
-     * A min priority queue used to get the smallest weighted edge.
+     * A min priority queue of vertices, keyed by their tentative distance to the source.
      */
-    private Heap<VertexWrapper> pq = Heap.minHeap();
+    private IndexMinPQ pq;
 
     public DijkstraSP(EdgeWeightedDiGraph graph, int source) {
         if (source < 0 || source >= graph.V())
@@ -35,6 +52,7 @@ public class DijkstraSP implements ShortestPath {
 
         edgeTo = new DirectedEdge[graph.V()];
         distanceTo = new double[graph.V()];
+        pq = new IndexMinPQ(graph.V());
 
         // initialize unvisited distance to positive infinity
         for (int v = 0; v < graph.V(); v++) {
@@ -43,15 +61,41 @@ public class DijkstraSP implements ShortestPath {
         distanceTo[source] = 0d;
 
         // start from source, relax each edge
-        pq.insert(new VertexWrapper(source, 0d));
+        pq.insert(source, 0d);
         while (!pq.isEmpty()) {
-            int v = pq.removeTop().vertex;
+            int v = pq.removeMin();
             for (DirectedEdge e : graph.adjacent(v)) {
                 relax(e);
             }
         }
     }
 
+    public DijkstraSP(CsrGraph graph, int source) {
+        if (source < 0 || source >= graph.V())
+            throw new IllegalArgumentException("source is out of bounds");
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        csr = graph;
+        edgePositionTo = new int[graph.V()];
+        distanceTo = new double[graph.V()];
+        pq = new IndexMinPQ(graph.V());
+
+        for (int v = 0; v < graph.V(); v++) {
+            distanceTo[v] = Double.POSITIVE_INFINITY;
+            edgePositionTo[v] = -1;
+        }
+        distanceTo[source] = 0d;
+
+        pq.insert(source, 0d);
+        while (!pq.isEmpty()) {
+            int v = pq.removeMin();
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                relax(v, e);
+            }
+        }
+    }
+
     /**
      * Relaxation checks if a given edge would contribute a shorter path to the "to" vertex.
      */
@@ -65,13 +109,22 @@ public class DijkstraSP implements ShortestPath {
             // update edge and tentative distance
             distanceTo[w] = tentativeDistance;
             edgeTo[w] = edge;
+            pq.insertOrDecrease(w, tentativeDistance);
+        }
+    }
 
-            VertexWrapper t = new VertexWrapper(w, tentativeDistance);
-            if (pq.contains(t)) {
-                pq.update(t);
-            } else {
-                pq.insert(t);
-            }
+    /**
+     * Relaxation of the CSR edge at position e, which leaves from v.
+     */
+    private void relax(int v, int e) {
+        int w = csr.target(e);
+
+        double tentativeDistance = distanceTo[v] + csr.weight(e);
+
+        if (distanceTo[w] > tentativeDistance) {
+            distanceTo[w] = tentativeDistance;
+            edgePositionTo[w] = e;
+            pq.insertOrDecrease(w, tentativeDistance);
         }
     }
 
@@ -86,8 +139,14 @@ public class DijkstraSP implements ShortestPath {
             return null;
 
         Stack<DirectedEdge> paths = new Stack<>();
-        for (DirectedEdge e = edgeTo[v]; e != null; e = edgeTo[e.from()]) {
-            paths.push(e);
+        if (csr != null) {
+            for (int e = edgePositionTo[v]; e != -1; e = edgePositionTo[csr.source(e)]) {
+                paths.push(csr.edge(e));
+            }
+        } else {
+            for (DirectedEdge e = edgeTo[v]; e != null; e = edgeTo[e.from()]) {
+                paths.push(e);
+            }
         }
 
         // due to the implementation of Java's stack iterator, we need to reverse it again
@@ -102,47 +161,4 @@ public class DijkstraSP implements ShortestPath {
     public boolean hasPathTo(int v) {
         return distanceTo[v] < Double.POSITIVE_INFINITY;
     }
-
-    /**
-     * A wrapper around an indexed vertex so that it can be compared through its tentative distance and still
-     * maintains the equality rule based on the vertex's index.
-     *
-     * We do this so that we don't have to implement a separate IndexedKeyPriorityQueue
-     */
-    private class VertexWrapper implements Comparable<VertexWrapper> {
-
-        final int vertex;
-        final double distanceToMe;
-
-        public VertexWrapper(int vertex, double key) {
-            this.vertex = vertex;
-            this.distanceToMe = key;
-        }
-
-        @Override
-        public int compareTo(VertexWrapper o) {
-            if (distanceToMe < o.distanceToMe)
-                return -1;
-            else if (distanceToMe > o.distanceToMe)
-                return 1;
-            else
-                return 0;
-        }
-
-        @Override
-        public int hashCode() {
-            return 31 * vertex;
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (obj == null)
-                return false;
-            if (!(obj instanceof VertexWrapper))
-                return false;
-
-            VertexWrapper that = (VertexWrapper) obj;
-            return this.vertex == that.vertex;
-        }
-    }
 }
@@ -0,0 +1,471 @@
+package io.imulab.review.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Shortest distances from a set of sources to a set of targets, as a row major matrix of floats: row i holds the
+ * distances from the i-th source, column j those to the j-th target, and an unreachable target is positive infinity.
+ *
+ * {@link #manyToMany(CsrGraph, int[], int[])} runs one Dijkstra search per source, in parallel on a
+ * {@link ForkJoinPool}. Every task borrows a {@link DijkstraEngine} from those left idle by tasks before it, so there
+ * are never more engines than tasks running at once, and each engine only touches the neighborhood its searches reach.
+ * A search stops as soon as every target is settled, and its row goes straight into the matrix: distances are summed
+ * as doubles and narrowed to floats as they are stored, nothing else is kept per source.
+ *
+ * A matrix lives outside of the heap, in direct buffers, or in a file mapped into memory when one is given, so that
+ * thousands of sources by tens of thousands of targets neither weigh on the garbage collector nor have to fit in the
+ * heap. The file starts with a header: a magic number, the number of rows and columns, then the sources and targets.
+ * The rows follow back to back. Everything is little endian, so {@link #load(File)} can map the file again later, in
+ * this process or another one.
+ *
+ * {@link #allPairs(CsrGraph)} is the alternative for small, dense graphs, where a search per source is dominated by
+ * the edges it relaxes. It runs the Floyd-Warshall Algorithm on a matrix of V*V floats on the heap, in square blocks
+ * that stay in cache while they are updated, and in parallel once the blocks on the diagonal are done. Unlike
+ * Dijkstra's Algorithm, it accepts negative weights, as long as there is no negative cycle.
+ */
+public final class DistanceMatrix {
+
+    // number of sources a single task searches from
+    private static final int GRAIN = 4;
+
+    // side of the square blocks of the Floyd-Warshall Algorithm, 64 * 64 floats are 16KB
+    private static final int BLOCK = 64;
+
+    private static final int MAGIC = 0x444D0001;
+
+    private final int[] sources;
+    private final int[] targets;
+    private final FloatBuffer[] segments;
+    private final int rowsPerSegment;
+
+    // the buffers the segments view when the matrix is in a file, null otherwise
+    private final MappedByteBuffer[] mapped;
+
+    private DistanceMatrix(int[] sources, int[] targets, FloatBuffer[] segments, int rowsPerSegment) {
+        this(sources, targets, segments, rowsPerSegment, null);
+    }
+
+    private DistanceMatrix(int[] sources, int[] targets, FloatBuffer[] segments, int rowsPerSegment,
+                           MappedByteBuffer[] mapped) {
+        this.sources = sources;
+        this.targets = targets;
+        this.segments = segments;
+        this.rowsPerSegment = rowsPerSegment;
+        this.mapped = mapped;
+    }
+
+    public static DistanceMatrix manyToMany(EdgeWeightedDiGraph graph, int[] sources, int[] targets) {
+        return manyToMany(CsrGraph.of(graph), sources, targets);
+    }
+
+    public static DistanceMatrix manyToMany(CsrGraph graph, int[] sources, int[] targets) {
+        return manyToMany(graph, sources, targets, null, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the distances from every source to every target.
+     *
+     * @param file the file to map the matrix into, created or overwritten, and written to storage once every search
+     *             is done. Direct buffers are used when it is null.
+     * @param pool the pool to search on.
+     */
+    public static DistanceMatrix manyToMany(CsrGraph graph, int[] sources, int[] targets,
+                                            File file, ForkJoinPool pool) {
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+        for (int s : sources)
+            checkIndex(graph, s);
+        for (int t : targets)
+            checkIndex(graph, t);
+
+        sources = sources.clone();
+        targets = targets.clone();
+
+        int rowsPerSegment = rowsPerSegment(targets.length);
+        MappedByteBuffer[] mapped = file == null ? null : create(file, sources, targets, rowsPerSegment);
+        FloatBuffer[] segments = file == null
+                ? allocate(sources.length, targets.length, rowsPerSegment)
+                : floats(mapped);
+
+        // the targets a search has to settle before it can stop, shared by all tasks
+        boolean[] marked = new boolean[graph.V()];
+        int count = 0;
+        for (int t : targets) {
+            if (!marked[t]) {
+                marked[t] = true;
+                count++;
+            }
+        }
+
+        DistanceMatrix matrix = new DistanceMatrix(sources, targets, segments, rowsPerSegment, mapped);
+        if (sources.length > 0 && count > 0) {
+            ConcurrentLinkedQueue<DijkstraEngine> idle = new ConcurrentLinkedQueue<>();
+            pool.invoke(matrix.new SearchTask(graph, marked, count, idle, 0, sources.length));
+        }
+        if (mapped != null) {
+            for (MappedByteBuffer buffer : mapped) {
+                buffer.force();
+            }
+        }
+
+        return matrix;
+    }
+
+    public static DistanceMatrix allPairs(EdgeWeightedDiGraph graph) {
+        return allPairs(CsrGraph.of(graph));
+    }
+
+    public static DistanceMatrix allPairs(CsrGraph graph) {
+        return allPairs(graph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the distances between every pair of vertices with the blocked Floyd-Warshall Algorithm. Sources and
+     * targets are both the vertices 0 to V-1, in order.
+     *
+     * @throws IllegalArgumentException if the graph has a negative cycle.
+     */
+    public static DistanceMatrix allPairs(CsrGraph graph, ForkJoinPool pool) {
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        int n = graph.V();
+        if ((long) n * n > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("graph is too large for all pairs");
+
+        float[] d = new float[n * n];
+        Arrays.fill(d, Float.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            d[v * n + v] = 0f;
+        }
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                int i = v * n + graph.target(e);
+                d[i] = Math.min(d[i], (float) graph.weight(e));
+            }
+        }
+
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        for (int kb = 0; kb < blocks; kb++) {
+            // the block on the diagonal depends only on itself
+            relaxBlock(d, n, kb, kb, kb);
+
+            // the blocks in its row and column depend on themselves and the diagonal
+            for (int b = 0; b < blocks; b++) {
+                if (b != kb) {
+                    relaxBlock(d, n, kb, b, kb);
+                    relaxBlock(d, n, b, kb, kb);
+                }
+            }
+
+            // every other block depends only on the row and column, which are final by now
+            pool.invoke(new BlockTask(d, n, blocks, kb, 0, blocks));
+        }
+
+        for (int v = 0; v < n; v++) {
+            if (d[v * n + v] < 0f)
+                throw new IllegalArgumentException("graph has a negative cycle through " + v);
+        }
+
+        int[] vertices = new int[n];
+        for (int v = 0; v < n; v++) {
+            vertices[v] = v;
+        }
+        return new DistanceMatrix(vertices, vertices, new FloatBuffer[]{FloatBuffer.wrap(d)}, Math.max(1, n));
+    }
+
+    /**
+     * Relax the block at row ib and column jb through the vertices of block kb, k outermost so that updates within the
+     * block itself are seen in order.
+     */
+    private static void relaxBlock(float[] d, int n, int ib, int jb, int kb) {
+        int iHi = Math.min(n, (ib + 1) * BLOCK);
+        int jLo = jb * BLOCK, jHi = Math.min(n, jLo + BLOCK);
+        int kHi = Math.min(n, (kb + 1) * BLOCK);
+
+        for (int k = kb * BLOCK; k < kHi; k++) {
+            int kRow = k * n;
+            for (int i = ib * BLOCK; i < iHi; i++) {
+                int iRow = i * n;
+                float dik = d[iRow + k];
+                if (dik == Float.POSITIVE_INFINITY)
+                    continue;
+
+                // an unconditional store keeps the loop free of branches, for the JIT to vectorize
+                for (int j = jLo; j < jHi; j++) {
+                    float dij = dik + d[kRow + j];
+                    float current = d[iRow + j];
+                    d[iRow + j] = dij < current ? dij : current;
+                }
+            }
+        }
+    }
+
+    private static FloatBuffer[] allocate(int rows, int columns, int rowsPerSegment) {
+        FloatBuffer[] segments = new FloatBuffer[Math.max(1, (rows + rowsPerSegment - 1) / rowsPerSegment)];
+        for (int i = 0; i < segments.length; i++) {
+            int size = Math.min(rowsPerSegment, rows - i * rowsPerSegment) * columns;
+            segments[i] = ByteBuffer.allocateDirect(size * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+        }
+        return segments;
+    }
+
+    /**
+     * Map a matrix written by {@link #manyToMany(CsrGraph, int[], int[], File, ForkJoinPool)}, read only.
+     */
+    public static DistanceMatrix load(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            if (channel.size() < 3 * Integer.BYTES)
+                throw new IOException(file + " is not a distance matrix");
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, 3 * Integer.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC)
+                throw new IOException(file + " is not a distance matrix");
+            int rows = header.getInt();
+            int columns = header.getInt();
+            if (rows < 0 || columns < 0)
+                throw new IOException(file + " has a corrupt header");
+
+            long length = headerSize(rows, columns) + (long) rows * columns * Float.BYTES;
+            if (channel.size() != length)
+                throw new IOException(file + " is " + channel.size() + " bytes, expected " + length);
+
+            IntBuffer ids = channel.map(FileChannel.MapMode.READ_ONLY, 3 * Integer.BYTES, (long) (rows + columns) * 4)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+            int[] sources = new int[rows];
+            int[] targets = new int[columns];
+            ids.get(sources);
+            ids.get(targets);
+
+            int rowsPerSegment = rowsPerSegment(columns);
+            MappedByteBuffer[] mapped = map(channel, FileChannel.MapMode.READ_ONLY, headerSize(rows, columns),
+                    rows, columns, rowsPerSegment);
+            return new DistanceMatrix(sources, targets, floats(mapped), rowsPerSegment, mapped);
+        }
+    }
+
+    private static int rowsPerSegment(int columns) {
+        return Math.max(1, Integer.MAX_VALUE / Float.BYTES / Math.max(1, columns));
+    }
+
+    private static long headerSize(int rows, int columns) {
+        return (3L + rows + columns) * Integer.BYTES;
+    }
+
+    /**
+     * Create the file of a matrix, write its header, and map the rows after it.
+     */
+    private static MappedByteBuffer[] create(File file, int[] sources, int[] targets, int rowsPerSegment) {
+        int rows = sources.length, columns = targets.length;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            long header = headerSize(rows, columns);
+            raf.setLength(0);
+            raf.setLength(header + (long) rows * columns * Float.BYTES);
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) header).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(rows).putInt(columns);
+            for (int s : sources)
+                buffer.putInt(s);
+            for (int t : targets)
+                buffer.putInt(t);
+            buffer.flip();
+            for (long position = 0; buffer.hasRemaining(); ) {
+                position += channel.write(buffer, position);
+            }
+
+            return map(channel, FileChannel.MapMode.READ_WRITE, header, rows, columns, rowsPerSegment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MappedByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, long at, int rows,
+                                          int columns, int rowsPerSegment) throws IOException {
+        MappedByteBuffer[] segments = new MappedByteBuffer[Math.max(1, (rows + rowsPerSegment - 1) / rowsPerSegment)];
+        for (int i = 0; i < segments.length; i++) {
+            long position = at + (long) i * rowsPerSegment * columns * Float.BYTES;
+            long size = (long) Math.max(0, Math.min(rowsPerSegment, rows - i * rowsPerSegment)) * columns * Float.BYTES;
+            segments[i] = channel.map(mode, position, size);
+        }
+        return segments;
+    }
+
+    private static FloatBuffer[] floats(MappedByteBuffer[] mapped) {
+        FloatBuffer[] segments = new FloatBuffer[mapped.length];
+        for (int i = 0; i < mapped.length; i++) {
+            segments[i] = mapped[i].order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        }
+        return segments;
+    }
+
+    private static void checkIndex(CsrGraph graph, int v) {
+        if (v < 0 || v >= graph.V())
+            throw new IndexOutOfBoundsException(v + " is out of bounds");
+    }
+
+    /**
+     * Number of rows, one per source.
+     */
+    public int rows() {
+        return sources.length;
+    }
+
+    /**
+     * Number of columns, one per target.
+     */
+    public int columns() {
+        return targets.length;
+    }
+
+    /**
+     * The source of row i.
+     */
+    public int source(int i) {
+        checkRow(i);
+        return sources[i];
+    }
+
+    /**
+     * The target of column j.
+     */
+    public int target(int j) {
+        checkColumn(j);
+        return targets[j];
+    }
+
+    /**
+     * The distance from the i-th source to the j-th target.
+     */
+    public float get(int i, int j) {
+        checkRow(i);
+        checkColumn(j);
+        return segments[i / rowsPerSegment].get((i % rowsPerSegment) * targets.length + j);
+    }
+
+    /**
+     * Copy row i into an array of at least {@link #columns()} entries.
+     */
+    public float[] row(int i, float[] into) {
+        checkRow(i);
+        if (into.length < targets.length)
+            throw new IllegalArgumentException("array is shorter than a row");
+
+        FloatBuffer row = segments[i / rowsPerSegment].duplicate();
+        row.position((i % rowsPerSegment) * targets.length);
+        row.get(into, 0, targets.length);
+        return into;
+    }
+
+    private void put(int i, int j, float distance) {
+        segments[i / rowsPerSegment].put((i % rowsPerSegment) * targets.length + j, distance);
+    }
+
+    private void checkRow(int i) {
+        if (i < 0 || i >= sources.length)
+            throw new IndexOutOfBoundsException(i + " is out of bounds");
+    }
+
+    private void checkColumn(int j) {
+        if (j < 0 || j >= targets.length)
+            throw new IndexOutOfBoundsException(j + " is out of bounds");
+    }
+
+    /**
+     * Searches from the sources of rows lo to hi, writing each row as its search finishes.
+     */
+    private class SearchTask extends RecursiveAction {
+
+        private final CsrGraph graph;
+        private final boolean[] marked;
+        private final int count;
+        private final ConcurrentLinkedQueue<DijkstraEngine> idle;
+        private final int lo;
+        private final int hi;
+
+        SearchTask(CsrGraph graph, boolean[] marked, int count, ConcurrentLinkedQueue<DijkstraEngine> idle,
+                   int lo, int hi) {
+            this.graph = graph;
+            this.marked = marked;
+            this.count = count;
+            this.idle = idle;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new SearchTask(graph, marked, count, idle, lo, mid),
+                        new SearchTask(graph, marked, count, idle, mid, hi));
+                return;
+            }
+
+            DijkstraEngine engine = idle.poll();
+            if (engine == null)
+                engine = new DijkstraEngine(graph);
+
+            for (int i = lo; i < hi; i++) {
+                engine.searchAll(sources[i], marked, count);
+                for (int j = 0; j < targets.length; j++) {
+                    put(i, j, (float) engine.distanceTo(targets[j]));
+                }
+            }
+
+            idle.offer(engine);
+        }
+    }
+
+    /**
+     * Relaxes the blocks off the row and column of block kb, for rows of blocks lo to hi.
+     */
+    private static class BlockTask extends RecursiveAction {
+
+        private final float[] d;
+        private final int n;
+        private final int blocks;
+        private final int kb;
+        private final int lo;
+        private final int hi;
+
+        BlockTask(float[] d, int n, int blocks, int kb, int lo, int hi) {
+            this.d = d;
+            this.n = n;
+            this.blocks = blocks;
+            this.kb = kb;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new BlockTask(d, n, blocks, kb, lo, mid), new BlockTask(d, n, blocks, kb, mid, hi));
+                return;
+            }
+
+            if (lo == kb)
+                return;
+            for (int jb = 0; jb < blocks; jb++) {
+                if (jb != kb)
+                    relaxBlock(d, n, lo, jb, kb);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.tree.IndexMinPQ;
+
+import java.util.LinkedList;
+import java.util.Queue;
+
+/**
+ * The eager version of the Prim algorithm.
+ *
+ * Rather than queueing every edge that leaves the tree and skipping the stale ones later, like {@link PrimMST} does,
+ * this keeps only the lightest edge connecting each vertex to the tree. When a vertex joins the tree, each of its
+ * neighbors that it offers a lighter edge to has its entry on an {@link IndexMinPQ} decreased. The queue holds at most
+ * V entries, so the algorithm takes O(V) extra space and O(ElgV) time.
+ *
+ * The graph is searched in {@link CsrGraph} form, and the lightest edge to each vertex is kept as the vertex on the
+ * other end and the weight, so no {@link Edge} is created until the tree is asked for. When the queue runs dry before
+ * every vertex has joined, the search restarts from the next vertex outside the tree, which yields a minimum spanning
+ * forest for disconnected graphs.
+ */
+public class EagerPrimMST implements MinimumSpanningTree {
+
+    private final CsrGraph graph;
+
+    /**
+     * The vertex on the other end of the lightest edge connecting each vertex to the tree, -1 for the roots.
+     */
+    private final int[] edgeTo;
+
+    /**
+     * The weight of the lightest edge connecting each vertex to the tree.
+     */
+    private final double[] distTo;
+
+    private final boolean[] marked;
+    private final IndexMinPQ pq;
+
+    public EagerPrimMST(EdgeWeightedGraph graph) {
+        this(EdgeArray.of(graph));
+    }
+
+    public EagerPrimMST(EdgeArray edges) {
+        this(CsrGraph.of(edges));
+    }
+
+    public EagerPrimMST(CsrGraph graph) {
+        if (!graph.isWeighted() || !graph.isUndirected())
+            throw new IllegalArgumentException("graph must be weighted and undirected");
+
+        this.graph = graph;
+        this.edgeTo = new int[graph.V()];
+        this.distTo = new double[graph.V()];
+        this.marked = new boolean[graph.V()];
+        this.pq = new IndexMinPQ(graph.V());
+
+        for (int v = 0; v < graph.V(); v++) {
+            distTo[v] = Double.POSITIVE_INFINITY;
+            edgeTo[v] = -1;
+        }
+
+        for (int v = 0; v < graph.V(); v++) {
+            if (!marked[v]) {
+                prim(v);
+            }
+        }
+    }
+
+    private void prim(int root) {
+        distTo[root] = 0d;
+        pq.insert(root, 0d);
+        while (!pq.isEmpty()) {
+            visit(pq.removeMin());
+        }
+    }
+
+    private void visit(int v) {
+        marked[v] = true;
+        for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+            int w = graph.target(e);
+            if (marked[w])
+                continue;
+
+            double weight = graph.weight(e);
+            if (weight < distTo[w]) {
+                distTo[w] = weight;
+                edgeTo[w] = v;
+                pq.insertOrDecrease(w, weight);
+            }
+        }
+    }
+
+    @Override
+    public Iterable<Edge> edges() {
+        Queue<Edge> mst = new LinkedList<>();
+        for (int v = 0; v < graph.V(); v++) {
+            if (edgeTo[v] != -1) {
+                mst.offer(new Edge(edgeTo[v], v, distTo[v]));
+            }
+        }
+        return mst;
+    }
+
+    @Override
+    public double weight() {
+        double total = 0d;
+        for (int v = 0; v < graph.V(); v++) {
+            if (edgeTo[v] != -1) {
+                total += distTo[v];
+            }
+        }
+        return total;
+    }
+}
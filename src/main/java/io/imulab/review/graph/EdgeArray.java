@@ -0,0 +1,131 @@
+package io.imulab.review.graph;
+
+import java.util.Arrays;
+
+/**
+ * Undirected weighted edges kept in three parallel primitive arrays, for algorithms that consume a graph as a plain
+ * list of edges, like the minimum spanning tree algorithms.
+ *
+ * Edge i connects {@code either(i)} and {@code other(i)} with {@code weight(i)}. An edge costs 16 bytes and no object,
+ * where an {@link Edge} costs an object of its own, plus its entries in the hash sets of an {@link EdgeWeightedGraph}.
+ * Arrays grow by doubling as edges are added. Self loops are not allowed, as with {@link Edge}.
+ */
+public class EdgeArray {
+
+    private final int V;
+    int[] either;
+    int[] other;
+    double[] weight;
+    private int size;
+
+    public EdgeArray(int V) {
+        this(V, 16);
+    }
+
+    public EdgeArray(int V, int capacity) {
+        if (V < 0)
+            throw new IllegalArgumentException("negative number of vertices");
+        this.V = V;
+        this.either = new int[Math.max(capacity, 1)];
+        this.other = new int[Math.max(capacity, 1)];
+        this.weight = new double[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Collect the edges of an edge weighted graph.
+     */
+    public static EdgeArray of(EdgeWeightedGraph graph) {
+        EdgeArray edges = new EdgeArray(graph.V(), graph.E());
+        for (Edge e : graph.edges()) {
+            int v = e.either();
+            edges.addEdge(v, e.other(v), e.weight());
+        }
+        return edges;
+    }
+
+    /**
+     * Collect the edges of a weighted CSR graph. Each edge of an undirected graph is taken once, each edge of a
+     * directed graph is taken as an undirected one. Self loops are skipped.
+     */
+    public static EdgeArray of(CsrGraph graph) {
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        EdgeArray edges = new EdgeArray(graph.V(), graph.E());
+        for (int v = 0; v < graph.V(); v++) {
+            for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                int w = graph.target(e);
+                if (graph.isUndirected() ? v < w : v != w) {
+                    edges.addEdge(v, w, graph.weight(e));
+                }
+            }
+        }
+        return edges;
+    }
+
+    public void addEdge(int v, int w, double weight) {
+        checkIndex(v);
+        checkIndex(w);
+        if (v == w)
+            throw new IllegalArgumentException("self loop edge not allowed");
+
+        if (size == either.length) {
+            int capacity = either.length * 2;
+            either = Arrays.copyOf(either, capacity);
+            other = Arrays.copyOf(other, capacity);
+            this.weight = Arrays.copyOf(this.weight, capacity);
+        }
+
+        either[size] = v;
+        other[size] = w;
+        this.weight[size] = weight;
+        size++;
+    }
+
+    /**
+     * Return the number of vertices the edges are between.
+     */
+    public int V() {
+        return V;
+    }
+
+    /**
+     * Return the number of edges.
+     */
+    public int E() {
+        return size;
+    }
+
+    public int either(int i) {
+        checkEdge(i);
+        return either[i];
+    }
+
+    public int other(int i) {
+        checkEdge(i);
+        return other[i];
+    }
+
+    public double weight(int i) {
+        checkEdge(i);
+        return weight[i];
+    }
+
+    /**
+     * Materialize edge i as an {@link Edge}.
+     */
+    public Edge edge(int i) {
+        checkEdge(i);
+        return new Edge(either[i], other[i], weight[i]);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= V)
+            throw new IndexOutOfBoundsException(index + " is out of bounds");
+    }
+
+    private void checkEdge(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index + " is out of bounds");
+    }
+}
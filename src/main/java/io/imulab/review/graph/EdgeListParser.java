@@ -0,0 +1,513 @@
+package io.imulab.review.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds a {@link CsrGraph} straight from a text edge list, without going through {@code addEdge}.
+ *
+ * Every line holds an edge as two vertex numbers, and its weight after them when the parser is {@link #weighted()}.
+ * Fields are separated by spaces, tabs or commas, anything after the last field is ignored, and so are blank lines and
+ * lines starting with '#' or '%'. Bytes are parsed where they land, in a direct buffer read from the channel a few
+ * megabytes at a time: no String, boxed number or edge object is ever created, except to parse the odd weight too long
+ * for the fast path.
+ *
+ * A {@link FileChannel} is read twice: once to count the degree of every vertex, and once more to drop every edge
+ * straight into its slot of the CSR arrays, so nothing but the graph itself is held in memory. Any other channel can
+ * only be read once, and its edges are buffered in primitive arrays before being counted and placed, like
+ * {@link CsrGraph.Builder} does. Either way, edges keep the order of the file.
+ *
+ * With {@link #parallel(ForkJoinPool)}, a {@link FileChannel} is instead split into chunks at line boundaries, and the
+ * chunks are parsed in parallel, each into its own buffer of edges, which are then placed in the order of the chunks.
+ * That trades the memory of the single pass for parsing, by far the most expensive part, on every thread.
+ *
+ * The number of vertices is one more than the largest vertex number found, unless it is given with
+ * {@link #vertices(int)}. A line that can not be parsed, or a vertex out of bounds, fails the whole parse with an
+ * {@link IOException} giving the position of the offending byte.
+ */
+public class EdgeListParser {
+
+    // bytes read from the channel at a time, also the longest line accepted
+    private static final int BUFFER = 1 << 22;
+
+    // smallest chunk worth a task of its own
+    private static final long MIN_CHUNK = 1 << 20;
+
+    // exact powers of ten as doubles, for the fast path of parsing weights
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1d;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10d;
+        }
+    }
+
+    private int V = -1;
+    private boolean undirected;
+    private boolean weighted;
+    private ForkJoinPool pool;
+
+    /**
+     * Number of vertices of the graph, instead of inferring it from the largest vertex number.
+     */
+    public EdgeListParser vertices(int V) {
+        if (V < 0)
+            throw new IllegalArgumentException("negative number of vertices");
+        this.V = V;
+        return this;
+    }
+
+    /**
+     * Store every edge in both directions.
+     */
+    public EdgeListParser undirected() {
+        this.undirected = true;
+        return this;
+    }
+
+    /**
+     * Read a weight after the two vertices of every edge.
+     */
+    public EdgeListParser weighted() {
+        this.weighted = true;
+        return this;
+    }
+
+    /**
+     * Parse a {@link FileChannel} in parallel chunks on the common pool.
+     */
+    public EdgeListParser parallel() {
+        return parallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse a {@link FileChannel} in parallel chunks on the given pool. Other channels are still parsed in one pass.
+     */
+    public EdgeListParser parallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    public CsrGraph parse(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return parse(channel);
+        }
+    }
+
+    /**
+     * Parse the channel from its current position to its end. The channel is not closed.
+     */
+    public CsrGraph parse(ReadableByteChannel channel) throws IOException {
+        if (!(channel instanceof FileChannel)) {
+            Edges edges = new Edges();
+            scan(channel, 0, Long.MAX_VALUE, edges);
+            return build(new Edges[]{edges});
+        }
+
+        FileChannel file = (FileChannel) channel;
+        long from = file.position(), to = file.size();
+        if (pool != null)
+            return parseInParallel(file, from, to);
+
+        Degrees degrees = new Degrees();
+        scan(file, from, to, degrees);
+
+        int vertices = V >= 0 ? V : degrees.max + 1;
+        int[] offsets = new int[vertices + 1];
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] = offsets[v] + (v < degrees.degree.length ? degrees.degree[v] : 0);
+        }
+        checkArcs(degrees.arcs);
+
+        Placement placement = new Placement(offsets, (int) degrees.arcs);
+        scan(file, from, to, placement);
+        return new CsrGraph(offsets, placement.targets, placement.weights, undirected);
+    }
+
+    private CsrGraph parseInParallel(FileChannel file, long from, long to) throws IOException {
+        int chunks = (int) Math.max(1, Math.min(pool.getParallelism() * 4L, (to - from) / MIN_CHUNK));
+
+        // move every split forward to the start of a line
+        long[] bounds = new long[chunks + 1];
+        bounds[0] = from;
+        bounds[chunks] = to;
+        for (int i = 1; i < chunks; i++) {
+            bounds[i] = lineStart(file, Math.max(bounds[i - 1], from + (to - from) / chunks * i), to);
+        }
+
+        Edges[] edges = new Edges[chunks];
+        try {
+            pool.invoke(new ParseTask(file, bounds, edges, 0, chunks));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return build(edges);
+    }
+
+    /**
+     * Place buffered edges into CSR arrays, chunk after chunk.
+     */
+    private CsrGraph build(Edges[] chunks) throws IOException {
+        int max = -1;
+        long arcs = 0;
+        for (Edges edges : chunks) {
+            max = Math.max(max, edges.max);
+            arcs += undirected ? 2L * edges.size : edges.size;
+        }
+        checkArcs(arcs);
+
+        int vertices = V >= 0 ? V : max + 1;
+        int[] offsets = new int[vertices + 1];
+        for (Edges edges : chunks) {
+            for (int i = 0; i < edges.size; i++) {
+                offsets[edges.from[i] + 1]++;
+                if (undirected)
+                    offsets[edges.to[i] + 1]++;
+            }
+        }
+        for (int v = 0; v < vertices; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        Placement placement = new Placement(offsets, (int) arcs);
+        for (Edges edges : chunks) {
+            for (int i = 0; i < edges.size; i++) {
+                placement.accept(edges.from[i], edges.to[i], edges.weight != null ? edges.weight[i] : 0d);
+            }
+        }
+        return new CsrGraph(offsets, placement.targets, placement.weights, undirected);
+    }
+
+    private void checkArcs(long arcs) throws IOException {
+        if (arcs > Integer.MAX_VALUE)
+            throw new IOException("too many edges for a CSR graph: " + arcs);
+    }
+
+    /**
+     * Position of the first line starting at or after the given position.
+     */
+    private static long lineStart(FileChannel file, long position, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 12);
+        for (long at = position - 1; at < to; ) {
+            buffer.clear();
+            int n = file.read(buffer, at);
+            if (n <= 0)
+                break;
+            for (int i = 0; i < n; i++) {
+                if (buffer.get(i) == '\n')
+                    return at + i + 1;
+            }
+            at += n;
+        }
+        return to;
+    }
+
+    /**
+     * Parse every line between two positions of the channel. A {@link FileChannel} is read at those positions, and so
+     * can be shared between threads. Any other channel is read from wherever it is, up to its end.
+     */
+    private void scan(ReadableByteChannel channel, long from, long to, EdgeSink sink) throws IOException {
+        FileChannel file = channel instanceof FileChannel ? (FileChannel) channel : null;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER);
+        Lexer lexer = new Lexer(buffer, sink);
+
+        // position of the first byte in the buffer, and of the first byte not read yet
+        long base = from, read = from;
+        boolean end = false;
+        while (!end) {
+            if (!buffer.hasRemaining())
+                throw new IOException("line longer than " + BUFFER + " bytes at byte " + base);
+            if (to - read < buffer.remaining())
+                buffer.limit(buffer.position() + (int) (to - read));
+
+            int n = file != null ? file.read(buffer, read) : channel.read(buffer);
+            if (n > 0)
+                read += n;
+            end = n < 0 || read >= to;
+
+            buffer.flip();
+            int consumed = lexer.lines(base, end);
+            buffer.position(consumed);
+            buffer.compact();
+            base += consumed;
+        }
+    }
+
+    /**
+     * Receives every edge parsed.
+     */
+    private interface EdgeSink {
+        void accept(int v, int w, double weight);
+    }
+
+    /**
+     * Parses lines in place, from the start of a buffer.
+     */
+    private class Lexer {
+
+        private final ByteBuffer buffer;
+        private final EdgeSink sink;
+
+        // position of the first byte in the buffer, for error messages
+        private long base;
+        private int i;
+
+        Lexer(ByteBuffer buffer, EdgeSink sink) {
+            this.buffer = buffer;
+            this.sink = sink;
+        }
+
+        /**
+         * Parse every complete line in the buffer, and the last one even without a line break when at the end.
+         *
+         * @return the position after the last line parsed.
+         */
+        int lines(long base, boolean end) throws IOException {
+            this.base = base;
+            int limit = buffer.limit();
+            int start = 0;
+            while (start < limit) {
+                int eol = start;
+                while (eol < limit && buffer.get(eol) != '\n') {
+                    eol++;
+                }
+                if (eol == limit && !end)
+                    return start;
+
+                line(start, eol);
+                start = eol + 1;
+            }
+            return limit;
+        }
+
+        private void line(int start, int eol) throws IOException {
+            i = start;
+            skipSeparators(eol);
+            if (i == eol || buffer.get(i) == '#' || buffer.get(i) == '%')
+                return;
+
+            int v = vertex(eol);
+            skipSeparators(eol);
+            int w = vertex(eol);
+            double weight = 0d;
+            if (weighted) {
+                skipSeparators(eol);
+                weight = weight(eol);
+            }
+            sink.accept(v, w, weight);
+        }
+
+        private int vertex(int eol) throws IOException {
+            int start = i;
+            long value = 0;
+            while (i < eol && isDigit(buffer.get(i))) {
+                value = value * 10 + (buffer.get(i++) - '0');
+                if (value > Integer.MAX_VALUE)
+                    throw new IOException("vertex too large at byte " + (base + start));
+            }
+            if (i == start || (i < eol && !isSeparator(buffer.get(i))))
+                throw new IOException("malformed edge at byte " + (base + i));
+            if (V >= 0 && value >= V)
+                throw new IOException(value + " is out of bounds at byte " + (base + start));
+            return (int) value;
+        }
+
+        /**
+         * A plain decimal weight of up to 15 significant digits and 22 decimals is the quotient of two exact doubles,
+         * so dividing them rounds it correctly. Anything else, exponents included, falls back to
+         * {@link Double#parseDouble(String)}.
+         */
+        private double weight(int eol) throws IOException {
+            int start = i;
+            while (i < eol && !isSeparator(buffer.get(i))) {
+                i++;
+            }
+            if (i == start)
+                throw new IOException("malformed edge at byte " + (base + i));
+
+            int k = start;
+            boolean negative = buffer.get(k) == '-';
+            if (negative || buffer.get(k) == '+')
+                k++;
+
+            long mantissa = 0;
+            int digits = 0, significant = 0, fraction = 0;
+            boolean point = false, fast = true;
+            for (; k < i && fast; k++) {
+                byte b = buffer.get(k);
+                if (isDigit(b)) {
+                    digits++;
+                    if (mantissa != 0 || b != '0')
+                        significant++;
+                    if (point)
+                        fraction++;
+                    mantissa = mantissa * 10 + (b - '0');
+                    fast = significant <= 15;
+                } else if (b == '.' && !point) {
+                    point = true;
+                } else {
+                    fast = false;
+                }
+            }
+            if (fast && digits > 0 && fraction < POWERS_OF_TEN.length) {
+                double value = mantissa / POWERS_OF_TEN[fraction];
+                return negative ? -value : value;
+            }
+
+            byte[] bytes = new byte[i - start];
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = buffer.get(start + j);
+            }
+            try {
+                return Double.parseDouble(new String(bytes, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw new IOException("malformed weight at byte " + (base + start));
+            }
+        }
+
+        private void skipSeparators(int eol) {
+            while (i < eol && isSeparator(buffer.get(i))) {
+                i++;
+            }
+        }
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == '\r';
+    }
+
+    /**
+     * Counts the degree of every vertex, for the first of two passes.
+     */
+    private class Degrees implements EdgeSink {
+
+        int[] degree = new int[16];
+        int max = -1;
+        long arcs;
+
+        @Override
+        public void accept(int v, int w, double weight) {
+            int top = Math.max(v, w);
+            if (top >= degree.length) {
+                long capacity = Math.max(top + 1L, 2L * degree.length);
+                degree = Arrays.copyOf(degree, (int) Math.min(Integer.MAX_VALUE, capacity));
+            }
+            max = Math.max(max, top);
+
+            degree[v]++;
+            arcs++;
+            if (undirected) {
+                degree[w]++;
+                arcs++;
+            }
+        }
+    }
+
+    /**
+     * Drops every edge into the next free slot of its source vertex.
+     */
+    private class Placement implements EdgeSink {
+
+        final int[] cursor;
+        final int[] targets;
+        final double[] weights;
+
+        Placement(int[] offsets, int arcs) {
+            this.cursor = Arrays.copyOf(offsets, offsets.length - 1);
+            this.targets = new int[arcs];
+            this.weights = weighted ? new double[arcs] : null;
+        }
+
+        @Override
+        public void accept(int v, int w, double weight) {
+            place(v, w, weight);
+            if (undirected)
+                place(w, v, weight);
+        }
+
+        private void place(int v, int w, double weight) {
+            int k = cursor[v]++;
+            targets[k] = w;
+            if (weights != null)
+                weights[k] = weight;
+        }
+    }
+
+    /**
+     * Buffers edges in primitive arrays that grow by doubling, for a single pass.
+     */
+    private class Edges implements EdgeSink {
+
+        int[] from = new int[16];
+        int[] to = new int[16];
+        double[] weight = weighted ? new double[16] : null;
+        int size;
+        int max = -1;
+
+        @Override
+        public void accept(int v, int w, double edgeWeight) {
+            if (size == from.length) {
+                int capacity = from.length * 2;
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                if (weight != null)
+                    weight = Arrays.copyOf(weight, capacity);
+            }
+
+            from[size] = v;
+            to[size] = w;
+            if (weight != null)
+                weight[size] = edgeWeight;
+            size++;
+            max = Math.max(max, Math.max(v, w));
+        }
+    }
+
+    private class ParseTask extends RecursiveAction {
+
+        private final FileChannel file;
+        private final long[] bounds;
+        private final Edges[] edges;
+        private final int lo;
+        private final int hi;
+
+        ParseTask(FileChannel file, long[] bounds, Edges[] edges, int lo, int hi) {
+            this.file = file;
+            this.bounds = bounds;
+            this.edges = edges;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ParseTask(file, bounds, edges, lo, mid), new ParseTask(file, bounds, edges, mid, hi));
+                return;
+            }
+
+            Edges chunk = new Edges();
+            try {
+                scan(file, bounds[lo], bounds[lo + 1], chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            edges[lo] = chunk;
+        }
+    }
+}
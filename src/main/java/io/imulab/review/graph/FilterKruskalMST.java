@@ -0,0 +1,192 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.misc.UnionFind;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Kruskal's algorithm, without sorting edges that could never make it into the tree.
+ *
+ * Like quick sort, the edges are partitioned around a pivot weight into a light and a heavy half. The light half is
+ * handled first, recursively. By then, many heavy edges connect vertices the light edges have already connected, and
+ * they are filtered out before the heavy half is partitioned in turn. Once the tree has V - 1 edges, the rest of the
+ * edges are not looked at at all. Ranges of fewer than {@value CUTOFF} edges are sorted and scanned like in plain
+ * Kruskal.
+ *
+ * On graphs where most edges are heavier than the tree needs, this sorts only a fraction of the edges. The edges are
+ * copied into three parallel primitive arrays and partitioned in place.
+ *
+ * See Osipov, Sanders and Singler, "The Filter-Kruskal Minimum Spanning Tree Algorithm".
+ */
+public class FilterKruskalMST implements MinimumSpanningTree {
+
+    static final int CUTOFF = 1 << 10;
+
+    private static final int INSERTION_CUTOFF = 8;
+
+    private final int[] either;
+    private final int[] other;
+    private final double[] weight;
+    private final UnionFind uf;
+    private final EdgeArray mst;
+
+    public FilterKruskalMST(EdgeWeightedGraph graph) {
+        this(EdgeArray.of(graph));
+    }
+
+    public FilterKruskalMST(EdgeArray edges) {
+        this.either = Arrays.copyOf(edges.either, edges.E());
+        this.other = Arrays.copyOf(edges.other, edges.E());
+        this.weight = Arrays.copyOf(edges.weight, edges.E());
+        this.uf = new UnionFind(edges.V());
+        this.mst = new EdgeArray(edges.V(), Math.max(edges.V() - 1, 1));
+
+        filterKruskal(0, edges.E() - 1);
+    }
+
+    private void filterKruskal(int lowInclusive, int highInclusive) {
+        while (lowInclusive <= highInclusive && !isComplete()) {
+            if (highInclusive - lowInclusive < CUTOFF) {
+                kruskal(lowInclusive, highInclusive);
+                return;
+            }
+
+            double pivot = pivot(lowInclusive, highInclusive);
+            int k = partition(lowInclusive, highInclusive, pivot);
+            if (k == lowInclusive) {
+                // the pivot is the lightest weight, nothing to split off
+                kruskal(lowInclusive, highInclusive);
+                return;
+            }
+
+            filterKruskal(lowInclusive, k - 1);
+            lowInclusive = k;
+            highInclusive = filter(k, highInclusive);
+        }
+    }
+
+    private void kruskal(int lowInclusive, int highInclusive) {
+        sort(lowInclusive, highInclusive);
+        for (int i = lowInclusive; i <= highInclusive && !isComplete(); i++) {
+            int rootV = uf.find(either[i]);
+            int rootW = uf.find(other[i]);
+            if (rootV != rootW) {
+                uf.union(rootV, rootW);
+                mst.addEdge(either[i], other[i], weight[i]);
+            }
+        }
+    }
+
+    private boolean isComplete() {
+        return mst.E() == mst.V() - 1;
+    }
+
+    /**
+     * Move edges lighter than the pivot to the front of the range. Returns the index of the first heavy edge.
+     */
+    private int partition(int lowInclusive, int highInclusive, double pivot) {
+        int i = lowInclusive;
+        for (int j = lowInclusive; j <= highInclusive; j++) {
+            if (weight[j] < pivot) {
+                swap(i++, j);
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Drop edges whose vertices are already connected, compacting the rest to the front of the range. Returns the
+     * new end of the range.
+     */
+    private int filter(int lowInclusive, int highInclusive) {
+        int i = lowInclusive;
+        for (int j = lowInclusive; j <= highInclusive; j++) {
+            if (uf.find(either[j]) != uf.find(other[j])) {
+                swap(i++, j);
+            }
+        }
+        return i - 1;
+    }
+
+    // median of three random samples
+    private double pivot(int lowInclusive, int highInclusive) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double a = weight[random.nextInt(lowInclusive, highInclusive + 1)];
+        double b = weight[random.nextInt(lowInclusive, highInclusive + 1)];
+        double c = weight[random.nextInt(lowInclusive, highInclusive + 1)];
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    /**
+     * Quick sort a range of edges by weight, moving the three arrays together.
+     */
+    @SuppressWarnings("Duplicates")
+    private void sort(int lowInclusive, int highInclusive) {
+        while (highInclusive - lowInclusive >= INSERTION_CUTOFF) {
+            int mid = (lowInclusive + highInclusive) >>> 1;
+            if (weight[mid] < weight[lowInclusive]) swap(mid, lowInclusive);
+            if (weight[highInclusive] < weight[lowInclusive]) swap(highInclusive, lowInclusive);
+            if (weight[highInclusive] < weight[mid]) swap(highInclusive, mid);
+            double pivot = weight[mid];
+
+            int i = lowInclusive, j = highInclusive;
+            while (i <= j) {
+                while (weight[i] < pivot) i++;
+                while (weight[j] > pivot) j--;
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+
+            // recurse into the smaller side, loop on the larger
+            if (j - lowInclusive < highInclusive - i) {
+                sort(lowInclusive, j);
+                lowInclusive = i;
+            } else {
+                sort(i, highInclusive);
+                highInclusive = j;
+            }
+        }
+
+        for (int i = lowInclusive + 1; i <= highInclusive; i++) {
+            for (int j = i; j > lowInclusive && weight[j] < weight[j - 1]; j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        int v = either[i];
+        either[i] = either[j];
+        either[j] = v;
+
+        int w = other[i];
+        other[i] = other[j];
+        other[j] = w;
+
+        double t = weight[i];
+        weight[i] = weight[j];
+        weight[j] = t;
+    }
+
+    @Override
+    public Iterable<Edge> edges() {
+        Queue<Edge> edges = new LinkedList<>();
+        for (int i = 0; i < mst.E(); i++) {
+            edges.offer(mst.edge(i));
+        }
+        return edges;
+    }
+
+    @Override
+    public double weight() {
+        double total = 0d;
+        for (int i = 0; i < mst.E(); i++) {
+            total += mst.weight(i);
+        }
+        return total;
+    }
+}
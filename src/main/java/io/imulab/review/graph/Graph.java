@@ -1,5 +1,7 @@
 package io.imulab.review.graph;
 
+import java.util.function.IntConsumer;
+
 public interface Graph {
 
     /**
@@ -19,6 +21,20 @@ public interface Graph {
      */
     Iterable<Integer> adjacent(int v);
 
+    /**
+     * Pass every adjacent vertex of a vertex to an action. An {@link IndexOutOfBoundsException} will be thrown if the
+     * vertex is out of bounds. Graphs that can visit their neighbors without boxing or allocating an iterator, like
+     * {@link CsrGraph}, override this.
+     *
+     * @param v index of the vertex
+     * @param action action to run on each adjacent vertex.
+     */
+    default void forEachAdjacent(int v, IntConsumer action) {
+        for (int w : adjacent(v)) {
+            action.accept(w);
+        }
+    }
+
     /**
      * Get the number of connected vertices to a vertex. An {@link IndexOutOfBoundsException} will be thrown if the
      * vertex is out of bounds.
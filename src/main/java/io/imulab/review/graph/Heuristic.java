@@ -0,0 +1,23 @@
+package io.imulab.review.graph;
+
+/**
+ * An estimate of the distance from a vertex to a target, which guides {@link AStarSearch} towards the target.
+ *
+ * The estimate must be admissible: never more than the actual shortest distance, or the search may return a path that
+ * is not the shortest. The closer the estimate is to the actual distance, the fewer vertices the search scans. An
+ * estimate that is also consistent, never dropping along an edge by more than the weight of the edge, lets the search
+ * scan every vertex at most once.
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * The estimate that knows nothing, which turns A* back into Dijkstra's Algorithm.
+     */
+    Heuristic ZERO = (v, target) -> 0d;
+
+    /**
+     * Estimate the distance from v to target.
+     */
+    double estimate(int v, int target);
+}
@@ -0,0 +1,192 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.misc.ConcurrentUnionFind;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Connected components kept up to date while edges are added, so a stream of edges never needs the whole graph to be
+ * searched again.
+ *
+ * {@link ConnectedComponents} labels a graph once, and any edge added afterwards makes it stale. Here the components
+ * live in a {@link ConcurrentUnionFind} instead: adding an edge is a union, close to constant time, and a batch of
+ * edges can be streamed into it from a {@link ForkJoinPool} just like {@link ConnectedComponents#parallel(Graph)} does.
+ * {@link #isConnected(int, int)} and {@link #count()} are answered by the union find directly.
+ *
+ * {@link #id(int)} numbers components densely from 0, in the order of their smallest vertex, the same as
+ * {@link ConnectedComponents}. Such numbers shift whenever two components merge, so they are recomputed in a single
+ * O(V) pass on the first call after a merge, and kept until the next one. Asking for ids between batches, rather than
+ * between single edges, keeps that pass cheap.
+ *
+ * Edges may be added from several threads at once, but queries are only meaningful between batches.
+ */
+public class IncrementalConnectivity {
+
+    // number of edges a single task streams
+    private static final int GRAIN = 1 << 12;
+
+    private final ConcurrentUnionFind uf;
+
+    // dense component ids, null when a merge has happened since they were computed
+    private int[] cc;
+
+    /**
+     * Start with V vertices and no edges.
+     */
+    public IncrementalConnectivity(int V) {
+        this.uf = new ConcurrentUnionFind(V);
+    }
+
+    /**
+     * Start from the components of a graph, streaming its edges in parallel on the common pool.
+     */
+    public IncrementalConnectivity(Graph g) {
+        this(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Start from the components of a graph, streaming its edges in parallel. Every edge is treated as undirected.
+     */
+    public IncrementalConnectivity(Graph g, ForkJoinPool pool) {
+        this(g.V());
+        pool.invoke(new ConnectedComponents.UnionTask(g, uf, 0, g.V()));
+    }
+
+    /**
+     * Add an edge between two vertices.
+     *
+     * @return true if it connected two components that were not connected before.
+     */
+    public boolean addEdge(int v, int w) {
+        checkIndex(v);
+        checkIndex(w);
+
+        if (!uf.union(v, w))
+            return false;
+        cc = null;
+        return true;
+    }
+
+    /**
+     * Add a batch of edges, the i-th one between from[i] and to[i].
+     *
+     * @return the number of merges, that is, by how much {@link #count()} went down.
+     */
+    public int addEdges(int[] from, int[] to) {
+        checkBatch(from, to);
+
+        int merges = 0;
+        for (int i = 0; i < from.length; i++) {
+            if (uf.union(from[i], to[i]))
+                merges++;
+        }
+        if (merges > 0)
+            cc = null;
+        return merges;
+    }
+
+    /**
+     * Add a batch of edges in parallel, the i-th one between from[i] and to[i].
+     *
+     * @return the number of merges, that is, by how much {@link #count()} went down.
+     */
+    public int addEdges(int[] from, int[] to, ForkJoinPool pool) {
+        checkBatch(from, to);
+
+        int before = uf.count();
+        pool.invoke(new BatchTask(from, to, 0, from.length));
+        int merges = before - uf.count();
+        if (merges > 0)
+            cc = null;
+        return merges;
+    }
+
+    /**
+     * Whether the vertices are connected by the edges added so far.
+     */
+    public boolean isConnected(int v, int w) {
+        checkIndex(v);
+        checkIndex(w);
+        return uf.connected(v, w);
+    }
+
+    /**
+     * The number of connected components.
+     */
+    public int count() {
+        return uf.count();
+    }
+
+    /**
+     * The identifier for the component the vertex is in. Valid until the next merge.
+     */
+    public int id(int v) {
+        checkIndex(v);
+        if (cc == null)
+            cc = label();
+        return cc[v];
+    }
+
+    /**
+     * Number of vertices.
+     */
+    public int V() {
+        return uf.size();
+    }
+
+    /**
+     * Since the root of every set is its smallest vertex, a single ascending pass numbers the components densely.
+     */
+    private int[] label() {
+        int[] ids = new int[V()];
+        int count = 0;
+        for (int v = 0; v < ids.length; v++) {
+            int root = uf.find(v);
+            ids[v] = root == v ? count++ : ids[root];
+        }
+        return ids;
+    }
+
+    private void checkBatch(int[] from, int[] to) {
+        if (from.length != to.length)
+            throw new IllegalArgumentException("batch has " + from.length + " tails but " + to.length + " heads");
+        for (int i = 0; i < from.length; i++) {
+            checkIndex(from[i]);
+            checkIndex(to[i]);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= uf.size())
+            throw new IndexOutOfBoundsException(index + " is out of bounds");
+    }
+
+    private class BatchTask extends RecursiveAction {
+
+        private final int[] from;
+        private final int[] to;
+        private final int lo;
+        private final int hi;
+
+        BatchTask(int[] from, int[] to, int lo, int hi) {
+            this.from = from;
+            this.to = to;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new BatchTask(from, to, lo, mid), new BatchTask(from, to, mid, hi));
+                return;
+            }
+
+            for (int i = lo; i < hi; i++) {
+                uf.union(from[i], to[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.imulab.review.graph;
+
+import java.util.Arrays;
+
+/**
+ * A growable array of ints, for the vertices parallel algorithms gather without boxing them.
+ */
+final class IntBag {
+
+    int[] items = new int[16];
+    int size;
+
+    void add(int item) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+        }
+        items[size++] = item;
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,108 @@
+package io.imulab.review.graph;
+
+/**
+ * The ALT estimate (A*, landmarks, triangle inequality) of Goldberg and Harrelson.
+ *
+ * A few vertices are picked as landmarks, and the distances from each landmark to every vertex, and from every vertex
+ * to each landmark, are computed up front. For any landmark L, the triangle inequality gives two lower bounds on the
+ * distance from v to t:
+ *
+ * - d(L, t) - d(L, v), since d(L, t) is at most d(L, v) + d(v, t)
+ * - d(v, L) - d(t, L), since d(v, L) is at most d(v, t) + d(t, L)
+ *
+ * The estimate is the largest of these bounds over all landmarks, which is admissible and consistent. Landmarks
+ * behind the target, as seen from the vertex, give the tightest bounds, so they work best spread out on the edge of
+ * the graph, which is what {@link #farthest(CsrGraph, int)} picks.
+ *
+ * Precomputing takes two full searches per landmark, and storing the distances 16 bytes per vertex per landmark.
+ */
+public class LandmarkHeuristic implements Heuristic {
+
+    private final int[] landmarks;
+
+    // fromLandmark[i][v] is the distance from landmark i to v, toLandmark[i][v] the distance from v to landmark i
+    private final double[][] fromLandmark;
+    private final double[][] toLandmark;
+
+    public LandmarkHeuristic(CsrGraph graph, int... landmarks) {
+        if (!graph.isWeighted())
+            throw new IllegalArgumentException("graph is not weighted");
+
+        CsrGraph reverse = graph.reverse();
+        this.landmarks = landmarks.clone();
+        this.fromLandmark = new double[landmarks.length][];
+        this.toLandmark = new double[landmarks.length][];
+        for (int i = 0; i < landmarks.length; i++) {
+            fromLandmark[i] = distances(graph, landmarks[i]);
+            toLandmark[i] = distances(reverse, landmarks[i]);
+        }
+    }
+
+    /**
+     * Pick landmarks by farthest selection: the first is the vertex farthest from vertex 0, and every next one the
+     * vertex farthest from all landmarks picked so far. Vertices not reachable from any landmark are not picked.
+     */
+    public static LandmarkHeuristic farthest(CsrGraph graph, int count) {
+        if (count < 1 || count > graph.V())
+            throw new IllegalArgumentException("count must be within [1, V]");
+
+        int[] landmarks = new int[count];
+        double[] nearest = distances(graph, 0);
+        landmarks[0] = farthest(nearest);
+
+        for (int i = 1; i < count; i++) {
+            double[] distances = distances(graph, landmarks[i - 1]);
+            for (int v = 0; v < graph.V(); v++) {
+                if (i == 1 || distances[v] < nearest[v]) {
+                    nearest[v] = distances[v];
+                }
+            }
+            landmarks[i] = farthest(nearest);
+        }
+
+        return new LandmarkHeuristic(graph, landmarks);
+    }
+
+    private static int farthest(double[] distances) {
+        int farthest = 0;
+        for (int v = 1; v < distances.length; v++) {
+            if (distances[v] != Double.POSITIVE_INFINITY
+                    && (distances[farthest] == Double.POSITIVE_INFINITY || distances[v] > distances[farthest])) {
+                farthest = v;
+            }
+        }
+        return farthest;
+    }
+
+    private static double[] distances(CsrGraph graph, int source) {
+        DijkstraSP sp = new DijkstraSP(graph, source);
+        double[] distances = new double[graph.V()];
+        for (int v = 0; v < graph.V(); v++) {
+            distances[v] = sp.distanceTo(v);
+        }
+        return distances;
+    }
+
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    @Override
+    public double estimate(int v, int target) {
+        double best = 0d;
+        for (int i = 0; i < landmarks.length; i++) {
+            // an unreachable landmark makes a term infinite or NaN. NaN and negative infinity never beat the best
+            // bound. Positive infinity is still admissible: a landmark that reaches v but not the target shows that v
+            // can not reach the target either, and the same holds for the backward term
+            double forward = fromLandmark[i][target] - fromLandmark[i][v];
+            if (forward > best) {
+                best = forward;
+            }
+            double backward = toLandmark[i][v] - toLandmark[i][target];
+            if (backward > best) {
+                best = backward;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,222 @@
+package io.imulab.review.graph;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A {@link CsrGraph} read straight from a file mapped into memory, as saved by {@link CsrGraph#save(File)}.
+ *
+ * Loading maps the file and reads its header, nothing more: no edge is parsed, copied or turned into an object, and the
+ * operating system pages the arrays in as they are first touched, then keeps them in its page cache for the next
+ * process mapping the same file. A graph of millions of edges is ready in milliseconds, instead of being rebuilt with
+ * an {@code addEdge} call per edge, and it weighs nothing on the heap. Since it is a {@link CsrGraph}, every algorithm
+ * taking one runs on it unchanged, including those over weighted directed graphs.
+ *
+ * The file is little endian, and laid out as
+ * <pre>
+ *   int       magic
+ *   int       flags, 1 if undirected, 2 if weighted
+ *   int       V
+ *   int       number of arcs
+ *   int[V+1]  offsets
+ *   int[]     targets, padded to a multiple of 8 bytes from the start of the file
+ *   double[]  weights, only when weighted
+ * </pre>
+ *
+ * A single mapping can not exceed 2GB, so every array is mapped in segments of 1GB.
+ */
+public final class MappedCsrGraph extends CsrGraph {
+
+    private static final int MAGIC = 0x43535201;
+    private static final int HEADER = 4 * Integer.BYTES;
+    private static final int UNDIRECTED = 1;
+    private static final int WEIGHTED = 2;
+
+    // elements in a segment: 1 << 28 ints or 1 << 27 doubles, 1GB either way
+    private static final int INT_SHIFT = 28;
+    private static final int INT_MASK = (1 << INT_SHIFT) - 1;
+    private static final int DOUBLE_SHIFT = 27;
+    private static final int DOUBLE_MASK = (1 << DOUBLE_SHIFT) - 1;
+
+    private final int V;
+    private final int arcs;
+    private final IntBuffer[] offsets;
+    private final IntBuffer[] targets;
+    private final DoubleBuffer[] weights;
+
+    private MappedCsrGraph(int V, int arcs, IntBuffer[] offsets, IntBuffer[] targets, DoubleBuffer[] weights,
+                           boolean undirected) {
+        super(new int[1], new int[0], null, undirected);
+        this.V = V;
+        this.arcs = arcs;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Map a graph saved by {@link CsrGraph#save(File)}. The file must not change while the graph is in use.
+     */
+    public static MappedCsrGraph load(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            if (channel.size() < HEADER)
+                throw new IOException(file + " is not a CSR graph");
+
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC)
+                throw new IOException(file + " is not a CSR graph");
+            int flags = header.getInt();
+            int V = header.getInt();
+            int arcs = header.getInt();
+            if (V < 0 || arcs < 0)
+                throw new IOException(file + " has a corrupt header");
+
+            long targetsAt = targetsAt(V);
+            long weightsAt = align(targetsAt + (long) arcs * Integer.BYTES);
+            boolean weighted = (flags & WEIGHTED) != 0;
+            long length = weighted ? weightsAt + (long) arcs * Double.BYTES : targetsAt + (long) arcs * Integer.BYTES;
+            if (channel.size() != length)
+                throw new IOException(file + " is " + channel.size() + " bytes, expected " + length);
+
+            IntBuffer[] offsets = mapInts(channel, HEADER, V + 1L);
+            if (offsets[0].get(0) != 0 || offsets[V >>> INT_SHIFT].get(V & INT_MASK) != arcs)
+                throw new IOException(file + " has corrupt offsets");
+
+            return new MappedCsrGraph(V, arcs, offsets, mapInts(channel, targetsAt, arcs),
+                    weighted ? mapDoubles(channel, weightsAt, arcs) : null, (flags & UNDIRECTED) != 0);
+        }
+    }
+
+    /**
+     * Write a graph in the format {@link #load(File)} maps, through a direct buffer that is flushed as it fills up.
+     */
+    static void write(CsrGraph graph, File file) throws IOException {
+        int V = graph.V();
+        int arcs = graph.arcs();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(0);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC);
+            buffer.putInt((graph.isUndirected() ? UNDIRECTED : 0) | (graph.isWeighted() ? WEIGHTED : 0));
+            buffer.putInt(V);
+            buffer.putInt(arcs);
+
+            for (int v = 0; v <= V; v++) {
+                flushIfFull(channel, buffer);
+                buffer.putInt(v < V ? graph.begin(v) : arcs);
+            }
+            if (targetsAt(V) != HEADER + (V + 1L) * Integer.BYTES)
+                buffer.putInt(0);
+
+            for (int e = 0; e < arcs; e++) {
+                flushIfFull(channel, buffer);
+                buffer.putInt(graph.target(e));
+            }
+
+            if (graph.isWeighted()) {
+                if ((arcs & 1) != 0)
+                    buffer.putInt(0);
+                for (int e = 0; e < arcs; e++) {
+                    flushIfFull(channel, buffer);
+                    buffer.putDouble(graph.weight(e));
+                }
+            }
+
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    @Override
+    public int V() {
+        return V;
+    }
+
+    @Override
+    public int arcs() {
+        return arcs;
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return weights != null;
+    }
+
+    @Override
+    public int begin(int v) {
+        return offsets[v >>> INT_SHIFT].get(v & INT_MASK);
+    }
+
+    @Override
+    public int end(int v) {
+        return begin(v + 1);
+    }
+
+    @Override
+    public int target(int e) {
+        return targets[e >>> INT_SHIFT].get(e & INT_MASK);
+    }
+
+    @Override
+    public double weight(int e) {
+        if (weights == null)
+            throw new IllegalStateException("graph is not weighted");
+        return weights[e >>> DOUBLE_SHIFT].get(e & DOUBLE_MASK);
+    }
+
+    /**
+     * Position of the targets in the file: after the offsets, aligned so that the weights after them are too.
+     */
+    private static long targetsAt(int V) {
+        return align(HEADER + (V + 1L) * Integer.BYTES);
+    }
+
+    private static long align(long position) {
+        return (position + 7) & ~7L;
+    }
+
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() >= Double.BYTES)
+            return;
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static IntBuffer[] mapInts(FileChannel channel, long position, long count) throws IOException {
+        IntBuffer[] segments = new IntBuffer[(int) Math.max(1, (count + INT_MASK) >>> INT_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long first = (long) i << INT_SHIFT;
+            long size = Math.min(1L << INT_SHIFT, count - first) * Integer.BYTES;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + first * Integer.BYTES, size)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+        }
+        return segments;
+    }
+
+    private static DoubleBuffer[] mapDoubles(FileChannel channel, long position, long count) throws IOException {
+        DoubleBuffer[] segments = new DoubleBuffer[(int) Math.max(1, (count + DOUBLE_MASK) >>> DOUBLE_SHIFT)];
+        for (int i = 0; i < segments.length; i++) {
+            long first = (long) i << DOUBLE_SHIFT;
+            long size = Math.min(1L << DOUBLE_SHIFT, count - first) * Double.BYTES;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + first * Double.BYTES, size)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asDoubleBuffer();
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,245 @@
+package io.imulab.review.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A level synchronous breath first search that expands each level in parallel on a {@link ForkJoinPool}.
+ *
+ * The current and next frontier are bitsets with one bit per vertex, and the vertices visited so far are kept in a
+ * bitmap that threads claim vertices from with compare-and-set, so no vertex is ever queued or boxed. Each level is
+ * expanded in one of two directions, as described by Beamer, Asanovic and Patterson in "Direction-Optimizing
+ * Breadth-First Search":
+ *
+ * - top down: every frontier vertex offers itself as parent to its unvisited neighbors, and the first offer to
+ *   claim a neighbor wins. This is cheap while the frontier is small.
+ * - bottom up: every unvisited vertex looks through its inbound neighbors for one on the frontier, and stops at
+ *   the first it finds. Once the frontier holds a large share of the graph, most vertices find a parent within a few
+ *   edges, so far fewer edges are examined than top down would.
+ *
+ * The search switches to bottom up when the edges out of the frontier outnumber 1/{@value ALPHA} of the edges out of
+ * unvisited vertices, and back to top down when the frontier shrinks below 1/{@value BETA} of the vertices.
+ *
+ * The graph is searched in {@link CsrGraph} form, any other graph is converted first. Bottom up steps on a directed
+ * graph need its reverse, which is built the first time one is taken.
+ *
+ * Results are reported through {@link Path} like any other search. Every vertex gets a parent one level closer to the
+ * source, so paths are shortest paths, but when there are several, which one is found depends on thread timing.
+ */
+public class ParallelBreathFirstSearch extends DepthFirstSearch {
+
+    static final int ALPHA = 14;
+    static final int BETA = 24;
+
+    // number of bitset words a single task expands
+    private static final int GRAIN = 64;
+
+    private final CsrGraph csr;
+    private final ForkJoinPool pool;
+    private CsrGraph inbound;
+
+    private AtomicLongArray visited;
+    private AtomicLongArray frontier;
+    private AtomicLongArray next;
+
+    public ParallelBreathFirstSearch(Graph graph, int source) {
+        this(graph, source, ForkJoinPool.commonPool());
+    }
+
+    public ParallelBreathFirstSearch(Graph graph, int source, ForkJoinPool pool) {
+        super(graph, source, false);
+        this.csr = graph instanceof CsrGraph ? (CsrGraph) graph : CsrGraph.of(graph);
+        this.pool = pool;
+        traverse(source);
+    }
+
+    @Override
+    protected void traverse(int source) {
+        int words = (graph.V() + 63) >>> 6;
+        visited = new AtomicLongArray(words);
+        frontier = new AtomicLongArray(words);
+        next = new AtomicLongArray(words);
+
+        visited.set(source >>> 6, 1L << source);
+        frontier.set(source >>> 6, 1L << source);
+        marked[source] = true;
+
+        long frontierVertices = 1;
+        long frontierEdges = csr.end(source) - csr.begin(source);
+        long unexploredEdges = csr.arcs() - frontierEdges;
+        boolean topDown = true;
+
+        while (frontierVertices > 0) {
+            if (topDown && frontierEdges > unexploredEdges / ALPHA) {
+                topDown = false;
+            } else if (!topDown && frontierVertices < graph.V() / BETA) {
+                topDown = true;
+            }
+
+            if (!topDown && inbound == null) {
+                inbound = csr.reverse();
+            }
+
+            LevelTask level = topDown ? new TopDown(0, words) : new BottomUp(0, words);
+            pool.invoke(level);
+
+            frontierVertices = level.vertices;
+            frontierEdges = level.edges;
+            unexploredEdges -= level.edges;
+
+            AtomicLongArray swap = frontier;
+            frontier = next;
+            next = swap;
+            for (int i = 0; i < words; i++) {
+                next.set(i, 0L);
+            }
+        }
+    }
+
+    /**
+     * Claim vertex w as visited, true if this call is the one that claimed it.
+     */
+    private boolean claim(int w) {
+        int i = w >>> 6;
+        long bit = 1L << w;
+        long word;
+        do {
+            word = visited.get(i);
+            if ((word & bit) != 0) {
+                return false;
+            }
+        } while (!visited.compareAndSet(i, word, word | bit));
+        return true;
+    }
+
+    private void addToNext(int w) {
+        int i = w >>> 6;
+        long bit = 1L << w;
+        long word;
+        do {
+            word = next.get(i);
+        } while (!next.compareAndSet(i, word, word | bit));
+    }
+
+    /**
+     * Expands a range of bitset words of one level, splitting it in halves down to {@link #GRAIN} words. Each task
+     * counts the vertices it adds to the next frontier, and the out edges they have.
+     */
+    private abstract class LevelTask extends RecursiveAction {
+
+        final int lo;
+        final int hi;
+        long vertices;
+        long edges;
+
+        LevelTask(int lo, int hi) {
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= GRAIN) {
+                for (int i = lo; i < hi; i++) {
+                    expand(i);
+                }
+                return;
+            }
+
+            int mid = (lo + hi) >>> 1;
+            LevelTask left = split(lo, mid);
+            LevelTask right = split(mid, hi);
+            invokeAll(left, right);
+            vertices = left.vertices + right.vertices;
+            edges = left.edges + right.edges;
+        }
+
+        void found(int w) {
+            vertices++;
+            edges += csr.end(w) - csr.begin(w);
+        }
+
+        abstract LevelTask split(int lo, int hi);
+
+        abstract void expand(int word);
+    }
+
+    private class TopDown extends LevelTask {
+
+        TopDown(int lo, int hi) {
+            super(lo, hi);
+        }
+
+        @Override
+        LevelTask split(int lo, int hi) {
+            return new TopDown(lo, hi);
+        }
+
+        @Override
+        void expand(int word) {
+            long bits = frontier.get(word);
+            while (bits != 0) {
+                int v = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                for (int e = csr.begin(v), end = csr.end(v); e < end; e++) {
+                    int w = csr.target(e);
+                    if (claim(w)) {
+                        edgeTo[w] = v;
+                        marked[w] = true;
+                        addToNext(w);
+                        found(w);
+                    }
+                }
+            }
+        }
+    }
+
+    private class BottomUp extends LevelTask {
+
+        BottomUp(int lo, int hi) {
+            super(lo, hi);
+        }
+
+        @Override
+        LevelTask split(int lo, int hi) {
+            return new BottomUp(lo, hi);
+        }
+
+        // only this task touches the given word of the visited and next bitsets during a bottom up step,
+        // so the word is updated once, without compare-and-set.
+        @Override
+        void expand(int word) {
+            long visitedWord = visited.get(word);
+            long unvisited = ~visitedWord;
+            int remaining = graph.V() - (word << 6);
+            if (remaining < 64) {
+                unvisited &= (1L << remaining) - 1;
+            }
+
+            long discovered = 0L;
+            while (unvisited != 0) {
+                int bit = Long.numberOfTrailingZeros(unvisited);
+                unvisited &= unvisited - 1;
+                int v = (word << 6) + bit;
+
+                for (int e = inbound.begin(v), end = inbound.end(v); e < end; e++) {
+                    int u = inbound.target(e);
+                    if ((frontier.get(u >>> 6) & (1L << u)) != 0) {
+                        edgeTo[v] = u;
+                        marked[v] = true;
+                        discovered |= 1L << bit;
+                        found(v);
+                        break;
+                    }
+                }
+            }
+
+            if (discovered != 0) {
+                visited.set(word, visitedWord | discovered);
+                next.set(word, discovered);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.imulab.review.graph;
+
+/**
+ * Interface for the point to point shortest path problem: the shortest path from one source to one target.
+ *
+ * A search answers one query at a time, and keeps its state between queries so that it can be reused for the next one
+ * without allocating. After {@link #search(int, int)}, the search is a {@link ShortestPath} for the target of that
+ * query. Asking it about any other vertex is an {@link IllegalArgumentException}, since a point to point search stops
+ * as soon as it knows the answer for the target, and has no exact answer for most other vertices.
+ *
+ * Implementations are not thread safe, each thread needs its own.
+ */
+public interface PointToPointSearch extends ShortestPath {
+
+    /**
+     * Find the shortest path from source to target.
+     *
+     * @return the length of the shortest path, positive infinity if there is no path.
+     */
+    double search(int source, int target);
+
+    /**
+     * Whether the last query found a path to its target.
+     */
+    boolean hasPath();
+}
@@ -0,0 +1,100 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.tree.IndexMinPQ;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The per vertex state of a shortest path search over a {@link CsrGraph}, kept between searches so that a query does
+ * not allocate and initialize arrays of V entries each time.
+ *
+ * Instead of filling the distances with infinity before each search, every vertex carries the stamp of the search
+ * that last reached it, and of the one that last settled it. {@link #reset()} starts a new search by moving to the
+ * next stamp, which makes every vertex unreached at once, and clears the queue of whatever the last search left on it.
+ * A search that reaches only a small neighborhood of its source then costs in proportion to that neighborhood, not to
+ * the graph.
+ *
+ * A workspace is not thread safe, each thread needs its own.
+ */
+final class SearchWorkspace {
+
+    private final double[] distTo;
+    private final int[] edgeTo;
+    private final int[] stamp;
+    private final int[] settled;
+    private int current;
+
+    /**
+     * Queue of reached vertices that are still to be scanned.
+     */
+    final IndexMinPQ pq;
+
+    SearchWorkspace(int V) {
+        this.distTo = new double[V];
+        this.edgeTo = new int[V];
+        this.stamp = new int[V];
+        this.settled = new int[V];
+        this.current = 0;
+        this.pq = new IndexMinPQ(V);
+    }
+
+    /**
+     * Forget the last search.
+     */
+    void reset() {
+        if (++current == Integer.MAX_VALUE) {
+            // stamps wrapped around, the only time the arrays are touched in full
+            Arrays.fill(stamp, 0);
+            Arrays.fill(settled, 0);
+            current = 1;
+        }
+        pq.clear();
+    }
+
+    boolean isReached(int v) {
+        return stamp[v] == current;
+    }
+
+    /**
+     * Record that the distance to v is final, for searches that stop early and need to tell settled vertices apart
+     * from those only reached.
+     */
+    void settle(int v) {
+        settled[v] = current;
+    }
+
+    boolean isSettled(int v) {
+        return settled[v] == current;
+    }
+
+    /**
+     * The tentative distance to v, infinity if the search has not reached it.
+     */
+    double distanceTo(int v) {
+        return stamp[v] == current ? distTo[v] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Position of the edge the search reached v through, -1 for the source or a vertex not reached.
+     */
+    int edgeTo(int v) {
+        return stamp[v] == current ? edgeTo[v] : -1;
+    }
+
+    /**
+     * Record that v is reached at the given distance, through the edge at position e.
+     */
+    void reach(int v, double distance, int e) {
+        stamp[v] = current;
+        distTo[v] = distance;
+        edgeTo[v] = e;
+    }
+
+    /**
+     * The edges of the path to v, in order from the source. Edge positions are those of the graph searched.
+     */
+    List<DirectedEdge> path(CsrGraph graph, int v) {
+        return graph.path(v, this::edgeTo);
+    }
+}
@@ -2,50 +2,106 @@ package io.imulab.review.graph;
 
 import io.imulab.review.sort.TopologicalSort;
 
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
  * The algorithm that answers the question: "is the two vertices inter-connected?". Vertex v and Vertex w are considered
  * strongly connected if and only if v has a path to w and w also has a path to v.
  * <p>
  * First, compute the reversed post order of the reversed graph G' (this is done by doing a topological sort on G'). Second,
- * run DFS on the reversed post order, similar to when computing connected components.
+ * run DFS on the reversed post order, similar to when computing connected components. Both passes run on a
+ * {@link CsrGraph} copy of the graph, whose reverse is a counting sort rather than a second graph of hash sets.
+ * <p>
+ * {@link #parallel(CsrGraph)} computes the same components on a {@link ForkJoinPool}, see {@link Decomposition}.
  */
 @SuppressWarnings("Duplicates")
 public class StrongConnectedComponents {
 
-    private final DiGraph graph;
-    private final boolean[] marked;
+    // number of vertices a single task expands
+    private static final int GRAIN = 256;
+
+    // remaining vertices below which the decomposition is finished by the sequential algorithm
+    private static final int SEQUENTIAL = 1 << 12;
+
+    // rounds of coloring, and vertices colored per remaining vertex in a round, before it is finished sequentially
+    private static final int ROUNDS = 32;
+    private static final int COLORINGS = 16;
+
+    private final Graph graph;
     private final int[] scc;
     private int id;
 
     StrongConnectedComponents(DiGraph g) {
         this.graph = g;
-        this.marked = new boolean[g.V()];
         this.scc = new int[g.V()];
         this.id = 0;
 
-        Iterable<Integer> vertices = TopologicalSort.sort(this.graph.reverse());
-        for (int v : vertices) {
-            if (!marked[v]) {
-                dfs(v);
+        CsrGraph csr = CsrGraph.of(g);
+        DepthFirstTraversal traversal = new DepthFirstTraversal(csr);
+        DepthFirstTraversal.Visitor visitor = new DepthFirstTraversal.Visitor() {
+            @Override
+            public void preorder(int v, int parent) {
+                scc[v] = id;
+            }
+        };
+
+        for (int v : TopologicalSort.order(csr.reverse())) {
+            if (!traversal.isMarked(v)) {
+                traversal.traverse(v, visitor);
                 id++;
             }
         }
     }
 
-    private void dfs(int v) {
-        marked[v] = true;
-        scc[v] = id;
-        for (int w : graph.adjacent(v)) {
-            if (!marked[w]) {
-                dfs(w);
-            }
+    private StrongConnectedComponents(Graph g, int[] scc, int count) {
+        this.graph = g;
+        this.scc = scc;
+        this.id = count;
+    }
+
+    /**
+     * Compute the strongly connected components of a graph in parallel on the common pool.
+     */
+    public static StrongConnectedComponents parallel(DiGraph g) {
+        return parallel(CsrGraph.of(g));
+    }
+
+    /**
+     * Compute the strongly connected components of a graph in parallel on the common pool.
+     */
+    public static StrongConnectedComponents parallel(CsrGraph g) {
+        return parallel(g, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Compute the strongly connected components of a graph in parallel. Components are numbered densely from 0, in
+     * the order of their smallest vertex.
+     */
+    public static StrongConnectedComponents parallel(CsrGraph g, ForkJoinPool pool) {
+        int[] label = new Decomposition(g, pool).run();
+
+        int[] scc = new int[g.V()];
+        int[] idOf = new int[g.V()];
+        Arrays.fill(idOf, -1);
+        int count = 0;
+        for (int v = 0; v < g.V(); v++) {
+            int representative = label[v];
+            if (idOf[representative] == -1)
+                idOf[representative] = count++;
+            scc[v] = idOf[representative];
         }
+
+        return new StrongConnectedComponents(g, scc, count);
     }
 
     /**
      * Whether the vertices are connected in the graph.
      */
-    boolean isConnected(int v, int w) {
+    public boolean isConnected(int v, int w) {
         checkIndex(v);
         checkIndex(w);
         return scc[v] == scc[w];
@@ -54,14 +110,14 @@ public class StrongConnectedComponents {
     /**
      * The number of connected components in a graph.
      */
-    int count() {
+    public int count() {
         return id;
     }
 
     /**
      * The identifier for the component the vertex is in.
      */
-    int id(int v) {
+    public int id(int v) {
         checkIndex(v);
         return scc[v];
     }
@@ -70,4 +126,382 @@ public class StrongConnectedComponents {
         if (index < 0 || index >= graph.V())
             throw new IndexOutOfBoundsException(index + " is out of bounds");
     }
+
+    /**
+     * Parallel decomposition into strongly connected components, in the multistep fashion of Slota, Rajamanickam and
+     * Madduri. Every vertex is labeled with a representative of its component, and leaves the remaining graph once it
+     * is labeled. Each step works on the vertices still remaining, as a series of parallel expansions of a frontier.
+     * <ol>
+     * <li>Trim. A vertex without incoming edges from the remaining graph is a component on its own. Removing it can
+     * leave its successors without incoming edges, and so on, which is followed as a cascade of frontiers driven by
+     * atomic in-degree counters. The same is then done for vertices without outgoing edges, over the reverse graph.
+     * Real graphs lose most of their vertices here, and a graph without cycles all of them.</li>
+     * <li>Forward-backward. The vertices both reachable from a pivot and reaching it are its component. With the pivot
+     * of highest degree, this is the giant component a large graph usually has, found by two parallel breath first
+     * searches.</li>
+     * <li>Coloring. Every remaining vertex starts with its own number as color, and the largest color spreads forward
+     * until nothing changes. A vertex that kept its own color is the root of a component: the vertices of its color
+     * that reach it. The roots collect their components in parallel, each with a search of its own, and the next
+     * round colors whatever is left. Every round removes at least the component of the largest vertex.</li>
+     * </ol>
+     * The reverse graph is only built if trimming leaves anything behind.
+     * <p>
+     * Coloring can take a round per component, and a round as many expansions as the graph is deep: a chain of small
+     * cycles, with colors decreasing along it, is both. So once few vertices remain, or after {@link #ROUNDS} rounds,
+     * or when a round has recolored {@link #COLORINGS} times as many vertices as remain, the remaining graph is
+     * finished by the sequential algorithm, with the vertices already labeled marked as visited.
+     */
+    private static class Decomposition {
+
+        private final CsrGraph forward;
+        private CsrGraph backward;
+        private final ForkJoinPool pool;
+        private final int V;
+
+        // a vertex of the component of each vertex, -1 while it remains
+        private final int[] label;
+
+        // the color of each remaining vertex, and whether it is in the next frontier, allocated once for every round
+        private AtomicIntegerArray color;
+        private AtomicLongArray queued;
+
+        Decomposition(CsrGraph graph, ForkJoinPool pool) {
+            this.forward = graph;
+            this.pool = pool;
+            this.V = graph.V();
+            this.label = new int[V];
+            Arrays.fill(label, -1);
+        }
+
+        int[] run() {
+            int[] live = trim();
+            if (live.length == 0)
+                return label;
+
+            backward = forward.reverse();
+            live = trimBackward(live);
+            if (live.length == 0)
+                return label;
+
+            live = forwardBackward(live);
+            for (int round = 0; live.length > 0; round++) {
+                int[] rest = live.length > SEQUENTIAL && round < ROUNDS ? color(live) : null;
+                if (rest == null) {
+                    finish(live);
+                    break;
+                }
+                live = rest;
+            }
+            return label;
+        }
+
+        private int[] trim() {
+            AtomicIntegerArray in = new AtomicIntegerArray(V);
+            expand(null, V, (v, next) -> {
+                for (int e = forward.begin(v), end = forward.end(v); e < end; e++) {
+                    int w = forward.target(e);
+                    if (w != v)
+                        in.incrementAndGet(w);
+                }
+            });
+
+            int[] frontier = expand(null, V, (v, next) -> {
+                if (in.get(v) == 0)
+                    next.add(v);
+            });
+            while (frontier.length > 0) {
+                frontier = expand(frontier, frontier.length, (v, next) -> {
+                    label[v] = v;
+                    for (int e = forward.begin(v), end = forward.end(v); e < end; e++) {
+                        int w = forward.target(e);
+                        if (w != v && in.decrementAndGet(w) == 0)
+                            next.add(w);
+                    }
+                });
+            }
+
+            return remaining(null, V);
+        }
+
+        private int[] trimBackward(int[] live) {
+            // out-degrees within the remaining graph, those trimmed so far are gone for good
+            AtomicIntegerArray out = new AtomicIntegerArray(V);
+            int[] frontier = expand(live, live.length, (v, next) -> {
+                int degree = 0;
+                for (int e = forward.begin(v), end = forward.end(v); e < end; e++) {
+                    int w = forward.target(e);
+                    if (w != v && label[w] == -1)
+                        degree++;
+                }
+                out.set(v, degree);
+                if (degree == 0)
+                    next.add(v);
+            });
+
+            while (frontier.length > 0) {
+                frontier = expand(frontier, frontier.length, (v, next) -> {
+                    label[v] = v;
+                    for (int e = backward.begin(v), end = backward.end(v); e < end; e++) {
+                        int u = backward.target(e);
+                        if (u != v && label[u] == -1 && out.decrementAndGet(u) == 0)
+                            next.add(u);
+                    }
+                });
+            }
+
+            return remaining(live, live.length);
+        }
+
+        private int[] forwardBackward(int[] live) {
+            int pivot = live[0];
+            long best = -1;
+            for (int v : live) {
+                long degree = (long) forward.degree(v) * backward.degree(v);
+                if (degree > best) {
+                    best = degree;
+                    pivot = v;
+                }
+            }
+
+            AtomicLongArray reached = reach(forward, pivot);
+            AtomicLongArray reaching = reach(backward, pivot);
+            int component = pivot;
+            expand(live, live.length, (v, next) -> {
+                if (isSet(reached, v) && isSet(reaching, v))
+                    label[v] = component;
+            });
+
+            return remaining(live, live.length);
+        }
+
+        /**
+         * Parallel breath first search from the source over the remaining graph.
+         */
+        private AtomicLongArray reach(CsrGraph graph, int source) {
+            AtomicLongArray seen = new AtomicLongArray((V + 63) >>> 6);
+            set(seen, source);
+
+            int[] frontier = {source};
+            while (frontier.length > 0) {
+                frontier = expand(frontier, frontier.length, (v, next) -> {
+                    for (int e = graph.begin(v), end = graph.end(v); e < end; e++) {
+                        int w = graph.target(e);
+                        if (label[w] == -1 && set(seen, w))
+                            next.add(w);
+                    }
+                });
+            }
+            return seen;
+        }
+
+        /**
+         * A round of coloring.
+         *
+         * @return the vertices still remaining after it, or null if the colors spread too long to be worth it, which
+         * leaves every vertex remaining.
+         */
+        private int[] color(int[] live) {
+            if (color == null) {
+                color = new AtomicIntegerArray(V);
+                queued = new AtomicLongArray((V + 63) >>> 6);
+            }
+            AtomicIntegerArray color = this.color;
+            AtomicLongArray queued = this.queued;
+
+            // only remaining vertices are read, so only theirs need resetting, and the queued bits are all clear
+            expand(live, live.length, (v, next) -> color.set(v, v));
+
+            long budget = (long) COLORINGS * live.length;
+            int[] frontier = live;
+            while (frontier.length > 0) {
+                if ((budget -= frontier.length) < 0) {
+                    expand(frontier, frontier.length, (v, next) -> clear(queued, v));
+                    return null;
+                }
+                frontier = expand(frontier, frontier.length, (v, next) -> {
+                    int c = color.get(v);
+                    for (int e = forward.begin(v), end = forward.end(v); e < end; e++) {
+                        int w = forward.target(e);
+                        if (label[w] != -1)
+                            continue;
+
+                        for (int cw = color.get(w); cw < c; cw = color.get(w)) {
+                            if (color.compareAndSet(w, cw, c)) {
+                                if (set(queued, w))
+                                    next.add(w);
+                                break;
+                            }
+                        }
+                    }
+                });
+                expand(frontier, frontier.length, (v, next) -> clear(queued, v));
+            }
+
+            int[] roots = expand(live, live.length, (v, next) -> {
+                if (color.get(v) == v)
+                    next.add(v);
+            });
+            expand(roots, roots.length, (root, next) -> {
+                // no other root labels vertices of this color, a plain queue is enough
+                IntBag queue = new IntBag();
+                label[root] = root;
+                queue.add(root);
+                for (int i = 0; i < queue.size; i++) {
+                    int v = queue.items[i];
+                    for (int e = backward.begin(v), end = backward.end(v); e < end; e++) {
+                        int u = backward.target(e);
+                        if (label[u] == -1 && color.get(u) == root) {
+                            label[u] = root;
+                            queue.add(u);
+                        }
+                    }
+                }
+            });
+
+            return remaining(live, live.length);
+        }
+
+        /**
+         * Label the remaining vertices in one thread, the way the sequential constructor does, on the subgraph left:
+         * the vertices labeled already start out marked.
+         */
+        private void finish(int[] live) {
+            boolean[] marked = new boolean[V];
+            for (int v = 0; v < V; v++) {
+                marked[v] = label[v] != -1;
+            }
+            boolean[] reached = marked.clone();
+
+            int[] order = new int[live.length];
+            DepthFirstTraversal reverse = new DepthFirstTraversal(backward, marked);
+            DepthFirstTraversal.Visitor postorder = new DepthFirstTraversal.Visitor() {
+                private int next = order.length;
+
+                @Override
+                public void postorder(int v) {
+                    order[--next] = v;
+                }
+            };
+            for (int v : live) {
+                reverse.traverse(v, postorder);
+            }
+
+            DepthFirstTraversal traversal = new DepthFirstTraversal(forward, reached);
+            DepthFirstTraversal.Visitor labeling = new DepthFirstTraversal.Visitor() {
+                @Override
+                public void preorder(int v, int parent) {
+                    label[v] = parent == -1 ? v : label[parent];
+                }
+            };
+            for (int v : order) {
+                traversal.traverse(v, labeling);
+            }
+        }
+
+        /**
+         * The vertices among the first size of the given ones, or among all vertices if null, that are not labeled.
+         */
+        private int[] remaining(int[] vertices, int size) {
+            return expand(vertices, size, (v, next) -> {
+                if (label[v] == -1)
+                    next.add(v);
+            });
+        }
+
+        /**
+         * Apply the expander to the first size vertices of the frontier, or to the vertices 0 to size - 1 if it is
+         * null, in parallel.
+         *
+         * @return the vertices the expander added, in no particular order.
+         */
+        private int[] expand(int[] frontier, int size, Expander expander) {
+            ExpandTask task = new ExpandTask(frontier, 0, size, expander);
+            pool.invoke(task);
+
+            int[] next = new int[task.size()];
+            task.copyTo(next, 0);
+            return next;
+        }
+    }
+
+    private interface Expander {
+        void expand(int v, IntBag next);
+    }
+
+    /**
+     * Expands a range of a frontier, and collects what the expansion adds in a bag of its own.
+     */
+    private static class ExpandTask extends RecursiveAction {
+
+        private final int[] frontier;
+        private final int lo;
+        private final int hi;
+        private final Expander expander;
+        private ExpandTask left;
+        private ExpandTask right;
+        private IntBag next;
+
+        ExpandTask(int[] frontier, int lo, int hi, Expander expander) {
+            this.frontier = frontier;
+            this.lo = lo;
+            this.hi = hi;
+            this.expander = expander;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                left = new ExpandTask(frontier, lo, mid, expander);
+                right = new ExpandTask(frontier, mid, hi, expander);
+                invokeAll(left, right);
+                return;
+            }
+
+            next = new IntBag();
+            for (int i = lo; i < hi; i++) {
+                expander.expand(frontier == null ? i : frontier[i], next);
+            }
+        }
+
+        int size() {
+            return next != null ? next.size : left.size() + right.size();
+        }
+
+        int copyTo(int[] into, int at) {
+            if (next != null) {
+                System.arraycopy(next.items, 0, into, at, next.size);
+                return at + next.size;
+            }
+            return right.copyTo(into, left.copyTo(into, at));
+        }
+    }
+
+    private static boolean isSet(AtomicLongArray bits, int v) {
+        return (bits.get(v >>> 6) & (1L << v)) != 0;
+    }
+
+    /**
+     * Set the bit of v.
+     *
+     * @return whether this call set it, rather than finding it set already.
+     */
+    private static boolean set(AtomicLongArray bits, int v) {
+        int word = v >>> 6;
+        long mask = 1L << v;
+        for (long current = bits.get(word); (current & mask) == 0; current = bits.get(word)) {
+            if (bits.compareAndSet(word, current, current | mask))
+                return true;
+        }
+        return false;
+    }
+
+    private static void clear(AtomicLongArray bits, int v) {
+        int word = v >>> 6;
+        long mask = 1L << v;
+        for (long current = bits.get(word); (current & mask) != 0; current = bits.get(word)) {
+            if (bits.compareAndSet(word, current, current & ~mask))
+                return;
+        }
+    }
 }
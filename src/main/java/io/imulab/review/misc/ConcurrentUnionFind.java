@@ -0,0 +1,109 @@
+package io.imulab.review.misc;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A union find that any number of threads can use at the same time, without locks.
+ *
+ * The parent links live in an {@link AtomicIntegerArray}. Two roots are joined with a single compare-and-set, which
+ * only succeeds while the linked root is still a root, so a union that loses a race simply looks up the new roots and
+ * tries again. Roots are linked by index, the larger index under the smaller, instead of by rank: the order is total,
+ * so concurrent unions can never form a cycle, and no rank has to be kept consistent with the links.
+ *
+ * Find shortens the path it walks by path splitting: every element on the path is pointed at its grandparent. The
+ * update is a compare-and-set that is allowed to fail, since another thread has only made the same path shorter, so
+ * find never retries and never waits on another thread.
+ *
+ * The root of a set is always its smallest element.
+ */
+public class ConcurrentUnionFind {
+
+    private final AtomicIntegerArray parent;
+
+    /**
+     * Number of successful unions. Every one of them merges two sets, so the number of sets is n minus this.
+     */
+    private final LongAdder unions;
+
+    public ConcurrentUnionFind(int n) {
+        this.parent = new AtomicIntegerArray(n);
+        this.unions = new LongAdder();
+        for (int i = 0; i < n; i++) {
+            this.parent.set(i, i);
+        }
+    }
+
+    public int find(int p) {
+        checkIndex(p);
+
+        while (true) {
+            int u = parent.get(p);
+            if (u == p) {
+                return p;
+            }
+            int w = parent.get(u);
+            if (u != w) {
+                // path splitting, losing the race to another thread is fine
+                parent.compareAndSet(p, u, w);
+            }
+            p = u;
+        }
+    }
+
+    /**
+     * Number of distinct sets. Only exact when no union is in progress.
+     */
+    public int count() {
+        return parent.length() - unions.intValue();
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    public boolean connected(int p, int q) {
+        while (true) {
+            p = find(p);
+            q = find(q);
+            if (p == q) {
+                return true;
+            }
+            // p was a root when found, if it still is, the two were not connected at that moment
+            if (parent.get(p) == p) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Merge the sets of p and q.
+     *
+     * @return true if this call merged them, false if they already were in the same set.
+     */
+    public boolean union(int p, int q) {
+        while (true) {
+            p = find(p);
+            q = find(q);
+            if (p == q) {
+                return false;
+            }
+
+            // link the larger root under the smaller
+            if (p > q) {
+                int t = p;
+                p = q;
+                q = t;
+            }
+            if (parent.compareAndSet(q, q, p)) {
+                unions.increment();
+                return true;
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= parent.length())
+            throw new IndexOutOfBoundsException(index + " is out of bounds.");
+    }
+}
@@ -77,7 +77,7 @@ public class UnionFind {
     }
 
     private void checkIndex(int index) {
-        if (index < 0 || index >= count)
+        if (index < 0 || index >= parent.length)
             throw new IndexOutOfBoundsException(index + " is out of bounds.");
     }
 }
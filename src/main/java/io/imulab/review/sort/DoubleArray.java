@@ -0,0 +1,57 @@
+package io.imulab.review.sort;
+
+import java.util.Arrays;
+
+/**
+ * An {@link DoubleSortable} backed by a plain {@code double[]}. Boundaries are checked by the array access itself,
+ * which throws {@link ArrayIndexOutOfBoundsException} (an {@link IndexOutOfBoundsException}).
+ */
+public class DoubleArray implements DoubleSortable {
+
+    private final double[] items;
+
+    public DoubleArray(double[] items) {
+        this.items = items;
+    }
+
+    public double[] getItems() {
+        return items;
+    }
+
+    @Override
+    public int len() {
+        return items.length;
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        double temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
+
+    @Override
+    public boolean less(int i, int j) {
+        return Double.compare(items[i], items[j]) < 0;
+    }
+
+    @Override
+    public boolean greater(int i, int j) {
+        return Double.compare(items[i], items[j]) > 0;
+    }
+
+    @Override
+    public void assign(double item, int index) {
+        items[index] = item;
+    }
+
+    @Override
+    public double get(int index) {
+        return items[index];
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(items);
+    }
+}
@@ -10,13 +10,19 @@ import io.imulab.review.tree.Heap;
  *
  * In the second stage, we remove the top element and put it into place to form the final sorted target.
  *
- * This implementation simplifies this process by inserting directly to a separate heap so stage one is not necessary.
- * It then copies every top element back so maintaining a capacity cursor to limit the demotion process during the top
- * removal operation is not necessary.
+ * The {@code sort} methods simplify this process by inserting directly to a separate heap so stage one is not
+ * necessary. They then copy every top element back so maintaining a capacity cursor to limit the demotion process
+ * during the top removal operation is not necessary.
+ *
+ * The {@code sortInPlace} methods run both stages on the target itself: the target is rearranged as a heap bottom up,
+ * and each removed top is swapped to the back of the shrinking heap. No item is copied out of the target.
  *
  * Time Complexity O(2NlgN), because each stage takes O(NlgN); in the best case (already sorted), the first stage is a
- * no-op, hence the best time complexity becomes O(NlgN)
- * Space Complexity, normally O(N) because it can be performed in place; this implementation does not reflect that.
+ * no-op, hence the best time complexity becomes O(NlgN). Building the heap bottom up in place only takes O(N).
+ * Space Complexity O(N); {@code sort} needs another N references for the separate heap, {@code sortInPlace} does not.
+ *
+ * The overloads for {@link IntSortable}, {@link LongSortable} and {@link DoubleSortable} cannot use a {@link Heap}
+ * of boxed items, so they always run in place.
  */
 public class HeapSort {
 
@@ -25,15 +31,20 @@ public class HeapSort {
     }
 
     public static <T extends Comparable<T>> void sort(Sortable<T> target, Sortable.Direction direction) {
-        System.out.println("Before: " + target);
+        sort(target, direction, SortListener.SILENT);
+    }
+
+    public static <T extends Comparable<T>> void sort(Sortable<T> target, Sortable.Direction direction,
+                                                      SortListener listener) {
+        listener.beforeSort(target);
 
         Heap<T> heap = null;
         switch (direction) {
             case ASC:
-                heap = Heap.minHeap();
+                heap = new Heap<>(Heap.Type.MIN, target.len());
                 break;
             case DESC:
-                heap = Heap.maxHeap();
+                heap = new Heap<>(Heap.Type.MAX, target.len());
                 break;
         }
 
@@ -45,6 +56,171 @@ public class HeapSort {
             target.assign(heap.removeTop(), i);
         }
 
-        System.out.println("After: " + target);
+        listener.afterSort(target);
+    }
+
+    public static void sortInPlace(Sortable target) {
+        sortInPlace(target, Sortable.Direction.ASC);
+    }
+
+    public static void sortInPlace(Sortable target, Sortable.Direction direction) {
+        sortInPlace(target, direction, SortListener.SILENT);
+    }
+
+    public static void sortInPlace(Sortable target, Sortable.Direction direction, SortListener listener) {
+        listener.beforeSort(target);
+
+        sort(target, 0, target.len() - 1, direction);
+
+        listener.afterSort(target);
+    }
+
+    /**
+     * Sort the range [lowInclusive, highInclusive] of the target in place, leaving the rest untouched.
+     */
+    static void sort(Sortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        int n = highInclusive - lowInclusive + 1;
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            demote(target, lowInclusive, k, n, direction);
+        }
+
+        while (n > 1) {
+            target.swap(lowInclusive, lowInclusive + --n);
+            demote(target, lowInclusive, 0, n, direction);
+        }
+    }
+
+    /**
+     * Demote the item at heap index k within a heap of n items starting at the offset. The top of the heap is the item
+     * that goes last in the given direction.
+     */
+    private static void demote(Sortable target, int offset, int k, int n, Sortable.Direction direction) {
+        while (2 * k + 1 < n) {
+            int child = 2 * k + 1;
+            if (child + 1 < n && before(target, offset + child, offset + child + 1, direction)) {
+                child++;
+            }
+
+            if (!before(target, offset + k, offset + child, direction))
+                break;
+
+            target.swap(offset + k, offset + child);
+            k = child;
+        }
+    }
+
+    private static boolean before(Sortable target, int i, int j, Sortable.Direction direction) {
+        return direction == Sortable.Direction.ASC ? target.less(i, j) : target.greater(i, j);
+    }
+
+    public static void sort(IntSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(IntSortable target, Sortable.Direction direction) {
+        int n = target.len();
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            demote(target, k, n, direction);
+        }
+
+        while (n > 1) {
+            target.swap(0, --n);
+            demote(target, 0, n, direction);
+        }
+    }
+
+    /**
+     * Demote the item at index k within a heap of the first n items. The top of the heap is the item that goes last
+     * in the given direction.
+     */
+    private static void demote(IntSortable target, int k, int n, Sortable.Direction direction) {
+        int item = target.get(k);
+        while (2 * k + 1 < n) {
+            int child = 2 * k + 1;
+            if (child + 1 < n && PrimitiveOrder.before(target.get(child), target.get(child + 1), direction)) {
+                child++;
+            }
+
+            if (!PrimitiveOrder.before(item, target.get(child), direction))
+                break;
+
+            target.assign(target.get(child), k);
+            k = child;
+        }
+        target.assign(item, k);
+    }
+
+    public static void sort(LongSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(LongSortable target, Sortable.Direction direction) {
+        int n = target.len();
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            demote(target, k, n, direction);
+        }
+
+        while (n > 1) {
+            target.swap(0, --n);
+            demote(target, 0, n, direction);
+        }
+    }
+
+    /**
+     * Demote the item at index k within a heap of the first n items. The top of the heap is the item that goes last
+     * in the given direction.
+     */
+    private static void demote(LongSortable target, int k, int n, Sortable.Direction direction) {
+        long item = target.get(k);
+        while (2 * k + 1 < n) {
+            int child = 2 * k + 1;
+            if (child + 1 < n && PrimitiveOrder.before(target.get(child), target.get(child + 1), direction)) {
+                child++;
+            }
+
+            if (!PrimitiveOrder.before(item, target.get(child), direction))
+                break;
+
+            target.assign(target.get(child), k);
+            k = child;
+        }
+        target.assign(item, k);
+    }
+
+    public static void sort(DoubleSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(DoubleSortable target, Sortable.Direction direction) {
+        int n = target.len();
+        for (int k = n / 2 - 1; k >= 0; k--) {
+            demote(target, k, n, direction);
+        }
+
+        while (n > 1) {
+            target.swap(0, --n);
+            demote(target, 0, n, direction);
+        }
+    }
+
+    /**
+     * Demote the item at index k within a heap of the first n items. The top of the heap is the item that goes last
+     * in the given direction.
+     */
+    private static void demote(DoubleSortable target, int k, int n, Sortable.Direction direction) {
+        double item = target.get(k);
+        while (2 * k + 1 < n) {
+            int child = 2 * k + 1;
+            if (child + 1 < n && PrimitiveOrder.before(target.get(child), target.get(child + 1), direction)) {
+                child++;
+            }
+
+            if (!PrimitiveOrder.before(item, target.get(child), direction))
+                break;
+
+            target.assign(target.get(child), k);
+            k = child;
+        }
+        target.assign(item, k);
     }
 }
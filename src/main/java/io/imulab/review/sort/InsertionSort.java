@@ -5,9 +5,10 @@ package io.imulab.review.sort;
  * the item at this moving index 'p'. Keep swapping 'p' with the item before it 'q' if 'q' is greater than 'p' (in the
  * case of ascending order) or 'q' is less than 'p' (in the case of descending order).
  *
- * What we get is a target, in each iteration, items before 'p' is sorted.
+ * What we get is a target, in each iteration, items before 'p' is sorted. Hence 'p' can stop moving as soon as 'q'
+ * is in order with it.
  *
- * Time complexity: O(N^2)
+ * Time complexity: O(N^2), O(N) when the target is already sorted
  * Space complexity: O(N)
  */
 public class InsertionSort {
@@ -17,25 +18,110 @@ public class InsertionSort {
     }
 
     public static void sort(Sortable target, Sortable.Direction direction) {
-        System.out.println("Before: " + target.toString());
+        sort(target, direction, SortListener.SILENT);
+    }
+
+    public static void sort(Sortable target, Sortable.Direction direction, SortListener listener) {
+        listener.beforeSort(target);
+
+        sort(target, 0, target.len() - 1, direction);
+
+        listener.afterSort(target);
+    }
 
-        for (int i = 0; i < target.len(); i++) {
-            for (int j = i; j > 0; j--) {
+    /**
+     * Sort the range [lowInclusive, highInclusive] of the target, leaving the rest untouched.
+     */
+    static void sort(Sortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        for (int i = lowInclusive + 1; i <= highInclusive; i++) {
+            for (int j = i; j > lowInclusive; j--) {
+                boolean outOfOrder = false;
                 switch (direction) {
                     case ASC:
-                        if (target.greater(j - 1, j)) {
-                            target.swap(j - 1 , j);
-                        }
+                        outOfOrder = target.greater(j - 1, j);
                         break;
                     case DESC:
-                        if (target.less(j - 1, j)) {
-                            target.swap(j - 1 , j);
-                        }
+                        outOfOrder = target.less(j - 1, j);
                         break;
                 }
+
+                if (!outOfOrder)
+                    break;
+
+                target.swap(j - 1, j);
             }
         }
+    }
+
+    public static void sort(IntSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(IntSortable target, Sortable.Direction direction) {
+        sort(target, 0, target.len() - 1, direction);
+    }
+
+    /**
+     * Sort the range [lowInclusive, highInclusive] of a primitive target. Rather than being swapped down, the item is
+     * held aside while the items before it are shifted up by one.
+     */
+    static void sort(IntSortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        for (int i = lowInclusive + 1; i <= highInclusive; i++) {
+            int item = target.get(i);
+            int j = i;
+            while (j > lowInclusive && PrimitiveOrder.before(item, target.get(j - 1), direction)) {
+                target.assign(target.get(j - 1), j);
+                j--;
+            }
+            target.assign(item, j);
+        }
+    }
 
-        System.out.println("After: " + target.toString());
+    public static void sort(LongSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(LongSortable target, Sortable.Direction direction) {
+        sort(target, 0, target.len() - 1, direction);
+    }
+
+    /**
+     * Sort the range [lowInclusive, highInclusive] of a primitive target. Rather than being swapped down, the item is
+     * held aside while the items before it are shifted up by one.
+     */
+    static void sort(LongSortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        for (int i = lowInclusive + 1; i <= highInclusive; i++) {
+            long item = target.get(i);
+            int j = i;
+            while (j > lowInclusive && PrimitiveOrder.before(item, target.get(j - 1), direction)) {
+                target.assign(target.get(j - 1), j);
+                j--;
+            }
+            target.assign(item, j);
+        }
+    }
+
+    public static void sort(DoubleSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(DoubleSortable target, Sortable.Direction direction) {
+        sort(target, 0, target.len() - 1, direction);
+    }
+
+    /**
+     * Sort the range [lowInclusive, highInclusive] of a primitive target. Rather than being swapped down, the item is
+     * held aside while the items before it are shifted up by one.
+     */
+    static void sort(DoubleSortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        for (int i = lowInclusive + 1; i <= highInclusive; i++) {
+            double item = target.get(i);
+            int j = i;
+            while (j > lowInclusive && PrimitiveOrder.before(item, target.get(j - 1), direction)) {
+                target.assign(target.get(j - 1), j);
+                j--;
+            }
+            target.assign(item, j);
+        }
     }
 }
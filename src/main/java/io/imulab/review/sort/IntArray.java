@@ -0,0 +1,57 @@
+package io.imulab.review.sort;
+
+import java.util.Arrays;
+
+/**
+ * An {@link IntSortable} backed by a plain {@code int[]}. Boundaries are checked by the array access itself,
+ * which throws {@link ArrayIndexOutOfBoundsException} (an {@link IndexOutOfBoundsException}).
+ */
+public class IntArray implements IntSortable {
+
+    private final int[] items;
+
+    public IntArray(int[] items) {
+        this.items = items;
+    }
+
+    public int[] getItems() {
+        return items;
+    }
+
+    @Override
+    public int len() {
+        return items.length;
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        int temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
+
+    @Override
+    public boolean less(int i, int j) {
+        return items[i] < items[j];
+    }
+
+    @Override
+    public boolean greater(int i, int j) {
+        return items[i] > items[j];
+    }
+
+    @Override
+    public void assign(int item, int index) {
+        items[index] = item;
+    }
+
+    @Override
+    public int get(int index) {
+        return items[index];
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(items);
+    }
+}
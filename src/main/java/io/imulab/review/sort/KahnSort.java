@@ -0,0 +1,398 @@
+package io.imulab.review.sort;
+
+import io.imulab.review.graph.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Kahn's Algorithm for topological sort: repeatedly take the vertices no remaining vertex depends on.
+ *
+ * Where {@link TopologicalSort} produces a single order, this one groups the vertices into levels. Level 0 holds the
+ * vertices without incoming edges, and level i + 1 the vertices whose last dependency is in level i. The vertices of a
+ * level do not depend on each other, so a scheduler can run each level in parallel, and the number of levels is the
+ * length of the critical path. Levels are released in parallel on a {@link ForkJoinPool}: the edges out of a level
+ * decrement atomic in-degree counters, and a vertex whose counter drops to zero joins the next level. Within a level,
+ * vertices are kept in ascending order, so the result does not depend on how the work was split.
+ *
+ * A vertex on a cycle never sees its counter drop to zero, and neither does anything downstream of it. Those vertices
+ * are left without a level, and {@link #cycle()} returns one of the cycles holding them up.
+ *
+ * {@link #schedule(Graph, IntConsumer, Executor)} streams the same process to an {@link Executor} instead: each vertex
+ * is run as soon as its last dependency has completed, without waiting for the rest of its level.
+ *
+ * Time complexity: O(V + E) work
+ * Space complexity: O(V)
+ */
+public class KahnSort {
+
+    // number of vertices a single task releases the edges of
+    private static final int GRAIN = 256;
+
+    // the vertices with a level, level by level
+    private final int[] order;
+    private final int[] levelStart;
+    private final int levels;
+    private final int[] levelOf;
+    private final int[] cycle;
+
+    public KahnSort(Graph graph) {
+        this(graph, ForkJoinPool.commonPool());
+    }
+
+    public KahnSort(Graph graph, ForkJoinPool pool) {
+        int V = graph.V();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(V);
+        pool.invoke(new ReleaseTask(graph, inDegree, null, 0, V));
+
+        this.order = new int[V];
+        this.levelOf = new int[V];
+        Arrays.fill(levelOf, -1);
+
+        int[] starts = new int[16];
+        int size = 0, level = 0;
+        for (int v = 0; v < V; v++) {
+            if (inDegree.get(v) == 0)
+                order[size++] = v;
+        }
+
+        int start = 0;
+        while (start < size) {
+            if (level + 1 == starts.length)
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            starts[level] = start;
+
+            Arrays.sort(order, start, size);
+            for (int i = start; i < size; i++) {
+                levelOf[order[i]] = level;
+            }
+
+            ReleaseTask task = new ReleaseTask(graph, inDegree, order, start, size);
+            pool.invoke(task);
+            start = size;
+            size = task.copyTo(order, size);
+            level++;
+        }
+        starts[level] = size;
+
+        this.levels = level;
+        this.levelStart = Arrays.copyOf(starts, level + 1);
+        this.cycle = size < V ? findCycle(graph, inDegree) : null;
+    }
+
+    /**
+     * Whether a cycle kept some vertices from being sorted.
+     */
+    public boolean hasCycle() {
+        return cycle != null;
+    }
+
+    /**
+     * The vertices of a cycle, each with an edge to the next and the last with an edge to the first, or null if the
+     * graph is acyclic.
+     */
+    public int[] cycle() {
+        return cycle == null ? null : cycle.clone();
+    }
+
+    /**
+     * Number of levels.
+     */
+    public int levels() {
+        return levels;
+    }
+
+    /**
+     * The vertices of a level, in ascending order.
+     */
+    public int[] level(int i) {
+        if (i < 0 || i >= levels)
+            throw new IndexOutOfBoundsException(i + " is out of bounds");
+        return Arrays.copyOfRange(order, levelStart[i], levelStart[i + 1]);
+    }
+
+    /**
+     * The level of a vertex, -1 if a cycle kept it from being sorted.
+     */
+    public int levelOf(int v) {
+        if (v < 0 || v >= levelOf.length)
+            throw new IndexOutOfBoundsException(v + " is out of bounds");
+        return levelOf[v];
+    }
+
+    /**
+     * Every sorted vertex, level by level. This is a topological order of the graph if it is acyclic.
+     */
+    public int[] order() {
+        return Arrays.copyOf(order, levelStart[levels]);
+    }
+
+    /**
+     * Run a task for every vertex on the executor, each as soon as the tasks of the vertices it has edges from have
+     * completed. Any executor works: a thread pool, a {@link ForkJoinPool}, from Java 21 on a virtual thread per task
+     * executor for tasks that block, and also one that runs tasks on the calling thread, like {@code Runnable::run} or
+     * a pool saturated under {@link java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy}. Vertices that become
+     * ready while a thread is handing a vertex to the executor wait on a stack of that thread's, and are handed over
+     * in a loop once the executor returns, so a long chain does not nest a call per vertex.
+     *
+     * The returned future completes once every task has run. It completes exceptionally, and no further tasks are
+     * started, with the exception of the first task that throws, the rejection of an executor that refuses a task, or
+     * an {@link IllegalStateException} naming a cycle once only vertices held up by a cycle are left.
+     */
+    public static CompletableFuture<Void> schedule(Graph graph, IntConsumer task, Executor executor) {
+        int V = graph.V();
+        AtomicIntegerArray inDegree = new AtomicIntegerArray(V);
+        for (int v = 0; v < V; v++) {
+            graph.forEachAdjacent(v, w -> inDegree.incrementAndGet(w));
+        }
+
+        Schedule schedule = new Schedule(graph, task, executor, inDegree);
+        if (V == 0) {
+            schedule.done.complete(null);
+            return schedule.done;
+        }
+
+        // collect the sources before submitting any, as running tasks bring more in-degrees down to zero
+        int[] sources = new int[V];
+        int count = 0;
+        for (int v = 0; v < V; v++) {
+            if (inDegree.get(v) == 0)
+                sources[count++] = v;
+        }
+
+        // hold the count up while the sources are submitted, so that running out of work is only noticed at the end
+        schedule.running.incrementAndGet();
+        for (int i = 0; i < count && !schedule.done.isDone(); i++) {
+            schedule.submit(sources[i]);
+        }
+        schedule.finish();
+
+        return schedule.done;
+    }
+
+    /**
+     * The state of a streaming run.
+     */
+    private static class Schedule {
+
+        final Graph graph;
+        final IntConsumer task;
+        final Executor executor;
+        final AtomicIntegerArray inDegree;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        // vertices whose task has not completed yet
+        final AtomicInteger remaining;
+
+        // vertices submitted and not finished releasing their successors
+        final AtomicInteger running = new AtomicInteger();
+
+        // the vertices waiting for the executor, on a thread that is inside it already
+        final ThreadLocal<Pending> pending = new ThreadLocal<>();
+
+        Schedule(Graph graph, IntConsumer task, Executor executor, AtomicIntegerArray inDegree) {
+            this.graph = graph;
+            this.task = task;
+            this.executor = executor;
+            this.inDegree = inDegree;
+            this.remaining = new AtomicInteger(graph.V());
+        }
+
+        void submit(int v) {
+            running.incrementAndGet();
+
+            // an executor running the task on this thread brought us here, leave it to the loop below
+            Pending waiting = pending.get();
+            if (waiting != null) {
+                waiting.push(v);
+                return;
+            }
+
+            waiting = new Pending();
+            pending.set(waiting);
+            try {
+                execute(v);
+                while (waiting.size > 0) {
+                    execute(waiting.pop());
+                }
+            } finally {
+                pending.remove();
+            }
+        }
+
+        private void execute(int v) {
+            try {
+                executor.execute(() -> run(v));
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+                running.decrementAndGet();
+            }
+        }
+
+        void run(int v) {
+            try {
+                if (done.isDone())
+                    return;
+
+                try {
+                    task.accept(v);
+                } catch (Throwable t) {
+                    done.completeExceptionally(t);
+                    return;
+                }
+
+                graph.forEachAdjacent(v, w -> {
+                    if (inDegree.decrementAndGet(w) == 0 && !done.isDone())
+                        submit(w);
+                });
+                if (remaining.decrementAndGet() == 0)
+                    done.complete(null);
+            } finally {
+                finish();
+            }
+        }
+
+        /**
+         * Account for a finished submission. The last one out with vertices left means a cycle holds them up.
+         */
+        void finish() {
+            if (running.decrementAndGet() == 0 && remaining.get() > 0 && !done.isDone()) {
+                int[] cycle = findCycle(graph, inDegree);
+                done.completeExceptionally(new IllegalStateException("graph has a cycle " + Arrays.toString(cycle)));
+            }
+        }
+    }
+
+    private static class Pending {
+
+        private int[] items = new int[16];
+        private int size;
+
+        void push(int v) {
+            if (size == items.length)
+                items = Arrays.copyOf(items, size * 2);
+            items[size++] = v;
+        }
+
+        int pop() {
+            return items[--size];
+        }
+    }
+
+    /**
+     * Find a cycle among the vertices whose in-degree did not drop to zero. Every such vertex has an edge from another
+     * one, so following those edges backward from any of them must come around to a vertex seen before.
+     */
+    private static int[] findCycle(Graph graph, AtomicIntegerArray inDegree) {
+        int V = graph.V();
+        int[] from = new int[V];
+        Arrays.fill(from, -1);
+        for (int v = 0; v < V; v++) {
+            if (inDegree.get(v) == 0)
+                continue;
+
+            int u = v;
+            graph.forEachAdjacent(v, w -> {
+                if (inDegree.get(w) > 0)
+                    from[w] = u;
+            });
+        }
+
+        int start = 0;
+        while (inDegree.get(start) == 0) {
+            start++;
+        }
+
+        // walk backward until a vertex comes around, the step it was first seen at tells where the cycle starts
+        int[] seenAt = new int[V];
+        Arrays.fill(seenAt, -1);
+        int steps = 0;
+        int v = start;
+        while (seenAt[v] == -1) {
+            seenAt[v] = steps++;
+            v = from[v];
+        }
+
+        int[] cycle = new int[steps - seenAt[v]];
+        for (int i = cycle.length - 1; i >= 0; i--) {
+            cycle[i] = v;
+            v = from[v];
+        }
+        return cycle;
+    }
+
+    /**
+     * Visits the edges out of a range of vertices. Without a frontier, the range is of vertex numbers, and each edge
+     * counts toward the in-degree of its head. With one, each edge is released, and the heads whose in-degree drops
+     * to zero are collected as ready.
+     */
+    private static class ReleaseTask extends RecursiveAction {
+
+        private final Graph graph;
+        private final AtomicIntegerArray inDegree;
+        private final int[] frontier;
+        private final int lo;
+        private final int hi;
+        private ReleaseTask left;
+        private ReleaseTask right;
+        private int[] ready;
+        private int size;
+
+        ReleaseTask(Graph graph, AtomicIntegerArray inDegree, int[] frontier, int lo, int hi) {
+            this.graph = graph;
+            this.inDegree = inDegree;
+            this.frontier = frontier;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > GRAIN) {
+                int mid = (lo + hi) >>> 1;
+                left = new ReleaseTask(graph, inDegree, frontier, lo, mid);
+                right = new ReleaseTask(graph, inDegree, frontier, mid, hi);
+                invokeAll(left, right);
+                return;
+            }
+
+            if (frontier == null) {
+                for (int v = lo; v < hi; v++) {
+                    graph.forEachAdjacent(v, w -> inDegree.incrementAndGet(w));
+                }
+                return;
+            }
+
+            ready = new int[16];
+            for (int i = lo; i < hi; i++) {
+                graph.forEachAdjacent(frontier[i], w -> {
+                    if (inDegree.decrementAndGet(w) == 0) {
+                        if (size == ready.length)
+                            ready = Arrays.copyOf(ready, size * 2);
+                        ready[size++] = w;
+                    }
+                });
+            }
+        }
+
+        /**
+         * Copy the ready vertices to the array from the given position on.
+         *
+         * @return the position after the last vertex copied.
+         */
+        int copyTo(int[] into, int at) {
+            if (left != null)
+                return right.copyTo(into, left.copyTo(into, at));
+
+            if (ready != null)
+                System.arraycopy(ready, 0, into, at, size);
+            return at + size;
+        }
+    }
+}
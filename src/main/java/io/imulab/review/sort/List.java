@@ -83,21 +83,7 @@ public class List<T extends Comparable<T>> implements Sortable<T> {
 
     protected void remove(int index) {
         checkBoundary(index);
-
-        ArrayList<T> wip = new ArrayList<>();
-        ListIterator<T> itr = list.listIterator();
-        while (itr.hasNext()) {
-            if (itr.nextIndex() == index) {
-                itr.next();
-            }
-            // double check because we may have skipped one
-            if (itr.hasNext()) {
-                wip.add(itr.next());
-            }
-        }
-
-        list.clear();
-        list.addAll(wip);
+        list.remove(index);
     }
 
     protected void checkBoundary(int index) {
@@ -0,0 +1,57 @@
+package io.imulab.review.sort;
+
+import java.util.Arrays;
+
+/**
+ * An {@link LongSortable} backed by a plain {@code long[]}. Boundaries are checked by the array access itself,
+ * which throws {@link ArrayIndexOutOfBoundsException} (an {@link IndexOutOfBoundsException}).
+ */
+public class LongArray implements LongSortable {
+
+    private final long[] items;
+
+    public LongArray(long[] items) {
+        this.items = items;
+    }
+
+    public long[] getItems() {
+        return items;
+    }
+
+    @Override
+    public int len() {
+        return items.length;
+    }
+
+    @Override
+    public void swap(int i, int j) {
+        long temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
+
+    @Override
+    public boolean less(int i, int j) {
+        return items[i] < items[j];
+    }
+
+    @Override
+    public boolean greater(int i, int j) {
+        return items[i] > items[j];
+    }
+
+    @Override
+    public void assign(long item, int index) {
+        items[index] = item;
+    }
+
+    @Override
+    public long get(int index) {
+        return items[index];
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(items);
+    }
+}
@@ -0,0 +1,88 @@
+package io.imulab.review.sort;
+
+/**
+ * A {@link Sortable} counterpart for targets of primitive {@code long} items. Items are compared, swapped and
+ * assigned without boxing, which spares every comparison the indirection and virtual call of
+ * {@link Comparable#compareTo(Object)}.
+ *
+ * Indexes shall be within the boundary, or an {@link IndexOutOfBoundsException} will be thrown.
+ */
+public interface LongSortable {
+
+    /**
+     * @return the total number of items in this sortable target.
+     */
+    int len();
+
+    /**
+     * Swap the item at one index with the item at another index. If both indexes are equal, this should be a no-op.
+     *
+     * @param i first index
+     * @param j second index
+     */
+    void swap(int i, int j);
+
+    /**
+     * Check if one item at an index is less than another item at a second index.
+     *
+     * @param i first index
+     * @param j second index
+     * @return true if item at first index is less than item at second index, false otherwise.
+     */
+    boolean less(int i, int j);
+
+    /**
+     * Check if one item at an index is greater than another item at a second index.
+     *
+     * @param i first index
+     * @param j second index
+     * @return true if item at first index is greater than item at second index, false otherwise.
+     */
+    boolean greater(int i, int j);
+
+    /**
+     * Arbitrarily assign an item to a position.
+     *
+     * @param item item
+     * @param index index
+     */
+    void assign(long item, int index);
+
+    /**
+     * Get an item at an index.
+     *
+     * @param index index
+     * @return item at index
+     */
+    long get(int index);
+
+    /**
+     * Convenience method to check if this target is already sort.
+     * @return true if is sorted, false otherwise
+     */
+    default boolean isSorted(Sortable.Direction direction) {
+        for (int i = 0; i < len() - 1; i++) {
+            switch (direction) {
+                case ASC:
+                    if (greater(i, i+1)) {
+                        return false;
+                    }
+                    break;
+                case DESC:
+                    if (less(i, i+1)) {
+                        return false;
+                    }
+                    break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convenience method to check if this target is already sort in the ascending direction.
+     * @return true if is sorted, false otherwise
+     */
+    default boolean isSorted() {
+        return isSorted(Sortable.Direction.ASC);
+    }
+}
@@ -3,12 +3,15 @@ package io.imulab.review.sort;
 /**
  * Merge sort works by dividing the target into a left portion and a right portion. Assuming both portions are also
  * sorted, they can be merged together to create a also sorted target. In order to achieve such assumption, the division
- * is done recursively until the left and right is only one element each.
+ * is done recursively until the portions are small enough to be insertion sorted.
  *
- * Note the merge process requires extra space, we need to copy both portions out and then merge them back in to the
- * original target.
+ * Note the merge process requires extra space, both portions are copied out and then merged back in to the
+ * original target. See {@link Merger} on how that space is shared by all merges.
  *
- * Time complexity: O(NlgN), Merge process is O(N), Recursive process is O(lgN)
+ * The overloads for {@link IntSortable}, {@link LongSortable} and {@link DoubleSortable} merge through a primitive
+ * auxiliary array in the same fashion.
+ *
+ * Time complexity: O(NlgN), Merge process is O(N), Recursive process is O(lgN); O(N) on an already sorted target
  * Space complexity: O(N), Actually requiring O(2N), but this is still O(N)
  */
 public class MergeSort {
@@ -18,80 +21,166 @@ public class MergeSort {
     }
 
     public static void sort(Sortable target, Sortable.Direction direction) {
-        System.out.println("Before: " + target.toString());
+        sort(target, direction, SortListener.SILENT);
+    }
 
-        sort(target, 0, target.len() - 1, direction);
+    public static void sort(Sortable target, Sortable.Direction direction, SortListener listener) {
+        listener.beforeSort(target);
 
-        System.out.println("After: " + target.toString());
+        sort(new Merger(target, direction), 0, target.len() - 1);
+
+        listener.afterSort(target);
     }
 
-    private static void sort(Sortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
-        if (highInclusive <= lowInclusive)
+    static void sort(Merger merger, int lowInclusive, int highInclusive) {
+        if (highInclusive - lowInclusive < Merger.CUTOFF) {
+            merger.sortSmall(lowInclusive, highInclusive);
             return;
+        }
 
-        int mid = (lowInclusive + highInclusive) / 2;
+        int mid = (lowInclusive + highInclusive) >>> 1;
+
+        sort(merger, lowInclusive, mid);
+        sort(merger, mid + 1, highInclusive);
+
+        merger.merge(lowInclusive, mid, highInclusive);
+    }
 
-        sort(target, lowInclusive, mid, direction);
-        sort(target, mid + 1, highInclusive, direction);
+    public static void sort(IntSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
 
-        merge(target, lowInclusive, mid, highInclusive, direction);
+    public static void sort(IntSortable target, Sortable.Direction direction) {
+        sort(target, new int[target.len()], 0, target.len() - 1, direction);
     }
 
-    @SuppressWarnings({"unchecked", "Duplicates"})
-    private static void merge(Sortable target, int lowInclusive, int mid, int highInclusive, Sortable.Direction direction) {
-        assert lowInclusive <= mid && mid <= highInclusive;
+    static void sort(IntSortable target, int[] aux, int lowInclusive, int highInclusive,
+                     Sortable.Direction direction) {
+        if (highInclusive - lowInclusive < Merger.CUTOFF) {
+            InsertionSort.sort(target, lowInclusive, highInclusive, direction);
+            return;
+        }
 
-        Sortable first = target.subTarget(lowInclusive, mid + 1);
-        Sortable second = target.subTarget(mid + 1, highInclusive + 1);
+        int mid = (lowInclusive + highInclusive) >>> 1;
 
-        assert first.isSorted(direction);
-        assert second.isSorted(direction);
+        sort(target, aux, lowInclusive, mid, direction);
+        sort(target, aux, mid + 1, highInclusive, direction);
 
-        int i = 0, j = 0;
+        merge(target, aux, lowInclusive, mid, highInclusive, direction);
+    }
+
+    private static void merge(IntSortable target, int[] aux, int lowInclusive, int mid, int highInclusive,
+                              Sortable.Direction direction) {
+        if (!PrimitiveOrder.before(target.get(mid + 1), target.get(mid), direction))
+            return;
 
         for (int k = lowInclusive; k <= highInclusive; k++) {
+            aux[k] = target.get(k);
+        }
 
-            // first is exhausted, unload the remaining of the second
-            if (i >= first.len()) {
-                target.assign(second.get(j++), k);
-                continue;
+        int i = lowInclusive, j = mid + 1;
+        for (int k = lowInclusive; k <= highInclusive; k++) {
+            if (i > mid) {
+                target.assign(aux[j++], k);
+            } else if (j > highInclusive) {
+                target.assign(aux[i++], k);
+            } else if (PrimitiveOrder.before(aux[j], aux[i], direction)) {
+                target.assign(aux[j++], k);
+            } else {
+                target.assign(aux[i++], k);
             }
+        }
+    }
 
-            // second is exhausted, unload the remaining of the first
-            if (j >= second.len()) {
-                target.assign(first.get(i++), k);
-                continue;
-            }
+    public static void sort(LongSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(LongSortable target, Sortable.Direction direction) {
+        sort(target, new long[target.len()], 0, target.len() - 1, direction);
+    }
+
+    static void sort(LongSortable target, long[] aux, int lowInclusive, int highInclusive,
+                     Sortable.Direction direction) {
+        if (highInclusive - lowInclusive < Merger.CUTOFF) {
+            InsertionSort.sort(target, lowInclusive, highInclusive, direction);
+            return;
+        }
+
+        int mid = (lowInclusive + highInclusive) >>> 1;
 
-            // when ascending, add the lesser one first
-            // when descending, add the greater one first
-            switch (direction) {
-                case ASC:
-                    if (lessThan(first.get(i), second.get(j))) {
-                        target.assign(first.get(i++), k);
-                    } else {
-                        target.assign(second.get(j++), k);
-                    }
-                    break;
-
-                case DESC:
-                    if (greaterThan(first.get(i), second.get(j))) {
-                        target.assign(first.get(i++), k);
-                    } else {
-                        target.assign(second.get(j++), k);
-                    }
-                    break;
+        sort(target, aux, lowInclusive, mid, direction);
+        sort(target, aux, mid + 1, highInclusive, direction);
+
+        merge(target, aux, lowInclusive, mid, highInclusive, direction);
+    }
+
+    private static void merge(LongSortable target, long[] aux, int lowInclusive, int mid, int highInclusive,
+                              Sortable.Direction direction) {
+        if (!PrimitiveOrder.before(target.get(mid + 1), target.get(mid), direction))
+            return;
+
+        for (int k = lowInclusive; k <= highInclusive; k++) {
+            aux[k] = target.get(k);
+        }
+
+        int i = lowInclusive, j = mid + 1;
+        for (int k = lowInclusive; k <= highInclusive; k++) {
+            if (i > mid) {
+                target.assign(aux[j++], k);
+            } else if (j > highInclusive) {
+                target.assign(aux[i++], k);
+            } else if (PrimitiveOrder.before(aux[j], aux[i], direction)) {
+                target.assign(aux[j++], k);
+            } else {
+                target.assign(aux[i++], k);
             }
         }
     }
 
-    @SuppressWarnings({"unchecked", "Duplicates"})
-    private static boolean lessThan(Comparable a, Comparable b) {
-        return a.compareTo(b) < 0;
+    public static void sort(DoubleSortable target) {
+        sort(target, Sortable.Direction.ASC);
     }
 
-    @SuppressWarnings({"unchecked", "Duplicates"})
-    private static boolean greaterThan(Comparable a, Comparable b) {
-        return a.compareTo(b) > 0;
+    public static void sort(DoubleSortable target, Sortable.Direction direction) {
+        sort(target, new double[target.len()], 0, target.len() - 1, direction);
+    }
+
+    static void sort(DoubleSortable target, double[] aux, int lowInclusive, int highInclusive,
+                     Sortable.Direction direction) {
+        if (highInclusive - lowInclusive < Merger.CUTOFF) {
+            InsertionSort.sort(target, lowInclusive, highInclusive, direction);
+            return;
+        }
+
+        int mid = (lowInclusive + highInclusive) >>> 1;
+
+        sort(target, aux, lowInclusive, mid, direction);
+        sort(target, aux, mid + 1, highInclusive, direction);
+
+        merge(target, aux, lowInclusive, mid, highInclusive, direction);
+    }
+
+    private static void merge(DoubleSortable target, double[] aux, int lowInclusive, int mid, int highInclusive,
+                              Sortable.Direction direction) {
+        if (!PrimitiveOrder.before(target.get(mid + 1), target.get(mid), direction))
+            return;
+
+        for (int k = lowInclusive; k <= highInclusive; k++) {
+            aux[k] = target.get(k);
+        }
+
+        int i = lowInclusive, j = mid + 1;
+        for (int k = lowInclusive; k <= highInclusive; k++) {
+            if (i > mid) {
+                target.assign(aux[j++], k);
+            } else if (j > highInclusive) {
+                target.assign(aux[i++], k);
+            } else if (PrimitiveOrder.before(aux[j], aux[i], direction)) {
+                target.assign(aux[j++], k);
+            } else {
+                target.assign(aux[i++], k);
+            }
+        }
     }
 }
@@ -0,0 +1,97 @@
+package io.imulab.review.sort;
+
+/**
+ * The merge step shared by {@link MergeSort} and {@link BottomUpMergeSort}.
+ *
+ * A merger allocates a single auxiliary buffer as large as the target when it is created and reuses it for every
+ * merge of the sort, so the peak extra allocation of a merge sort is N references instead of a fresh copy of both
+ * halves for each of the NlgN merges.
+ *
+ * Two shortcuts are applied on top of the textbook merge:
+ * 1. when the last item of the first half is already in order with the first item of the second half, the whole
+ * range is in order and the merge is skipped, making merge sort linear on already sorted targets;
+ * 2. ranges no longer than {@link #CUTOFF} are not worth the recursion and are insertion sorted instead.
+ */
+@SuppressWarnings("unchecked")
+class Merger {
+
+    /**
+     * Ranges of this many items or fewer are insertion sorted.
+     */
+    static final int CUTOFF = 8;
+
+    private final Sortable target;
+    private final Sortable.Direction direction;
+    private final Comparable[] aux;
+
+    Merger(Sortable target, Sortable.Direction direction) {
+        this.target = target;
+        this.direction = direction;
+        this.aux = new Comparable[target.len()];
+    }
+
+    /**
+     * The auxiliary buffer, shared with {@link ParallelMergeSort} which merges through the same buffer.
+     */
+    Comparable[] buffer() {
+        return aux;
+    }
+
+    /**
+     * Sort a short range with insertion sort.
+     */
+    void sortSmall(int lowInclusive, int highInclusive) {
+        InsertionSort.sort(target, lowInclusive, highInclusive, direction);
+    }
+
+    /**
+     * Merge the sorted range [lowInclusive, mid] with the sorted range [mid + 1, highInclusive]. Items from the first
+     * range win ties, so the merge is stable.
+     */
+    void merge(int lowInclusive, int mid, int highInclusive) {
+        assert lowInclusive <= mid && mid < highInclusive;
+
+        // the two ranges are already in order as a whole
+        if (!outOfOrder(mid, mid + 1))
+            return;
+
+        for (int k = lowInclusive; k <= highInclusive; k++) {
+            aux[k] = target.get(k);
+        }
+
+        int i = lowInclusive, j = mid + 1;
+        for (int k = lowInclusive; k <= highInclusive; k++) {
+            if (i > mid) {
+                target.assign(aux[j++], k);
+            } else if (j > highInclusive) {
+                target.assign(aux[i++], k);
+            } else if (before(aux[j], aux[i])) {
+                target.assign(aux[j++], k);
+            } else {
+                target.assign(aux[i++], k);
+            }
+        }
+    }
+
+    private boolean outOfOrder(int i, int j) {
+        switch (direction) {
+            case ASC:
+                return target.greater(i, j);
+            case DESC:
+                return target.less(i, j);
+            default:
+                throw new IllegalStateException("unknown direction " + direction);
+        }
+    }
+
+    private boolean before(Comparable a, Comparable b) {
+        switch (direction) {
+            case ASC:
+                return a.compareTo(b) < 0;
+            case DESC:
+                return a.compareTo(b) > 0;
+            default:
+                throw new IllegalStateException("unknown direction " + direction);
+        }
+    }
+}
@@ -0,0 +1,604 @@
+package io.imulab.review.sort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel merge sort splits the target just like {@link MergeSort}, but sorts both halves at the same time on a
+ * {@link ForkJoinPool}. Ranges shorter than a threshold are handed over to the sequential {@link MergeSort}.
+ *
+ * Sorting the halves in parallel alone would still leave the last merges, which touch the whole target, to a single
+ * thread. So large merges are split too: take the middle item of the larger half, binary search its position in the
+ * other half, put it directly at its final place in the target, and merge the two pairs of sub ranges on either side
+ * of it independently.
+ *
+ * As in {@link MergeSort}, both halves are copied to one auxiliary buffer allocated per sort and merged back into the
+ * target, halves already in order are not merged, and the merge is stable.
+ *
+ * Time complexity: O(NlgN) work, O(NlgN / P + lg^3 N) with P threads
+ * Space complexity: O(N)
+ */
+public class ParallelMergeSort {
+
+    /**
+     * Default number of items below which a range is sorted, copied or merged sequentially.
+     */
+    public static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    public static void sort(Sortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(Sortable target, Sortable.Direction direction) {
+        sort(target, direction, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Sort the target on the given pool.
+     *
+     * @param target target to sort
+     * @param direction sort direction
+     * @param threshold number of items below which a range is processed sequentially
+     * @param pool the pool to run on
+     */
+    public static void sort(Sortable target, Sortable.Direction direction, int threshold, ForkJoinPool pool) {
+        sort(new ComparableKernel(target, direction), threshold, pool);
+    }
+
+    public static void sort(IntSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(IntSortable target, Sortable.Direction direction) {
+        sort(target, direction, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    public static void sort(IntSortable target, Sortable.Direction direction, int threshold, ForkJoinPool pool) {
+        sort(new IntKernel(target, direction), threshold, pool);
+    }
+
+    public static void sort(LongSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(LongSortable target, Sortable.Direction direction) {
+        sort(target, direction, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    public static void sort(LongSortable target, Sortable.Direction direction, int threshold, ForkJoinPool pool) {
+        sort(new LongKernel(target, direction), threshold, pool);
+    }
+
+    public static void sort(DoubleSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(DoubleSortable target, Sortable.Direction direction) {
+        sort(target, direction, DEFAULT_THRESHOLD, ForkJoinPool.commonPool());
+    }
+
+    public static void sort(DoubleSortable target, Sortable.Direction direction, int threshold, ForkJoinPool pool) {
+        sort(new DoubleKernel(target, direction), threshold, pool);
+    }
+
+    private static void sort(Kernel kernel, int threshold, ForkJoinPool pool) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("threshold must be positive");
+
+        if (kernel.len() > 1) {
+            pool.invoke(new SortTask(kernel, 0, kernel.len() - 1, threshold));
+        }
+    }
+
+    /**
+     * Sort the range [low, high], in parallel if it is long enough.
+     */
+    private static class SortTask extends RecursiveAction {
+
+        private final Kernel kernel;
+        private final int low;
+        private final int high;
+        private final int threshold;
+
+        SortTask(Kernel kernel, int low, int high, int threshold) {
+            this.kernel = kernel;
+            this.low = low;
+            this.high = high;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low < threshold) {
+                kernel.sort(low, high);
+                return;
+            }
+
+            int mid = (low + high) >>> 1;
+            invokeAll(new SortTask(kernel, low, mid, threshold), new SortTask(kernel, mid + 1, high, threshold));
+
+            // the two halves are already in order as a whole
+            if (kernel.inOrder(mid, mid + 1))
+                return;
+
+            new CopyTask(kernel, low, high, threshold).invoke();
+            new MergeTask(kernel, low, mid, mid + 1, high, low, threshold).invoke();
+        }
+    }
+
+    /**
+     * Copy the range [low, high] of the target to the auxiliary buffer.
+     */
+    private static class CopyTask extends RecursiveAction {
+
+        private final Kernel kernel;
+        private final int low;
+        private final int high;
+        private final int threshold;
+
+        CopyTask(Kernel kernel, int low, int high, int threshold) {
+            this.kernel = kernel;
+            this.low = low;
+            this.high = high;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low < threshold) {
+                kernel.copy(low, high);
+                return;
+            }
+
+            int mid = (low + high) >>> 1;
+            invokeAll(new CopyTask(kernel, low, mid, threshold), new CopyTask(kernel, mid + 1, high, threshold));
+        }
+    }
+
+    /**
+     * Merge the sorted buffer ranges [low1, high1] and [low2, high2] into the target, starting at index to. Either
+     * range may be empty.
+     */
+    private static class MergeTask extends RecursiveAction {
+
+        private final Kernel kernel;
+        private final int low1;
+        private final int high1;
+        private final int low2;
+        private final int high2;
+        private final int to;
+        private final int threshold;
+
+        MergeTask(Kernel kernel, int low1, int high1, int low2, int high2, int to, int threshold) {
+            this.kernel = kernel;
+            this.low1 = low1;
+            this.high1 = high1;
+            this.low2 = low2;
+            this.high2 = high2;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int n1 = high1 - low1 + 1;
+            int n2 = high2 - low2 + 1;
+
+            if (n1 + n2 <= threshold) {
+                kernel.merge(low1, high1, low2, high2, to);
+                return;
+            }
+
+            if (n1 >= n2) {
+                // items of the second range equal to the pivot go after it
+                int m = (low1 + high1) >>> 1;
+                int j = kernel.lowerBound(m, low2, high2);
+                int k = to + (m - low1) + (j - low2);
+                kernel.place(m, k);
+                invokeAll(new MergeTask(kernel, low1, m - 1, low2, j - 1, to, threshold),
+                        new MergeTask(kernel, m + 1, high1, j, high2, k + 1, threshold));
+            } else {
+                // items of the first range equal to the pivot go before it
+                int m = (low2 + high2) >>> 1;
+                int i = kernel.upperBound(m, low1, high1);
+                int k = to + (i - low1) + (m - low2);
+                kernel.place(m, k);
+                invokeAll(new MergeTask(kernel, low1, i - 1, low2, m - 1, to, threshold),
+                        new MergeTask(kernel, i, high1, m + 1, high2, k + 1, threshold));
+            }
+        }
+    }
+
+    /**
+     * The item type specific half of the sort. The tasks above only deal with ranges, a kernel moves and compares the
+     * items of one kind of target. Tasks work on disjoint ranges, so a kernel is shared by all tasks of a sort.
+     */
+    private static abstract class Kernel {
+
+        final Sortable.Direction direction;
+
+        Kernel(Sortable.Direction direction) {
+            this.direction = direction;
+        }
+
+        abstract int len();
+
+        /**
+         * Sequentially sort the range [low, high] of the target.
+         */
+        abstract void sort(int low, int high);
+
+        /**
+         * Whether the target items at i and j are in order.
+         */
+        abstract boolean inOrder(int i, int j);
+
+        /**
+         * Copy the range [low, high] of the target to the same range of the buffer.
+         */
+        abstract void copy(int low, int high);
+
+        /**
+         * Sequentially merge the buffer ranges [low1, high1] and [low2, high2] into the target starting at to.
+         */
+        abstract void merge(int low1, int high1, int low2, int high2, int to);
+
+        /**
+         * Copy the buffer item at from to the target at to.
+         */
+        abstract void place(int from, int to);
+
+        /**
+         * The first index in the buffer range [low, high] whose item does not go before the buffer item at pivot,
+         * or high + 1.
+         */
+        abstract int lowerBound(int pivot, int low, int high);
+
+        /**
+         * The first index in the buffer range [low, high] whose item goes after the buffer item at pivot, or high + 1.
+         */
+        abstract int upperBound(int pivot, int low, int high);
+    }
+
+    @SuppressWarnings({"unchecked", "Duplicates"})
+    private static class ComparableKernel extends Kernel {
+
+        private final Sortable target;
+        private final Merger merger;
+        private final Comparable[] aux;
+
+        ComparableKernel(Sortable target, Sortable.Direction direction) {
+            super(direction);
+            this.target = target;
+            this.merger = new Merger(target, direction);
+            this.aux = merger.buffer();
+        }
+
+        private boolean before(Comparable a, Comparable b) {
+            return direction == Sortable.Direction.ASC ? a.compareTo(b) < 0 : a.compareTo(b) > 0;
+        }
+
+        @Override
+        int len() {
+            return target.len();
+        }
+
+        @Override
+        void sort(int low, int high) {
+            MergeSort.sort(merger, low, high);
+        }
+
+        @Override
+        boolean inOrder(int i, int j) {
+            return !before(target.get(j), target.get(i));
+        }
+
+        @Override
+        void copy(int low, int high) {
+            for (int k = low; k <= high; k++) {
+                aux[k] = target.get(k);
+            }
+        }
+
+        @Override
+        void merge(int low1, int high1, int low2, int high2, int to) {
+            int i = low1, j = low2;
+            for (int k = to; i <= high1 || j <= high2; k++) {
+                if (i > high1) {
+                    target.assign(aux[j++], k);
+                } else if (j > high2) {
+                    target.assign(aux[i++], k);
+                } else if (before(aux[j], aux[i])) {
+                    target.assign(aux[j++], k);
+                } else {
+                    target.assign(aux[i++], k);
+                }
+            }
+        }
+
+        @Override
+        void place(int from, int to) {
+            target.assign(aux[from], to);
+        }
+
+        @Override
+        int lowerBound(int pivot, int low, int high) {
+            int l = low, h = high + 1;
+            while (l < h) {
+                int m = (l + h) >>> 1;
+                if (before(aux[m], aux[pivot])) {
+                    l = m + 1;
+                } else {
+                    h = m;
+                }
+            }
+            return l;
+        }
+
+        @Override
+        int upperBound(int pivot, int low, int high) {
+            int l = low, h = high + 1;
+            while (l < h) {
+                int m = (l + h) >>> 1;
+                if (before(aux[pivot], aux[m])) {
+                    h = m;
+                } else {
+                    l = m + 1;
+                }
+            }
+            return l;
+        }
+    }
+
+    @SuppressWarnings("Duplicates")
+    private static class IntKernel extends Kernel {
+
+        private final IntSortable target;
+        private final int[] aux;
+
+        IntKernel(IntSortable target, Sortable.Direction direction) {
+            super(direction);
+            this.target = target;
+            this.aux = new int[target.len()];
+        }
+
+        @Override
+        int len() {
+            return target.len();
+        }
+
+        @Override
+        void sort(int low, int high) {
+            MergeSort.sort(target, aux, low, high, direction);
+        }
+
+        @Override
+        boolean inOrder(int i, int j) {
+            return !PrimitiveOrder.before(target.get(j), target.get(i), direction);
+        }
+
+        @Override
+        void copy(int low, int high) {
+            for (int k = low; k <= high; k++) {
+                aux[k] = target.get(k);
+            }
+        }
+
+        @Override
+        void merge(int low1, int high1, int low2, int high2, int to) {
+            int i = low1, j = low2;
+            for (int k = to; i <= high1 || j <= high2; k++) {
+                if (i > high1) {
+                    target.assign(aux[j++], k);
+                } else if (j > high2) {
+                    target.assign(aux[i++], k);
+                } else if (PrimitiveOrder.before(aux[j], aux[i], direction)) {
+                    target.assign(aux[j++], k);
+                } else {
+                    target.assign(aux[i++], k);
+                }
+            }
+        }
+
+        @Override
+        void place(int from, int to) {
+            target.assign(aux[from], to);
+        }
+
+        @Override
+        int lowerBound(int pivot, int low, int high) {
+            int l = low, h = high + 1;
+            while (l < h) {
+                int m = (l + h) >>> 1;
+                if (PrimitiveOrder.before(aux[m], aux[pivot], direction)) {
+                    l = m + 1;
+                } else {
+                    h = m;
+                }
+            }
+            return l;
+        }
+
+        @Override
+        int upperBound(int pivot, int low, int high) {
+            int l = low, h = high + 1;
+            while (l < h) {
+                int m = (l + h) >>> 1;
+                if (PrimitiveOrder.before(aux[pivot], aux[m], direction)) {
+                    h = m;
+                } else {
+                    l = m + 1;
+                }
+            }
+            return l;
+        }
+    }
+
+    @SuppressWarnings("Duplicates")
+    private static class LongKernel extends Kernel {
+
+        private final LongSortable target;
+        private final long[] aux;
+
+        LongKernel(LongSortable target, Sortable.Direction direction) {
+            super(direction);
+            this.target = target;
+            this.aux = new long[target.len()];
+        }
+
+        @Override
+        int len() {
+            return target.len();
+        }
+
+        @Override
+        void sort(int low, int high) {
+            MergeSort.sort(target, aux, low, high, direction);
+        }
+
+        @Override
+        boolean inOrder(int i, int j) {
+            return !PrimitiveOrder.before(target.get(j), target.get(i), direction);
+        }
+
+        @Override
+        void copy(int low, int high) {
+            for (int k = low; k <= high; k++) {
+                aux[k] = target.get(k);
+            }
+        }
+
+        @Override
+        void merge(int low1, int high1, int low2, int high2, int to) {
+            int i = low1, j = low2;
+            for (int k = to; i <= high1 || j <= high2; k++) {
+                if (i > high1) {
+                    target.assign(aux[j++], k);
+                } else if (j > high2) {
+                    target.assign(aux[i++], k);
+                } else if (PrimitiveOrder.before(aux[j], aux[i], direction)) {
+                    target.assign(aux[j++], k);
+                } else {
+                    target.assign(aux[i++], k);
+                }
+            }
+        }
+
+        @Override
+        void place(int from, int to) {
+            target.assign(aux[from], to);
+        }
+
+        @Override
+        int lowerBound(int pivot, int low, int high) {
+            int l = low, h = high + 1;
+            while (l < h) {
+                int m = (l + h) >>> 1;
+                if (PrimitiveOrder.before(aux[m], aux[pivot], direction)) {
+                    l = m + 1;
+                } else {
+                    h = m;
+                }
+            }
+            return l;
+        }
+
+        @Override
+        int upperBound(int pivot, int low, int high) {
+            int l = low, h = high + 1;
+            while (l < h) {
+                int m = (l + h) >>> 1;
+                if (PrimitiveOrder.before(aux[pivot], aux[m], direction)) {
+                    h = m;
+                } else {
+                    l = m + 1;
+                }
+            }
+            return l;
+        }
+    }
+
+    @SuppressWarnings("Duplicates")
+    private static class DoubleKernel extends Kernel {
+
+        private final DoubleSortable target;
+        private final double[] aux;
+
+        DoubleKernel(DoubleSortable target, Sortable.Direction direction) {
+            super(direction);
+            this.target = target;
+            this.aux = new double[target.len()];
+        }
+
+        @Override
+        int len() {
+            return target.len();
+        }
+
+        @Override
+        void sort(int low, int high) {
+            MergeSort.sort(target, aux, low, high, direction);
+        }
+
+        @Override
+        boolean inOrder(int i, int j) {
+            return !PrimitiveOrder.before(target.get(j), target.get(i), direction);
+        }
+
+        @Override
+        void copy(int low, int high) {
+            for (int k = low; k <= high; k++) {
+                aux[k] = target.get(k);
+            }
+        }
+
+        @Override
+        void merge(int low1, int high1, int low2, int high2, int to) {
+            int i = low1, j = low2;
+            for (int k = to; i <= high1 || j <= high2; k++) {
+                if (i > high1) {
+                    target.assign(aux[j++], k);
+                } else if (j > high2) {
+                    target.assign(aux[i++], k);
+                } else if (PrimitiveOrder.before(aux[j], aux[i], direction)) {
+                    target.assign(aux[j++], k);
+                } else {
+                    target.assign(aux[i++], k);
+                }
+            }
+        }
+
+        @Override
+        void place(int from, int to) {
+            target.assign(aux[from], to);
+        }
+
+        @Override
+        int lowerBound(int pivot, int low, int high) {
+            int l = low, h = high + 1;
+            while (l < h) {
+                int m = (l + h) >>> 1;
+                if (PrimitiveOrder.before(aux[m], aux[pivot], direction)) {
+                    l = m + 1;
+                } else {
+                    h = m;
+                }
+            }
+            return l;
+        }
+
+        @Override
+        int upperBound(int pivot, int low, int high) {
+            int l = low, h = high + 1;
+            while (l < h) {
+                int m = (l + h) >>> 1;
+                if (PrimitiveOrder.before(aux[pivot], aux[m], direction)) {
+                    h = m;
+                } else {
+                    l = m + 1;
+                }
+            }
+            return l;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.imulab.review.sort;
+
+/**
+ * Direction aware comparison of primitive items, shared by the primitive overloads of the sorters. An item comes
+ * "before" another one when it should be placed in front of it in a target sorted in the given direction.
+ */
+final class PrimitiveOrder {
+
+    private PrimitiveOrder() {
+    }
+
+    static boolean before(int a, int b, Sortable.Direction direction) {
+        return direction == Sortable.Direction.ASC ? a < b : a > b;
+    }
+
+    static boolean before(long a, long b, Sortable.Direction direction) {
+        return direction == Sortable.Direction.ASC ? a < b : a > b;
+    }
+
+    static boolean before(double a, double b, Sortable.Direction direction) {
+        return direction == Sortable.Direction.ASC ? Double.compare(a, b) < 0 : Double.compare(a, b) > 0;
+    }
+}
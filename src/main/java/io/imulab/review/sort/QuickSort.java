@@ -15,24 +15,72 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * The performance highly depends on the performance of the shuffle.
  *
+ * The overloads for {@link IntSortable}, {@link LongSortable} and {@link DoubleSortable} run the same algorithm
+ * without boxing. They hold the pivot in a local variable and hand short ranges over to insertion sort.
+ *
+ * Besides this {@link Mode#CLASSIC} algorithm, the other {@link Mode}s run an introspective sort. It skips the shuffle
+ * and picks its pivots from a sample of the range instead (the median of three items, or Tukey's ninther for larger
+ * ranges). Short ranges are insertion sorted. When recursion goes deeper than 2lgN, which only happens when pivots
+ * keep being chosen badly, the range is heap sorted, so the worst case stays O(NlgN). The modes differ in how a range
+ * is partitioned:
+ * 1. {@link Mode#THREE_WAY} partitions into items before, equal to and after the pivot (Dijkstra), so a range of equal
+ * items is done in a single pass. Best for keys with many duplicates.
+ * 2. {@link Mode#DUAL_PIVOT} partitions into three ranges around two pivots (Yaroslavskiy), which needs fewer passes
+ * over the data on distinct keys.
+ * 3. {@link Mode#ADAPTIVE} samples five items of each range: dual pivot partitioning if the second and the fourth of
+ * them differ, three way partitioning around the third otherwise.
+ *
  * Time complexity (best) O(NlgN), recursion is O(lgN), partition is O(N)
  * Time complexity (worst) O(N^2) sorting a reversely sorted target, leading to only one partition doing all the work.
+ * O(NlgN) for all modes except {@link Mode#CLASSIC}.
  *
  * Space complexity O(N), does not require extra space
  */
 public class QuickSort {
 
+    /**
+     * Ranges of this many items or fewer are insertion sorted, except in {@link Mode#CLASSIC} on a {@link Sortable}.
+     */
+    private static final int CUTOFF = 8;
+
+    /**
+     * Ranges of at least this many items take the ninther rather than the median of three as pivot.
+     */
+    private static final int NINTHER_THRESHOLD = 40;
+
     public static void sort(Sortable target) {
         sort(target, Sortable.Direction.ASC);
     }
 
     public static void sort(Sortable target, Sortable.Direction direction) {
-        System.out.println("Before: " + target);
+        sort(target, direction, SortListener.SILENT);
+    }
+
+    public static void sort(Sortable target, Sortable.Direction direction, SortListener listener) {
+        listener.beforeSort(target);
 
         shuffle(target);
         sort(target, 0, target.len() - 1, direction);
 
-        System.out.println("After: " + target);
+        listener.afterSort(target);
+    }
+
+    public static void sort(Sortable target, Sortable.Direction direction, Mode mode) {
+        sort(target, direction, mode, SortListener.SILENT);
+    }
+
+    public static void sort(Sortable target, Sortable.Direction direction, Mode mode, SortListener listener) {
+        if (mode == Mode.CLASSIC) {
+            sort(target, direction, listener);
+            return;
+        }
+
+        listener.beforeSort(target);
+
+        int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(target.len(), 1)));
+        introSort(target, 0, target.len() - 1, depthLimit, direction, mode);
+
+        listener.afterSort(target);
     }
 
     private static void sort(Sortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
@@ -93,10 +141,343 @@ public class QuickSort {
         return j;
     }
 
+    private static void introSort(Sortable target, int lowInclusive, int highInclusive, int depthLimit,
+                                  Sortable.Direction direction, Mode mode) {
+        if (highInclusive - lowInclusive < CUTOFF) {
+            InsertionSort.sort(target, lowInclusive, highInclusive, direction);
+            return;
+        }
+
+        // pivots went wrong too many times, bail out to the guaranteed O(NlgN)
+        if (depthLimit == 0) {
+            HeapSort.sort(target, lowInclusive, highInclusive, direction);
+            return;
+        }
+
+        switch (mode) {
+            case THREE_WAY:
+                threeWayPartition(target, lowInclusive, highInclusive,
+                        pivot(target, lowInclusive, highInclusive, direction), depthLimit - 1, direction, mode);
+                break;
+
+            case DUAL_PIVOT:
+            case ADAPTIVE:
+                // five evenly spaced items, sorted among themselves
+                int seventh = ((highInclusive - lowInclusive + 1) >> 3) + ((highInclusive - lowInclusive + 1) >> 6) + 1;
+                int e3 = (lowInclusive + highInclusive) >>> 1;
+                int e2 = e3 - seventh, e1 = e2 - seventh, e4 = e3 + seventh, e5 = e4 + seventh;
+                sortSample(target, e1, e2, e3, e4, e5, direction);
+
+                if (mode == Mode.DUAL_PIVOT || before(target, e2, e4, direction)) {
+                    dualPivotPartition(target, lowInclusive, highInclusive, e2, e4, depthLimit - 1, direction, mode);
+                } else {
+                    threeWayPartition(target, lowInclusive, highInclusive, e3, depthLimit - 1, direction, mode);
+                }
+                break;
+
+            default:
+                throw new IllegalArgumentException("not an introspective mode: " + mode);
+        }
+    }
+
+    /**
+     * Dijkstra's three way partitioning. It keeps [low, lt) before the pivot, [lt, i) equal to the pivot and (gt, high]
+     * after the pivot. The item at lt is always equal to the pivot, so it stands in for the pivot in comparisons.
+     */
+    private static void threeWayPartition(Sortable target, int lowInclusive, int highInclusive, int pivot,
+                                          int depthLimit, Sortable.Direction direction, Mode mode) {
+        target.swap(lowInclusive, pivot);
+
+        int lt = lowInclusive, gt = highInclusive, i = lowInclusive + 1;
+        while (i <= gt) {
+            if (before(target, i, lt, direction)) {
+                target.swap(lt++, i++);
+            } else if (before(target, lt, i, direction)) {
+                target.swap(i, gt--);
+            } else {
+                i++;
+            }
+        }
+
+        introSort(target, lowInclusive, lt - 1, depthLimit, direction, mode);
+        introSort(target, gt + 1, highInclusive, depthLimit, direction, mode);
+    }
+
+    /**
+     * Yaroslavskiy's dual pivot partitioning. With the first pivot at low and the second at high, it keeps (low, lt)
+     * before the first pivot, [lt, i) between the two pivots and (gt, high) after the second pivot.
+     */
+    private static void dualPivotPartition(Sortable target, int lowInclusive, int highInclusive, int pivot1,
+                                           int pivot2, int depthLimit, Sortable.Direction direction, Mode mode) {
+        target.swap(lowInclusive, pivot1);
+        target.swap(highInclusive, pivot2);
+        if (before(target, highInclusive, lowInclusive, direction)) {
+            target.swap(lowInclusive, highInclusive);
+        }
+
+        int lt = lowInclusive + 1, gt = highInclusive - 1, i = lowInclusive + 1;
+        while (i <= gt) {
+            if (before(target, i, lowInclusive, direction)) {
+                target.swap(lt++, i++);
+            } else if (before(target, highInclusive, i, direction)) {
+                target.swap(i, gt--);
+            } else {
+                i++;
+            }
+        }
+
+        // swap the pivots into place
+        target.swap(lowInclusive, --lt);
+        target.swap(highInclusive, ++gt);
+
+        introSort(target, lowInclusive, lt - 1, depthLimit, direction, mode);
+        // with equal pivots the middle range holds nothing but items equal to them
+        if (before(target, lt, gt, direction)) {
+            introSort(target, lt + 1, gt - 1, depthLimit, direction, mode);
+        }
+        introSort(target, gt + 1, highInclusive, depthLimit, direction, mode);
+    }
+
+    /**
+     * Median of three for short ranges, Tukey's ninther (median of three medians of three) for long ranges.
+     */
+    private static int pivot(Sortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        int mid = (lowInclusive + highInclusive) >>> 1;
+        int n = highInclusive - lowInclusive + 1;
+        if (n < NINTHER_THRESHOLD) {
+            return median(target, lowInclusive, mid, highInclusive, direction);
+        }
+
+        int eighth = n / 8;
+        return median(target,
+                median(target, lowInclusive, lowInclusive + eighth, lowInclusive + 2 * eighth, direction),
+                median(target, mid - eighth, mid, mid + eighth, direction),
+                median(target, highInclusive - 2 * eighth, highInclusive - eighth, highInclusive, direction),
+                direction);
+    }
+
+    private static int median(Sortable target, int i, int j, int k, Sortable.Direction direction) {
+        if (before(target, i, j, direction)) {
+            return before(target, j, k, direction) ? j : before(target, i, k, direction) ? k : i;
+        } else {
+            return before(target, k, j, direction) ? j : before(target, k, i, direction) ? k : i;
+        }
+    }
+
+    /**
+     * Sort the items at five ascending indexes among themselves, with a nine comparator sorting network.
+     */
+    private static void sortSample(Sortable target, int e1, int e2, int e3, int e4, int e5,
+                                   Sortable.Direction direction) {
+        order(target, e1, e2, direction);
+        order(target, e4, e5, direction);
+        order(target, e3, e5, direction);
+        order(target, e3, e4, direction);
+        order(target, e2, e5, direction);
+        order(target, e1, e4, direction);
+        order(target, e1, e3, direction);
+        order(target, e2, e4, direction);
+        order(target, e2, e3, direction);
+    }
+
+    private static void order(Sortable target, int i, int j, Sortable.Direction direction) {
+        if (before(target, j, i, direction)) {
+            target.swap(i, j);
+        }
+    }
+
+    private static boolean before(Sortable target, int i, int j, Sortable.Direction direction) {
+        return direction == Sortable.Direction.ASC ? target.less(i, j) : target.greater(i, j);
+    }
+
     private static void shuffle(Sortable target) {
         for (int i = 0; i < target.len() - 1; i++) {
             int j = ThreadLocalRandom.current().nextInt(i + 1, target.len());
             target.swap(i, j);
         }
     }
+
+    public static void sort(IntSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(IntSortable target, Sortable.Direction direction) {
+        shuffle(target);
+        sort(target, 0, target.len() - 1, direction);
+    }
+
+    private static void sort(IntSortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        if (highInclusive - lowInclusive < CUTOFF) {
+            InsertionSort.sort(target, lowInclusive, highInclusive, direction);
+            return;
+        }
+
+        int k = partition(target, lowInclusive, highInclusive, direction);
+
+        sort(target, lowInclusive, k - 1, direction);
+        sort(target, k + 1, highInclusive, direction);
+    }
+
+    private static int partition(IntSortable target, int lowInclusive, int highInclusive,
+                                 Sortable.Direction direction) {
+        int pivot = target.get(lowInclusive);
+        int i = lowInclusive, j = highInclusive + 1;
+
+        while (true) {
+            while (PrimitiveOrder.before(target.get(++i), pivot, direction)) {
+                if (i >= highInclusive)
+                    break;
+            }
+            while (PrimitiveOrder.before(pivot, target.get(--j), direction)) {
+                if (j <= lowInclusive)
+                    break;
+            }
+
+            if (j <= i)
+                break;
+
+            target.swap(i, j);
+        }
+
+        target.swap(lowInclusive, j);
+
+        return j;
+    }
+
+    private static void shuffle(IntSortable target) {
+        for (int i = 0; i < target.len() - 1; i++) {
+            int j = ThreadLocalRandom.current().nextInt(i + 1, target.len());
+            target.swap(i, j);
+        }
+    }
+
+    public static void sort(LongSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(LongSortable target, Sortable.Direction direction) {
+        shuffle(target);
+        sort(target, 0, target.len() - 1, direction);
+    }
+
+    private static void sort(LongSortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        if (highInclusive - lowInclusive < CUTOFF) {
+            InsertionSort.sort(target, lowInclusive, highInclusive, direction);
+            return;
+        }
+
+        int k = partition(target, lowInclusive, highInclusive, direction);
+
+        sort(target, lowInclusive, k - 1, direction);
+        sort(target, k + 1, highInclusive, direction);
+    }
+
+    private static int partition(LongSortable target, int lowInclusive, int highInclusive,
+                                 Sortable.Direction direction) {
+        long pivot = target.get(lowInclusive);
+        int i = lowInclusive, j = highInclusive + 1;
+
+        while (true) {
+            while (PrimitiveOrder.before(target.get(++i), pivot, direction)) {
+                if (i >= highInclusive)
+                    break;
+            }
+            while (PrimitiveOrder.before(pivot, target.get(--j), direction)) {
+                if (j <= lowInclusive)
+                    break;
+            }
+
+            if (j <= i)
+                break;
+
+            target.swap(i, j);
+        }
+
+        target.swap(lowInclusive, j);
+
+        return j;
+    }
+
+    private static void shuffle(LongSortable target) {
+        for (int i = 0; i < target.len() - 1; i++) {
+            int j = ThreadLocalRandom.current().nextInt(i + 1, target.len());
+            target.swap(i, j);
+        }
+    }
+
+    public static void sort(DoubleSortable target) {
+        sort(target, Sortable.Direction.ASC);
+    }
+
+    public static void sort(DoubleSortable target, Sortable.Direction direction) {
+        shuffle(target);
+        sort(target, 0, target.len() - 1, direction);
+    }
+
+    private static void sort(DoubleSortable target, int lowInclusive, int highInclusive, Sortable.Direction direction) {
+        if (highInclusive - lowInclusive < CUTOFF) {
+            InsertionSort.sort(target, lowInclusive, highInclusive, direction);
+            return;
+        }
+
+        int k = partition(target, lowInclusive, highInclusive, direction);
+
+        sort(target, lowInclusive, k - 1, direction);
+        sort(target, k + 1, highInclusive, direction);
+    }
+
+    private static int partition(DoubleSortable target, int lowInclusive, int highInclusive,
+                                 Sortable.Direction direction) {
+        double pivot = target.get(lowInclusive);
+        int i = lowInclusive, j = highInclusive + 1;
+
+        while (true) {
+            while (PrimitiveOrder.before(target.get(++i), pivot, direction)) {
+                if (i >= highInclusive)
+                    break;
+            }
+            while (PrimitiveOrder.before(pivot, target.get(--j), direction)) {
+                if (j <= lowInclusive)
+                    break;
+            }
+
+            if (j <= i)
+                break;
+
+            target.swap(i, j);
+        }
+
+        target.swap(lowInclusive, j);
+
+        return j;
+    }
+
+    private static void shuffle(DoubleSortable target) {
+        for (int i = 0; i < target.len() - 1; i++) {
+            int j = ThreadLocalRandom.current().nextInt(i + 1, target.len());
+            target.swap(i, j);
+        }
+    }
+
+    /**
+     * Quick sort algorithm variants for {@link Sortable} targets. See the class documentation for details.
+     */
+    public enum Mode {
+        /**
+         * Shuffle, then single pivot partitioning around the first item of the range.
+         */
+        CLASSIC,
+        /**
+         * Introspective sort with three way partitioning.
+         */
+        THREE_WAY,
+        /**
+         * Introspective sort with dual pivot partitioning.
+         */
+        DUAL_PIVOT,
+        /**
+         * Introspective sort choosing dual pivot or three way partitioning for each range.
+         */
+        ADAPTIVE
+    }
 }
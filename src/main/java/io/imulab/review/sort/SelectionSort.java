@@ -10,7 +10,11 @@ package io.imulab.review.sort;
 public class SelectionSort {
 
     public static void sort(Sortable target, Sortable.Direction direction) {
-        System.out.println("Before: " + target.toString());
+        sort(target, direction, SortListener.SILENT);
+    }
+
+    public static void sort(Sortable target, Sortable.Direction direction, SortListener listener) {
+        listener.beforeSort(target);
 
         for (int i = 0; i < target.len() - 1; i++) {
             switch (direction) {
@@ -23,7 +27,7 @@ public class SelectionSort {
             }
         }
 
-        System.out.println("After: " + target.toString());
+        listener.afterSort(target);
     }
 
     public static void sort(Sortable target) {
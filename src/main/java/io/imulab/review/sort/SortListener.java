@@ -0,0 +1,47 @@
+package io.imulab.review.sort;
+
+/**
+ * A hook to observe a sort from the outside. Every sorter notifies its listener right before it touches the target and
+ * right after the target is sorted.
+ *
+ * The sorters default to {@link #SILENT}, which does nothing, so a production sort never builds the string
+ * representation of its target. Use {@link #CONSOLE} to trace the target before and after a sort while debugging.
+ */
+public interface SortListener {
+
+    /**
+     * A listener that ignores every event.
+     */
+    SortListener SILENT = new SortListener() {};
+
+    /**
+     * A listener that prints the whole target to standard output before and after the sort.
+     */
+    SortListener CONSOLE = new SortListener() {
+        @Override
+        public void beforeSort(Sortable<?> target) {
+            System.out.println("Before: " + target);
+        }
+
+        @Override
+        public void afterSort(Sortable<?> target) {
+            System.out.println("After: " + target);
+        }
+    };
+
+    /**
+     * Called once before the target is sorted.
+     *
+     * @param target the target about to be sorted
+     */
+    default void beforeSort(Sortable<?> target) {
+    }
+
+    /**
+     * Called once after the target is sorted.
+     *
+     * @param target the sorted target
+     */
+    default void afterSort(Sortable<?> target) {
+    }
+}
@@ -1,6 +1,7 @@
 package io.imulab.review.sort;
 
-import io.imulab.review.graph.DiGraph;
+import io.imulab.review.graph.DepthFirstTraversal;
+import io.imulab.review.graph.Graph;
 
 import java.util.Stack;
 
@@ -8,45 +9,44 @@ import java.util.Stack;
  * Topological sort determines the scheduling dependencies between vertices when each vertex represents a do-able or task
  * that has other dependencies.
  *
- * The sort performs a depth first search and maintains a reversed post order of the vertices visited.
+ * The sort performs a depth first search and maintains a reversed post order of the vertices visited. Any directed
+ * {@link Graph} works, including a {@link io.imulab.review.graph.CsrGraph}. The search runs on a
+ * {@link DepthFirstTraversal}, so dependency chains millions of vertices long do not overflow the call stack.
  */
 public class TopologicalSort {
 
-    private final DiGraph graph;
-    private final boolean[] marked;
-    private final Stack<Integer> reversePost;
-
-    public TopologicalSort(DiGraph graph) {
-        this.graph = graph;
-        this.marked = new boolean[graph.V()];
-        this.reversePost = new Stack<>();
-        for (int v = 0; v < graph.V(); v++) {
-            if (!marked[v]) {
-                dfs(v);
-            }
-        }
-    }
+    // reversed post order, filled from the back as vertices finish
+    private final int[] reversePost;
+    private int next;
+
+    public TopologicalSort(Graph graph) {
+        this.reversePost = new int[graph.V()];
+        this.next = graph.V();
 
-    private void dfs(int v) {
-        marked[v] = true;
-        for (int w : graph.adjacent(v)) {
-            if (!marked[w]) {
-                dfs(w);
+        new DepthFirstTraversal(graph).traverseAll(new DepthFirstTraversal.Visitor() {
+            @Override
+            public void postorder(int v) {
+                reversePost[--next] = v;
             }
-        }
-        reversePost.push(v);
+        });
     }
 
-    public static Iterable<Integer> sort(DiGraph graph) {
+    public static Iterable<Integer> sort(Graph graph) {
         TopologicalSort sort = new TopologicalSort(graph);
 
-        // since the iterator implementation of Java's native stack data structure uses
-        // the underlying vector order, we need to manually reverse the order here.
-        Stack<Integer> reversed = new Stack<>();
-        while (!sort.reversePost.isEmpty()) {
-            reversed.push(sort.reversePost.pop());
+        // java's native stack iterates in the order items were pushed
+        Stack<Integer> ordered = new Stack<>();
+        for (int v : sort.reversePost) {
+            ordered.push(v);
         }
 
-        return reversed;
+        return ordered;
+    }
+
+    /**
+     * Same as {@link #sort(Graph)}, but returns the order as a primitive array.
+     */
+    public static int[] order(Graph graph) {
+        return new TopologicalSort(graph).reversePost;
     }
 }
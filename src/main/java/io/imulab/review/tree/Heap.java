@@ -1,6 +1,9 @@
 package io.imulab.review.tree;
 
-import io.imulab.review.sort.List;
+import io.imulab.review.sort.Array;
+import io.imulab.review.sort.Sortable;
+
+import java.util.Arrays;
 
 /**
  * A binary heap is a data structure where each parent is larger (in a max heap) or smaller (in a min heap) than
@@ -14,15 +17,22 @@ import io.imulab.review.sort.List;
  * During top removal, the first element is first exchanged with the last element and then removed. The now first
  * element (formally the last element) is then demoted to its right place.
  *
- * This implementation uses a list backend so it does not have to manage the capacity cursor as it would require with
- * an array (non-resizable) backend.
+ * This implementation uses an array backend with a size cursor. Items live in [0, size) and the array doubles when it
+ * runs out of capacity, so both insertion and top removal are O(lgN). Promotion and demotion hold the moving item
+ * aside and shift the others into the hole, rather than swapping at every level.
  *
  * @param <T>
  */
-public class Heap<T extends Comparable<T>> extends List<T> {
+public class Heap<T extends Comparable<T>> implements Sortable<T> {
+
+    private static final int DEFAULT_CAPACITY = 16;
 
     private final Type type;
 
+    private T[] items;
+
+    private int size;
+
     @SuppressWarnings("unchecked")
     public static <T extends Comparable<T>> Heap<T> maxHeap() {
         return new Heap(Type.MAX);
@@ -33,14 +43,40 @@ public class Heap<T extends Comparable<T>> extends List<T> {
         return new Heap(Type.MIN);
     }
 
+    /**
+     * Build a heap out of existing items in O(N), by demoting every parent from the last one up to the root. The
+     * items are copied, the given array is not modified.
+     */
+    public static <T extends Comparable<T>> Heap<T> heapify(T[] items, Type type) {
+        Heap<T> heap = new Heap<>(type, items.length);
+        System.arraycopy(items, 0, heap.items, 0, items.length);
+        heap.size = items.length;
+        for (int i = heap.size / 2 - 1; i >= 0; i--) {
+            heap.demote(i);
+        }
+        assert heap.isValid();
+        return heap;
+    }
+
     public Heap(Type type) {
-        super();
+        this(type, DEFAULT_CAPACITY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Heap(Type type, int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("negative capacity");
         this.type = type;
+        this.items = (T[]) new Comparable[Math.max(capacity, 1)];
+        this.size = 0;
     }
 
     public void insert(T item) {
-        add(item);
-        promote(len() - 1);
+        if (size == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+        }
+        items[size++] = item;
+        promote(size - 1);
         assert isValid();
     }
 
@@ -50,43 +86,36 @@ public class Heap<T extends Comparable<T>> extends List<T> {
      * One can design an object that follows different comparison and equality rules.
      */
     public boolean contains(T item) {
-        for (int i = 0; i < len(); i++) {
-            if (item.equals(get(i))) {
-                return true;
-            }
-        }
-        return false;
+        return indexOf(item) >= 0;
     }
 
     /**
      * Update an item. The comparison is done using {@link T#equals(Object)} method. This gives
      * the user more flexibility. One can design an object that follows different comparison and equality rules.
+     *
+     * Finding the item is a linear scan, moving it to its new place is O(lgN).
      */
     public void update(T item) {
-        for (int i = 0; i < len(); i++) {
-            if (item.equals(get(i))) {
-                swap(i, len() - 1);
-                remove(len() - 1);
-                if (len() > 0) {
-                    demote(i);
-                }
-                insert(item);
-                break;
-            }
-        }
+        int i = indexOf(item);
+        if (i < 0)
+            return;
+
+        items[i] = item;
+        promote(i);
+        demote(i);
+        assert isValid();
     }
 
     public T removeTop() {
-        T top = get(0);
-        swap(0, len() - 1);
+        checkBoundary(0);
+
+        T top = items[0];
+        items[0] = items[--size];
 
-        // remote top element at the back so
-        // it does not affect the demotion
-        remove(len() - 1);
+        // release the reference so the removed item can be collected
+        items[size] = null;
 
-        // check length before demotion because
-        // we just removed an element
-        if (len() > 0) {
+        if (size > 0) {
             demote(0);
         }
 
@@ -94,109 +123,155 @@ public class Heap<T extends Comparable<T>> extends List<T> {
         return top;
     }
 
-    public boolean isEmpty() {
-        return len() == 0;
+    /**
+     * Return the top item without removing it.
+     */
+    public T peek() {
+        checkBoundary(0);
+        return items[0];
     }
 
-    private int parentIndexOf(int index) {
-        checkBoundary(index);
-        return (index - 1) / 2;
+    public boolean isEmpty() {
+        return size == 0;
     }
 
-    private int leftChildIndexOf(int index) {
-        checkBoundary(index);
-        return index * 2 + 1;
+    private int indexOf(T item) {
+        for (int i = 0; i < size; i++) {
+            if (item.equals(items[i])) {
+                return i;
+            }
+        }
+        return -1;
     }
 
-    private int rightChildIndexOf(int index) {
-        checkBoundary(index);
-        return index * 2 + 2;
+    /**
+     * Whether item a should sit above item b.
+     */
+    private boolean above(T a, T b) {
+        switch (type) {
+            case MAX:
+                return a.compareTo(b) > 0;
+            case MIN:
+                return a.compareTo(b) < 0;
+            default:
+                throw new IllegalStateException("unknown type " + type);
+        }
     }
 
-    private int rightSiblingOf(int index) {
-        checkBoundary(index);
-        return index + 1;
+    private void promote(int index) {
+        T item = items[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!above(item, items[parent]))
+                break;
+            items[index] = items[parent];
+            index = parent;
+        }
+        items[index] = item;
     }
 
-    private void promote(int index) {
-        checkBoundary(index);
+    private void demote(int index) {
+        T item = items[index];
+        while (2 * index + 1 < size) {
+            int k = 2 * index + 1;
 
-        switch (this.type) {
-            case MAX:
-                while (index > 0 && greater(index, parentIndexOf(index))) {
-                    swap(index, parentIndexOf(index));
-                    index = parentIndexOf(index);
-                }
-                break;
-            case MIN:
-                while (index > 0 && less(index, parentIndexOf(index))) {
-                    swap(index, parentIndexOf(index));
-                    index = parentIndexOf(index);
-                }
+            if (k + 1 < size && above(items[k + 1], items[k])) {
+                k++;
+            }
+
+            if (!above(items[k], item))
                 break;
+
+            items[index] = items[k];
+            index = k;
         }
+        items[index] = item;
     }
 
-    private void demote(int index) {
-        checkBoundary(index);
+    public boolean isValid() {
+        for (int i = 1; i < size; i++) {
+            if (above(items[i], items[(i - 1) / 2]))
+                return false;
+        }
+        return true;
+    }
 
-        switch (this.type) {
-            case MAX:
-                while (leftChildIndexOf(index) < len()) {
-                    int k = leftChildIndexOf(index);
+    @Override
+    public int len() {
+        return size;
+    }
 
-                    if (rightSiblingOf(k) < len() && greater(rightSiblingOf(k), k)) {
-                        k = rightChildIndexOf(index);
-                    }
+    @Override
+    public void swap(int i, int j) {
+        checkBoundary(i);
+        checkBoundary(j);
 
-                    if (!less(index, k)) {
-                        break;
-                    }
+        T temp = items[i];
+        items[i] = items[j];
+        items[j] = temp;
+    }
 
-                    swap(index, k);
-                    index = k;
-                }
-                break;
+    @Override
+    public boolean less(int i, int j) {
+        checkBoundary(i);
+        checkBoundary(j);
+        return items[i].compareTo(items[j]) < 0;
+    }
 
-            case MIN:
-                while(leftChildIndexOf(index) < len()) {
-                    int k = leftChildIndexOf(index);
+    @Override
+    public boolean greater(int i, int j) {
+        checkBoundary(i);
+        checkBoundary(j);
+        return items[i].compareTo(items[j]) > 0;
+    }
 
-                    if (rightSiblingOf(k) < len() && less(rightSiblingOf(k), k)) {
-                        k = rightChildIndexOf(index);
-                    }
+    @Override
+    public Sortable<T> subTarget(int startInclusive, int endExclusive) {
+        checkBoundary(startInclusive);
+        checkBoundary(endExclusive - 1);
+        return new Array<>(Arrays.copyOfRange(items, startInclusive, endExclusive));
+    }
 
-                    if (!greater(index, k)) {
-                        break;
-                    }
+    @Override
+    public Sortable<T> clonedTarget() {
+        Heap<T> cloned = new Heap<>(type, size);
+        System.arraycopy(items, 0, cloned.items, 0, size);
+        cloned.size = size;
+        return cloned;
+    }
 
-                    swap(index, k);
-                    index = k;
-                }
-                break;
+    @Override
+    public void assign(T item, int index) {
+        checkBoundary(index);
+        items[index] = item;
+    }
+
+    @Override
+    public T get(int index) {
+        checkBoundary(index);
+        return items[index];
+    }
+
+    private void checkBoundary(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
         }
     }
 
-    public boolean isValid() {
-        for (int i = 0; i < len(); i++) {
-            int left = leftChildIndexOf(i);
-            int right = rightChildIndexOf(i);
-            switch (type) {
-                case MAX:
-                    if (left < len() && greater(left, i))
-                        return false;
-                    if (right < len() && greater(right, i))
-                        return false;
-                    break;
-                case MIN:
-                    if (left < len() && less(left, i))
-                        return false;
-                    if (right < len() && less(right, i))
-                        return false;
-                    break;
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
             }
+            sb.append(items[i]);
         }
-        return true;
+        sb.append("]");
+
+        return sb.toString();
     }
 
     public enum Type {
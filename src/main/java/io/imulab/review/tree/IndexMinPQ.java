@@ -0,0 +1,192 @@
+package io.imulab.review.tree;
+
+import java.util.Arrays;
+
+/**
+ * An indexed min priority queue holds integer indexes in [0, capacity), each with a double priority, and always
+ * offers the index with the smallest priority on top. Graph algorithms use the vertex number as the index.
+ *
+ * Unlike {@link Heap}, which has to scan for an item to check or update it, an indexed priority queue keeps a reverse
+ * map from every index to its position on the heap. That makes {@code contains} O(1) and lets {@code decreaseKey}
+ * move an index straight from its current position, in O(lgN). Priorities are kept as primitive doubles, so no
+ * wrapper object is created per insertion or update.
+ *
+ * The heap is 1-based: the children of position k are 2k and 2k + 1.
+ */
+public class IndexMinPQ {
+
+    /**
+     * Binary heap of indexes, in positions [1, size].
+     */
+    private final int[] pq;
+
+    /**
+     * Reverse map: qp[pq[k]] = k. An index not on the queue maps to -1.
+     */
+    private final int[] qp;
+
+    /**
+     * The priority of each index on the queue.
+     */
+    private final double[] keys;
+
+    private int size;
+
+    public IndexMinPQ(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("negative capacity");
+
+        this.pq = new int[capacity + 1];
+        this.qp = new int[capacity];
+        this.keys = new double[capacity];
+        this.size = 0;
+        Arrays.fill(qp, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the index is on the queue.
+     */
+    public boolean contains(int i) {
+        checkIndex(i);
+        return qp[i] != -1;
+    }
+
+    /**
+     * Put an index that is not on the queue yet on the queue with the given priority.
+     */
+    public void insert(int i, double key) {
+        if (contains(i))
+            throw new IllegalArgumentException(i + " is already on the queue");
+
+        size++;
+        qp[i] = size;
+        pq[size] = i;
+        keys[i] = key;
+        promote(size);
+    }
+
+    /**
+     * Lower the priority of an index on the queue.
+     */
+    public void decreaseKey(int i, double key) {
+        if (!contains(i))
+            throw new IllegalArgumentException(i + " is not on the queue");
+        if (key > keys[i])
+            throw new IllegalArgumentException("key " + key + " is greater than the current key " + keys[i]);
+
+        keys[i] = key;
+        promote(qp[i]);
+    }
+
+    /**
+     * Insert the index, or lower its priority if it is already on the queue. This is the relaxation step of shortest
+     * path and minimum spanning tree algorithms.
+     */
+    public void insertOrDecrease(int i, double key) {
+        if (contains(i)) {
+            decreaseKey(i, key);
+        } else {
+            insert(i, key);
+        }
+    }
+
+    /**
+     * The priority of an index on the queue.
+     */
+    public double keyOf(int i) {
+        if (!contains(i))
+            throw new IllegalArgumentException(i + " is not on the queue");
+        return keys[i];
+    }
+
+    /**
+     * The index with the smallest priority.
+     */
+    public int minIndex() {
+        checkNotEmpty();
+        return pq[1];
+    }
+
+    /**
+     * The smallest priority.
+     */
+    public double minKey() {
+        checkNotEmpty();
+        return keys[pq[1]];
+    }
+
+    /**
+     * Remove the index with the smallest priority and return it.
+     */
+    public int removeMin() {
+        checkNotEmpty();
+
+        int min = pq[1];
+        exchange(1, size--);
+        demote(1);
+
+        qp[min] = -1;
+        return min;
+    }
+
+    /**
+     * Remove every index from the queue. Only the indexes currently on the queue are touched, so this costs O(size)
+     * rather than O(capacity), and the queue can be reused between searches that only reach a few indexes.
+     */
+    public void clear() {
+        for (int k = 1; k <= size; k++) {
+            qp[pq[k]] = -1;
+        }
+        size = 0;
+    }
+
+    private void promote(int k) {
+        while (k > 1 && greater(k / 2, k)) {
+            exchange(k, k / 2);
+            k = k / 2;
+        }
+    }
+
+    private void demote(int k) {
+        while (2 * k <= size) {
+            int j = 2 * k;
+            if (j < size && greater(j, j + 1)) {
+                j++;
+            }
+            if (!greater(k, j))
+                break;
+            exchange(k, j);
+            k = j;
+        }
+    }
+
+    private boolean greater(int i, int j) {
+        return keys[pq[i]] > keys[pq[j]];
+    }
+
+    private void exchange(int i, int j) {
+        int swap = pq[i];
+        pq[i] = pq[j];
+        pq[j] = swap;
+        qp[pq[i]] = i;
+        qp[pq[j]] = j;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= qp.length)
+            throw new IndexOutOfBoundsException(i + " is out of bounds.");
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0)
+            throw new IllegalStateException("queue is empty");
+    }
+}
@@ -0,0 +1,80 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class AcyclicSPTests {
+
+    @Test
+    void testShortest() {
+        AcyclicSP sp = AcyclicSP.shortest(exampleGraph(), 5);
+
+        double[] expected = {0.73, 0.32, 0.62, 0.61, 0.35, 0.00, 1.13, 0.28};
+        for (int v = 0; v < expected.length; v++) {
+            Assertions.assertThat(sp.distanceTo(v)).isCloseTo(expected[v], Assertions.within(1e-9));
+        }
+    }
+
+    @Test
+    void testLongest() {
+        AcyclicSP sp = AcyclicSP.longest(exampleGraph(), 5);
+
+        double[] expected = {2.44, 0.32, 2.77, 0.61, 2.06, 0.00, 1.13, 2.43};
+        for (int v = 0; v < expected.length; v++) {
+            Assertions.assertThat(sp.distanceTo(v)).isCloseTo(expected[v], Assertions.within(1e-9));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (DirectedEdge e : sp.pathTo(2)) {
+            sb.append(e.from()).append("->").append(e.to()).append(" ");
+        }
+        Assertions.assertThat(sb.toString().trim()).isEqualTo("5->1 1->3 3->6 6->4 4->7 7->2");
+    }
+
+    @Test
+    void testSameAsBellmanFord() {
+        Random random = new Random(31);
+        int V = 3_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < V * 5; i++) {
+            int v = random.nextInt(V - 1);
+            builder.addEdge(v, v + 1 + random.nextInt(V - v - 1), random.nextInt(200) - 100);
+        }
+        CsrGraph g = builder.build();
+
+        AcyclicSP sp = AcyclicSP.shortest(g, 0);
+        BellmanFordSP expected = new BellmanFordSP(g, 0);
+        for (int v = 0; v < V; v++) {
+            Assertions.assertThat(sp.distanceTo(v)).isEqualTo(expected.distanceTo(v));
+        }
+    }
+
+    @Test
+    void testCycle() {
+        Assertions.assertThatThrownBy(() -> AcyclicSP.shortest(DijkstraSPTests.exampleGraph(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * tinyEWDAG from Sedgewick's Algorithms.
+     */
+    private EdgeWeightedDiGraph exampleGraph() {
+        EdgeWeightedDiGraph g = new EdgeWeightedDiGraph(8);
+        g.addEdge(new DirectedEdge(5, 4, 0.35));
+        g.addEdge(new DirectedEdge(4, 7, 0.37));
+        g.addEdge(new DirectedEdge(5, 7, 0.28));
+        g.addEdge(new DirectedEdge(5, 1, 0.32));
+        g.addEdge(new DirectedEdge(4, 0, 0.38));
+        g.addEdge(new DirectedEdge(0, 2, 0.26));
+        g.addEdge(new DirectedEdge(3, 7, 0.39));
+        g.addEdge(new DirectedEdge(1, 3, 0.29));
+        g.addEdge(new DirectedEdge(7, 2, 0.34));
+        g.addEdge(new DirectedEdge(6, 2, 0.40));
+        g.addEdge(new DirectedEdge(3, 6, 0.52));
+        g.addEdge(new DirectedEdge(6, 0, 0.58));
+        g.addEdge(new DirectedEdge(6, 4, 0.93));
+        return g;
+    }
+}
@@ -0,0 +1,107 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class BellmanFordSPTests {
+
+    @Test
+    void testNegativeWeights() {
+        BellmanFordSP sp = new BellmanFordSP(negativeWeightGraph(), 0);
+
+        Assertions.assertThat(sp.hasNegativeCycle()).isFalse();
+        double[] expected = {0.00, 0.93, 0.26, 0.99, 0.26, 0.61, 1.51, 0.60};
+        for (int v = 0; v < expected.length; v++) {
+            Assertions.assertThat(sp.distanceTo(v)).isCloseTo(expected[v], Assertions.within(1e-9));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (DirectedEdge e : sp.pathTo(1)) {
+            sb.append(e.from()).append("->").append(e.to()).append(" ");
+        }
+        Assertions.assertThat(sb.toString().trim()).isEqualTo("0->2 2->7 7->3 3->6 6->4 4->5 5->1");
+    }
+
+    @Test
+    void testNegativeCycle() {
+        BellmanFordSP sp = new BellmanFordSP(negativeCycleGraph(), 0);
+
+        Assertions.assertThat(sp.hasNegativeCycle()).isTrue();
+        double weight = 0d;
+        DirectedEdge previous = null;
+        for (DirectedEdge e : sp.negativeCycle()) {
+            if (previous != null) {
+                Assertions.assertThat(e.from()).isEqualTo(previous.to());
+            }
+            weight += e.weight();
+            previous = e;
+        }
+        Assertions.assertThat(weight).isCloseTo(-0.31, Assertions.within(1e-9));
+        Assertions.assertThatThrownBy(() -> sp.distanceTo(1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testSameAsDijkstra() {
+        Random random = new Random(29);
+        int V = 5_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < V * 5; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), random.nextInt(100));
+        }
+        CsrGraph g = builder.build();
+
+        BellmanFordSP sp = new BellmanFordSP(g, 0);
+        DijkstraSP expected = new DijkstraSP(g, 0);
+        for (int v = 0; v < V; v++) {
+            Assertions.assertThat(sp.distanceTo(v)).isEqualTo(expected.distanceTo(v));
+        }
+    }
+
+    /**
+     * tinyEWDn from Sedgewick's Algorithms.
+     */
+    static EdgeWeightedDiGraph negativeWeightGraph() {
+        EdgeWeightedDiGraph g = new EdgeWeightedDiGraph(8);
+        g.addEdge(new DirectedEdge(4, 5, 0.35));
+        g.addEdge(new DirectedEdge(5, 4, 0.35));
+        g.addEdge(new DirectedEdge(4, 7, 0.37));
+        g.addEdge(new DirectedEdge(5, 7, 0.28));
+        g.addEdge(new DirectedEdge(7, 5, 0.28));
+        g.addEdge(new DirectedEdge(5, 1, 0.32));
+        g.addEdge(new DirectedEdge(0, 4, 0.38));
+        g.addEdge(new DirectedEdge(0, 2, 0.26));
+        g.addEdge(new DirectedEdge(7, 3, 0.39));
+        g.addEdge(new DirectedEdge(1, 3, 0.29));
+        g.addEdge(new DirectedEdge(2, 7, 0.34));
+        g.addEdge(new DirectedEdge(6, 2, -1.20));
+        g.addEdge(new DirectedEdge(3, 6, 0.52));
+        g.addEdge(new DirectedEdge(6, 0, -1.40));
+        g.addEdge(new DirectedEdge(6, 4, -1.25));
+        return g;
+    }
+
+    /**
+     * tinyEWDnc from Sedgewick's Algorithms, with the negative cycle 4->5->4.
+     */
+    static EdgeWeightedDiGraph negativeCycleGraph() {
+        EdgeWeightedDiGraph g = new EdgeWeightedDiGraph(8);
+        g.addEdge(new DirectedEdge(4, 5, 0.35));
+        g.addEdge(new DirectedEdge(5, 4, -0.66));
+        g.addEdge(new DirectedEdge(4, 7, 0.37));
+        g.addEdge(new DirectedEdge(5, 7, 0.28));
+        g.addEdge(new DirectedEdge(7, 5, 0.28));
+        g.addEdge(new DirectedEdge(5, 1, 0.32));
+        g.addEdge(new DirectedEdge(0, 4, 0.38));
+        g.addEdge(new DirectedEdge(0, 2, 0.26));
+        g.addEdge(new DirectedEdge(7, 3, 0.39));
+        g.addEdge(new DirectedEdge(1, 3, 0.29));
+        g.addEdge(new DirectedEdge(2, 7, 0.34));
+        g.addEdge(new DirectedEdge(6, 2, 0.40));
+        g.addEdge(new DirectedEdge(3, 6, 0.52));
+        g.addEdge(new DirectedEdge(6, 0, 0.58));
+        g.addEdge(new DirectedEdge(6, 4, 0.93));
+        return g;
+    }
+}
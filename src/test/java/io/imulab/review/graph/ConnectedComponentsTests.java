@@ -3,6 +3,8 @@ package io.imulab.review.graph;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 @SuppressWarnings("Duplicates")
 public class ConnectedComponentsTests {
 
@@ -46,7 +48,40 @@ public class ConnectedComponentsTests {
         }
     }
 
-    private UnDiGraph exampleGraph() {
+    @Test
+    void testParallel() {
+        UnDiGraph g = exampleGraph();
+        ConnectedComponents sequential = new ConnectedComponents(g);
+
+        for (Graph graph : new Graph[]{g, CsrGraph.of(g)}) {
+            ConnectedComponents parallel = ConnectedComponents.parallel(graph);
+            Assertions.assertThat(parallel.count()).isEqualTo(3);
+            for (int v = 0; v < g.V(); v++) {
+                Assertions.assertThat(parallel.id(v)).isEqualTo(sequential.id(v));
+            }
+        }
+    }
+
+    @Test
+    void testParallelLargeGraph() {
+        Random random = new Random(3);
+        int V = 100_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V).undirected();
+        for (int i = 0; i < V / 2; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V));
+        }
+        CsrGraph g = builder.build();
+
+        ConnectedComponents sequential = new ConnectedComponents(g);
+        ConnectedComponents parallel = ConnectedComponents.parallel(g);
+
+        Assertions.assertThat(parallel.count()).isEqualTo(sequential.count());
+        for (int v = 0; v < V; v++) {
+            Assertions.assertThat(parallel.id(v)).isEqualTo(sequential.id(v));
+        }
+    }
+
+    static UnDiGraph exampleGraph() {
         UnDiGraph g = new UnDiGraph(13);
 
         // component 0-1-2-3-4-5-6
@@ -0,0 +1,161 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Random;
+
+public class ContractionHierarchyTests {
+
+    @Test
+    void testAgainstDijkstra() {
+        Random random = new Random(17);
+        CsrGraph g = roadLikeGraph(random, 60);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(g);
+        ContractionHierarchySearch search = new ContractionHierarchySearch(hierarchy);
+
+        for (int q = 0; q < 100; q++) {
+            int s = random.nextInt(g.V());
+            int t = q == 0 ? g.V() - 1 : random.nextInt(g.V());
+            assertSameAsDijkstra(g, search, s, t);
+        }
+    }
+
+    @Test
+    void testParallelEdgesAndSelfLoops() {
+        Random random = new Random(19);
+        int V = 300;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < V * 4; i++) {
+            int v = random.nextInt(V);
+            builder.addEdge(v, random.nextInt(10) == 0 ? v : random.nextInt(V), random.nextInt(50));
+        }
+        CsrGraph g = builder.build();
+        ContractionHierarchySearch search = new ContractionHierarchySearch(ContractionHierarchy.build(g));
+
+        for (int s = 0; s < V; s += 7) {
+            for (int t = 0; t < V; t += 11) {
+                assertSameAsDijkstra(g, search, s, t);
+            }
+        }
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Random random = new Random(23);
+        CsrGraph g = roadLikeGraph(random, 30);
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(g);
+
+        File file = File.createTempFile("hierarchy", ".ch");
+        file.deleteOnExit();
+        hierarchy.save(file);
+        ContractionHierarchy loaded = ContractionHierarchy.load(file);
+
+        Assertions.assertThat(loaded.V()).isEqualTo(hierarchy.V());
+        Assertions.assertThat(loaded.shortcuts()).isEqualTo(hierarchy.shortcuts());
+        for (int v = 0; v < g.V(); v++) {
+            Assertions.assertThat(loaded.rank(v)).isEqualTo(hierarchy.rank(v));
+        }
+
+        ContractionHierarchySearch search = new ContractionHierarchySearch(loaded);
+        for (int q = 0; q < 50; q++) {
+            assertSameAsDijkstra(g, search, random.nextInt(g.V()), random.nextInt(g.V()));
+        }
+    }
+
+    @Test
+    void testLoadRejectsOtherFiles() throws IOException {
+        File file = File.createTempFile("hierarchy", ".ch");
+        file.deleteOnExit();
+        Files.write(file.toPath(), new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        Assertions.assertThatThrownBy(() -> ContractionHierarchy.load(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testLoadRejectsCorruptFiles() throws IOException {
+        // 0 -> 1 -> 2, every edge upward in the order and none downward
+        CsrGraph g = new CsrGraph.Builder(3).addEdge(0, 1, 1.0).addEdge(1, 2, 1.0).build();
+        File file = File.createTempFile("hierarchy", ".ch");
+        file.deleteOnExit();
+        ContractionHierarchy.build(g).save(file);
+        byte[] saved = Files.readAllBytes(file.toPath());
+
+        // magic, V, 3 ranks, then the 4 offsets of the upward graph and its targets
+        int vertices = 4, offsets = 5 * Integer.BYTES, targets = 9 * Integer.BYTES;
+        int arcs = ByteBuffer.wrap(saved).getInt(offsets + 3 * Integer.BYTES);
+        Assertions.assertThat(arcs).isPositive();
+
+        int[][] corruptions = {
+                {vertices, -1},
+                {vertices, Integer.MAX_VALUE},
+                {2 * Integer.BYTES, 7},
+                {offsets, 1},
+                {offsets + Integer.BYTES, arcs + 1},
+                {offsets + 3 * Integer.BYTES, Integer.MAX_VALUE},
+                {targets, 3},
+                {targets + arcs * (Integer.BYTES + Double.BYTES), 5},
+        };
+        for (int[] corruption : corruptions) {
+            ByteBuffer corrupt = ByteBuffer.wrap(saved.clone());
+            corrupt.putInt(corruption[0], corruption[1]);
+            Files.write(file.toPath(), corrupt.array());
+
+            Assertions.assertThatThrownBy(() -> ContractionHierarchy.load(file))
+                    .as("%d at byte %d", corruption[1], corruption[0])
+                    .isInstanceOf(IOException.class);
+        }
+    }
+
+    private void assertSameAsDijkstra(CsrGraph g, ContractionHierarchySearch search, int s, int t) {
+        DijkstraSP expected = new DijkstraSP(g, s);
+        double distance = search.search(s, t);
+
+        Assertions.assertThat(distance).isEqualTo(expected.distanceTo(t));
+        Assertions.assertThat(search.hasPath()).isEqualTo(expected.hasPathTo(t));
+        if (!search.hasPath()) {
+            Assertions.assertThat(search.pathTo(t)).isNull();
+            return;
+        }
+
+        int at = s;
+        double total = 0d;
+        for (DirectedEdge e : search.pathTo(t)) {
+            Assertions.assertThat(e.from()).isEqualTo(at);
+            at = e.to();
+            total += e.weight();
+        }
+        Assertions.assertThat(at).isEqualTo(t);
+        Assertions.assertThat(total).isEqualTo(distance);
+    }
+
+    /**
+     * A grid with random weights, a few long jumps, and a last vertex no one can reach.
+     */
+    private CsrGraph roadLikeGraph(Random random, int side) {
+        int V = side * side;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V + 1);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) {
+                    builder.addEdge(v, v + 1, 1 + random.nextInt(10));
+                    builder.addEdge(v + 1, v, 1 + random.nextInt(10));
+                }
+                if (r + 1 < side) {
+                    builder.addEdge(v, v + side, 1 + random.nextInt(10));
+                    builder.addEdge(v + side, v, 1 + random.nextInt(10));
+                }
+            }
+        }
+        for (int i = 0; i < 20; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), 20 + random.nextInt(20));
+        }
+        builder.addEdge(V, 0, 1);
+        return builder.build();
+    }
+}
@@ -0,0 +1,123 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.sort.TopologicalSort;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CsrGraphTests {
+
+    @Test
+    void testBuild() {
+        CsrGraph g = new CsrGraph.Builder(4)
+                .addEdge(2, 3)
+                .addEdge(0, 2)
+                .addEdge(0, 1)
+                .addEdge(2, 0)
+                .build();
+
+        Assertions.assertThat(g.V()).isEqualTo(4);
+        Assertions.assertThat(g.E()).isEqualTo(4);
+        Assertions.assertThat(g.isWeighted()).isFalse();
+        Assertions.assertThat(g.degree(0)).isEqualTo(2);
+        Assertions.assertThat(g.degree(1)).isEqualTo(0);
+        Assertions.assertThat(g.degree(3)).isEqualTo(0);
+
+        // neighbors keep the order they were added in
+        Assertions.assertThat(g.adjacent(0)).containsExactly(2, 1);
+        Assertions.assertThat(g.adjacent(2)).containsExactly(3, 0);
+
+        List<Integer> visited = new ArrayList<>();
+        g.forEachAdjacent(2, visited::add);
+        Assertions.assertThat(visited).containsExactly(3, 0);
+
+        for (int e = 0; e < g.arcs(); e++) {
+            Assertions.assertThat(e).isGreaterThanOrEqualTo(g.begin(g.source(e))).isLessThan(g.end(g.source(e)));
+        }
+    }
+
+    @Test
+    void testUndirected() {
+        CsrGraph g = CsrGraph.of(ConnectedComponentsTests.exampleGraph());
+
+        Assertions.assertThat(g.isUndirected()).isTrue();
+        Assertions.assertThat(g.E()).isEqualTo(ConnectedComponentsTests.exampleGraph().E());
+        Assertions.assertThat(g.reverse()).isSameAs(g);
+
+        ConnectedComponents cc = new ConnectedComponents(g);
+        Assertions.assertThat(cc.count()).isEqualTo(3);
+        Assertions.assertThat(cc.isConnected(0, 6)).isTrue();
+        Assertions.assertThat(cc.isConnected(7, 8)).isTrue();
+        Assertions.assertThat(cc.isConnected(6, 9)).isFalse();
+    }
+
+    @Test
+    void testSearch() {
+        CsrGraph g = new CsrGraph.Builder(6)
+                .undirected()
+                .addEdge(0, 1)
+                .addEdge(1, 2)
+                .addEdge(2, 3)
+                .addEdge(0, 4)
+                .addEdge(4, 3)
+                .build();
+
+        BreathFirstSearch bfs = new BreathFirstSearch(g, 0);
+        Assertions.assertThat(bfs.displayPathTo(3)).isEqualTo("0 -> 4 -> 3");
+        Assertions.assertThat(bfs.hasPathTo(5)).isFalse();
+
+        DepthFirstSearch dfs = new DepthFirstSearch(g, 0);
+        Assertions.assertThat(dfs.hasPathTo(3)).isTrue();
+        Assertions.assertThat(dfs.hasPathTo(5)).isFalse();
+    }
+
+    @Test
+    void testTopologicalSort() {
+        CsrGraph g = new CsrGraph.Builder(5)
+                .addEdge(0, 1)
+                .addEdge(0, 2)
+                .addEdge(1, 3)
+                .addEdge(2, 3)
+                .addEdge(3, 4)
+                .build();
+
+        List<Integer> order = new ArrayList<>();
+        TopologicalSort.sort(g).forEach(order::add);
+
+        Assertions.assertThat(order).hasSize(5);
+        for (int v = 0; v < g.V(); v++) {
+            for (int e = g.begin(v); e < g.end(v); e++) {
+                Assertions.assertThat(order.indexOf(v)).isLessThan(order.indexOf(g.target(e)));
+            }
+        }
+    }
+
+    @Test
+    void testReverse() {
+        CsrGraph g = CsrGraph.of(DijkstraSPTests.exampleGraph());
+        CsrGraph r = g.reverse();
+
+        Assertions.assertThat(r.E()).isEqualTo(g.E());
+        for (int v = 0; v < g.V(); v++) {
+            for (int e = g.begin(v); e < g.end(v); e++) {
+                int w = g.target(e);
+                boolean found = false;
+                for (int f = r.begin(w); f < r.end(w); f++) {
+                    found |= r.target(f) == v && r.weight(f) == g.weight(e);
+                }
+                Assertions.assertThat(found).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void testImmutable() {
+        CsrGraph g = new CsrGraph.Builder(2).addEdge(0, 1).build();
+        Assertions.assertThatThrownBy(() -> g.addEdge(1, 0)).isInstanceOf(UnsupportedOperationException.class);
+        Assertions.assertThatThrownBy(() -> g.weight(0)).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThatThrownBy(() -> new CsrGraph.Builder(2).addEdge(0, 1).addEdge(1, 0, 1d))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
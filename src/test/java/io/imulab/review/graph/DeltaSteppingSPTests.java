@@ -0,0 +1,80 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DeltaSteppingSPTests {
+
+    @Test
+    void testShortestPath() {
+        DeltaSteppingSP sp = new DeltaSteppingSP(DijkstraSPTests.exampleGraph(), 0);
+
+        double[] expected = {0.00, 1.05, 0.26, 0.99, 0.38, 0.73, 1.51, 0.60};
+        for (int v = 0; v < expected.length; v++) {
+            Assertions.assertThat(sp.hasPathTo(v)).isTrue();
+            Assertions.assertThat(sp.distanceTo(v)).isCloseTo(expected[v], Assertions.within(1e-9));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (DirectedEdge e : sp.pathTo(6)) {
+            sb.append(e.from()).append("->").append(e.to()).append(" ");
+        }
+        Assertions.assertThat(sb.toString().trim()).isEqualTo("0->2 2->7 7->3 3->6");
+    }
+
+    @Test
+    void testSameAsDijkstra() {
+        Random random = new Random(23);
+        int V = 20_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < V * 6; i++) {
+            // some zero weights, so there are ties and tight cycles
+            builder.addEdge(random.nextInt(V), random.nextInt(V), random.nextInt(10) == 0 ? 0d : random.nextDouble());
+        }
+        CsrGraph g = builder.build();
+        DijkstraSP expected = new DijkstraSP(g, 0);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (double delta : new double[]{0.01, DeltaSteppingSP.defaultDelta(g), 0.5, 100}) {
+                DeltaSteppingSP sp = new DeltaSteppingSP(g, 0, delta, pool);
+                for (int v = 0; v < V; v++) {
+                    Assertions.assertThat(sp.distanceTo(v)).isEqualTo(expected.distanceTo(v));
+                    if (sp.hasPathTo(v)) {
+                        double total = 0d;
+                        int at = 0;
+                        for (DirectedEdge e : sp.pathTo(v)) {
+                            Assertions.assertThat(e.from()).isEqualTo(at);
+                            total += e.weight();
+                            at = e.to();
+                        }
+                        Assertions.assertThat(at).isEqualTo(v);
+                        Assertions.assertThat(total).isCloseTo(sp.distanceTo(v), Assertions.within(1e-9));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSmallDelta() {
+        // a billion buckets of width 1e-3 lie between the two vertices, only the two in use are ever held
+        CsrGraph g = new CsrGraph.Builder(3).addEdge(0, 1, 1e6).addEdge(1, 2, 0.5e-3).build();
+        DeltaSteppingSP sp = new DeltaSteppingSP(g, 0, 1e-3, ForkJoinPool.commonPool());
+
+        Assertions.assertThat(sp.distanceTo(1)).isEqualTo(1e6);
+        Assertions.assertThat(sp.distanceTo(2)).isEqualTo(1e6 + 0.5e-3);
+        Assertions.assertThat(sp.pathTo(2)).hasSize(2);
+    }
+
+    @Test
+    void testNegativeWeight() {
+        CsrGraph g = new CsrGraph.Builder(2).addEdge(0, 1, -1d).build();
+        Assertions.assertThatThrownBy(() -> new DeltaSteppingSP(g, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,80 @@
+package io.imulab.review.graph;
+
+import io.imulab.review.sort.TopologicalSort;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class DepthFirstTraversalTests {
+
+    @Test
+    void testSameOrderAsRecursion() {
+        Random random = new Random(42);
+        DiGraph g = new DiGraph(200);
+        for (int i = 0; i < 600; i++) {
+            g.addEdge(random.nextInt(200), random.nextInt(200));
+        }
+
+        List<Integer> expectedPre = new ArrayList<>();
+        List<Integer> expectedPost = new ArrayList<>();
+        boolean[] marked = new boolean[g.V()];
+        for (int v = 0; v < g.V(); v++) {
+            if (!marked[v]) {
+                recurse(g, v, marked, expectedPre, expectedPost);
+            }
+        }
+
+        for (Graph graph : new Graph[]{g, CsrGraph.of(g)}) {
+            List<Integer> pre = new ArrayList<>();
+            List<Integer> post = new ArrayList<>();
+            new DepthFirstTraversal(graph).traverseAll(new DepthFirstTraversal.Visitor() {
+                @Override
+                public void preorder(int v, int parent) {
+                    pre.add(v);
+                }
+
+                @Override
+                public void postorder(int v) {
+                    post.add(v);
+                }
+            });
+
+            Assertions.assertThat(pre).isEqualTo(expectedPre);
+            Assertions.assertThat(post).isEqualTo(expectedPost);
+        }
+    }
+
+    @Test
+    void testLongChain() {
+        int n = 1_000_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder(n);
+        for (int v = 0; v < n - 1; v++) {
+            builder.addEdge(v, v + 1);
+        }
+        CsrGraph g = builder.build();
+
+        int[] order = TopologicalSort.order(g);
+        for (int v = 0; v < n; v++) {
+            Assertions.assertThat(order[v]).isEqualTo(v);
+        }
+
+        DepthFirstSearch dfs = new DepthFirstSearch(g, 0);
+        Assertions.assertThat(dfs.hasPathTo(n - 1)).isTrue();
+
+        Assertions.assertThat(new ConnectedComponents(g).count()).isEqualTo(1);
+    }
+
+    private void recurse(Graph g, int v, boolean[] marked, List<Integer> pre, List<Integer> post) {
+        marked[v] = true;
+        pre.add(v);
+        for (int w : g.adjacent(v)) {
+            if (!marked[w]) {
+                recurse(g, w, marked, pre, post);
+            }
+        }
+        post.add(v);
+    }
+}
@@ -0,0 +1,88 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class DijkstraEngineTests {
+
+    @Test
+    void testReuse() {
+        CsrGraph g = randomGraph(new Random(17), 2_000, 10_000);
+        DijkstraEngine engine = new DijkstraEngine(g);
+
+        for (int s = 0; s < 50; s++) {
+            engine.search(s);
+            DijkstraSP expected = new DijkstraSP(g, s);
+            for (int v = 0; v < g.V(); v++) {
+                Assertions.assertThat(engine.distanceTo(v)).isEqualTo(expected.distanceTo(v));
+            }
+        }
+    }
+
+    @Test
+    void testEarlyStop() {
+        CsrGraph g = CsrGraph.of(DijkstraSPTests.exampleGraph());
+        DijkstraEngine engine = new DijkstraEngine(g);
+
+        Assertions.assertThat(engine.search(0, 6)).isCloseTo(1.51, Assertions.within(1e-9));
+        StringBuilder sb = new StringBuilder();
+        for (DirectedEdge e : engine.pathTo(6)) {
+            sb.append(e.from()).append("->").append(e.to()).append(" ");
+        }
+        Assertions.assertThat(sb.toString().trim()).isEqualTo("0->2 2->7 7->3 3->6");
+
+        // vertices 2 and 4 are settled within 0.5, vertices 1 and 6 are not even reached
+        engine.searchWithin(0, 0.5);
+        Assertions.assertThat(engine.distanceTo(2)).isCloseTo(0.26, Assertions.within(1e-9));
+        Assertions.assertThat(engine.distanceTo(4)).isCloseTo(0.38, Assertions.within(1e-9));
+        Assertions.assertThat(engine.hasPathTo(1)).isFalse();
+        Assertions.assertThat(engine.hasPathTo(6)).isFalse();
+
+        // vertices 7 and 5 are reached beyond the radius, but not settled, so no shortest path is known to them
+        for (int v : new int[]{5, 7}) {
+            Assertions.assertThat(engine.hasPathTo(v)).isFalse();
+            Assertions.assertThat(engine.distanceTo(v)).isEqualTo(Double.POSITIVE_INFINITY);
+            Assertions.assertThat(engine.edgeTo(v)).isEqualTo(-1);
+            Assertions.assertThat(engine.pathTo(v)).isNull();
+        }
+    }
+
+    @Test
+    void testPerThread() throws Exception {
+        CsrGraph g = randomGraph(new Random(19), 2_000, 10_000);
+        ThreadLocal<DijkstraEngine> engines = DijkstraEngine.perThread(g);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Double>> answers = new ArrayList<>();
+            for (int q = 0; q < 200; q++) {
+                final int s = q % g.V();
+                final int t = (q * 7919) % g.V();
+                answers.add(pool.submit(() -> engines.get().search(s, t)));
+            }
+
+            for (int q = 0; q < 200; q++) {
+                int s = q % g.V();
+                int t = (q * 7919) % g.V();
+                Assertions.assertThat(answers.get(q).get()).isEqualTo(new DijkstraSP(g, s).distanceTo(t));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private CsrGraph randomGraph(Random random, int V, int E) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < E; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), random.nextInt(100));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,63 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DijkstraSPTests {
+
+    @Test
+    void testShortestPath() {
+        DijkstraSP sp = new DijkstraSP(exampleGraph(), 0);
+
+        double[] expected = {0.00, 1.05, 0.26, 0.99, 0.38, 0.73, 1.51, 0.60};
+        for (int v = 0; v < expected.length; v++) {
+            Assertions.assertThat(sp.hasPathTo(v)).isTrue();
+            Assertions.assertThat(sp.distanceTo(v)).isCloseTo(expected[v], Assertions.within(1e-9));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (DirectedEdge e : sp.pathTo(6)) {
+            sb.append(e.from()).append("->").append(e.to()).append(" ");
+        }
+        Assertions.assertThat(sb.toString().trim()).isEqualTo("0->2 2->7 7->3 3->6");
+    }
+
+    @Test
+    void testShortestPathOnCsrGraph() {
+        DijkstraSP sp = new DijkstraSP(CsrGraph.of(exampleGraph()), 0);
+
+        double[] expected = {0.00, 1.05, 0.26, 0.99, 0.38, 0.73, 1.51, 0.60};
+        for (int v = 0; v < expected.length; v++) {
+            Assertions.assertThat(sp.distanceTo(v)).isCloseTo(expected[v], Assertions.within(1e-9));
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (DirectedEdge e : sp.pathTo(6)) {
+            sb.append(e.from()).append("->").append(e.to()).append(" ");
+        }
+        Assertions.assertThat(sb.toString().trim()).isEqualTo("0->2 2->7 7->3 3->6");
+    }
+
+    /**
+     * The 8 vertex example graph from Sedgewick's Algorithms (tinyEWD).
+     */
+    static EdgeWeightedDiGraph exampleGraph() {
+        EdgeWeightedDiGraph g = new EdgeWeightedDiGraph(8);
+        g.addEdge(new DirectedEdge(4, 5, 0.35));
+        g.addEdge(new DirectedEdge(5, 4, 0.35));
+        g.addEdge(new DirectedEdge(4, 7, 0.37));
+        g.addEdge(new DirectedEdge(5, 7, 0.28));
+        g.addEdge(new DirectedEdge(7, 5, 0.28));
+        g.addEdge(new DirectedEdge(5, 1, 0.32));
+        g.addEdge(new DirectedEdge(0, 4, 0.38));
+        g.addEdge(new DirectedEdge(0, 2, 0.26));
+        g.addEdge(new DirectedEdge(7, 3, 0.39));
+        g.addEdge(new DirectedEdge(1, 3, 0.29));
+        g.addEdge(new DirectedEdge(2, 7, 0.34));
+        g.addEdge(new DirectedEdge(6, 2, 0.40));
+        g.addEdge(new DirectedEdge(3, 6, 0.52));
+        g.addEdge(new DirectedEdge(6, 0, 0.58));
+        g.addEdge(new DirectedEdge(6, 4, 0.93));
+        return g;
+    }
+}
@@ -0,0 +1,122 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class DistanceMatrixTests {
+
+    @Test
+    void testManyToMany() {
+        CsrGraph g = randomGraph(2_000, 8, 41);
+        int[] sources = {0, 7, 7, 1999, 512};
+        int[] targets = {3, 0, 1500, 7, 7, 42};
+
+        DistanceMatrix matrix = DistanceMatrix.manyToMany(g, sources, targets);
+
+        Assertions.assertThat(matrix.rows()).isEqualTo(sources.length);
+        Assertions.assertThat(matrix.columns()).isEqualTo(targets.length);
+        assertMatches(g, matrix);
+    }
+
+    @Test
+    void testMappedFile() throws IOException {
+        CsrGraph g = randomGraph(1_000, 4, 43);
+        int[] sources = new int[100];
+        int[] targets = new int[300];
+        for (int i = 0; i < sources.length; i++)
+            sources[i] = i * 10;
+        for (int j = 0; j < targets.length; j++)
+            targets[j] = j * 3;
+        File file = File.createTempFile("matrix", ".bin");
+        file.deleteOnExit();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        DistanceMatrix matrix;
+        try {
+            matrix = DistanceMatrix.manyToMany(g, sources, targets, file, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        Assertions.assertThat(file.length()).isEqualTo((3L + 100 + 300) * Integer.BYTES + 100L * 300 * Float.BYTES);
+        assertMatches(g, matrix);
+
+        float[] row = matrix.row(5, new float[targets.length]);
+        for (int j = 0; j < targets.length; j++) {
+            Assertions.assertThat(row[j]).isEqualTo(matrix.get(5, j));
+        }
+
+        // the file holds everything needed to map it again
+        DistanceMatrix loaded = DistanceMatrix.load(file);
+        Assertions.assertThat(loaded.rows()).isEqualTo(100);
+        Assertions.assertThat(loaded.columns()).isEqualTo(300);
+        for (int i = 0; i < sources.length; i++) {
+            Assertions.assertThat(loaded.source(i)).isEqualTo(sources[i]);
+            Assertions.assertThat(loaded.row(i, new float[targets.length])).containsExactly(matrix.row(i, row));
+        }
+        for (int j = 0; j < targets.length; j++) {
+            Assertions.assertThat(loaded.target(j)).isEqualTo(targets[j]);
+        }
+
+        File garbage = File.createTempFile("matrix", ".bin");
+        garbage.deleteOnExit();
+        Assertions.assertThatThrownBy(() -> DistanceMatrix.load(garbage)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testUnreachable() {
+        CsrGraph.Builder builder = new CsrGraph.Builder(3);
+        builder.addEdge(0, 1, 1.5);
+        DistanceMatrix matrix = DistanceMatrix.manyToMany(builder.build(), new int[]{0, 2}, new int[]{1, 2});
+
+        Assertions.assertThat(matrix.get(0, 0)).isEqualTo(1.5f);
+        Assertions.assertThat(matrix.get(0, 1)).isEqualTo(Float.POSITIVE_INFINITY);
+        Assertions.assertThat(matrix.get(1, 0)).isEqualTo(Float.POSITIVE_INFINITY);
+        Assertions.assertThat(matrix.get(1, 1)).isEqualTo(0f);
+    }
+
+    @Test
+    void testAllPairs() {
+        // integral weights keep float sums exact, whatever the order they are added in
+        CsrGraph g = randomGraph(300, 10, 47);
+        DistanceMatrix matrix = DistanceMatrix.allPairs(g);
+
+        Assertions.assertThat(matrix.rows()).isEqualTo(300);
+        assertMatches(g, matrix);
+    }
+
+    @Test
+    void testAllPairsNegativeWeights() {
+        DistanceMatrix matrix = DistanceMatrix.allPairs(BellmanFordSPTests.negativeWeightGraph());
+        BellmanFordSP sp = new BellmanFordSP(BellmanFordSPTests.negativeWeightGraph(), 0);
+
+        for (int v = 0; v < 8; v++) {
+            Assertions.assertThat((double) matrix.get(0, v)).isCloseTo(sp.distanceTo(v), Assertions.within(1e-5));
+        }
+        Assertions.assertThatThrownBy(() -> DistanceMatrix.allPairs(BellmanFordSPTests.negativeCycleGraph()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertMatches(CsrGraph g, DistanceMatrix matrix) {
+        for (int i = 0; i < matrix.rows(); i++) {
+            DijkstraSP sp = new DijkstraSP(g, matrix.source(i));
+            for (int j = 0; j < matrix.columns(); j++) {
+                Assertions.assertThat(matrix.get(i, j)).isEqualTo((float) sp.distanceTo(matrix.target(j)));
+            }
+        }
+    }
+
+    private CsrGraph randomGraph(int V, int degree, long seed) {
+        Random random = new Random(seed);
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < V * degree; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), 1 + random.nextInt(100));
+        }
+        return builder.build();
+    }
+}
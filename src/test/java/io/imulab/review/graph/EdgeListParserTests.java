@@ -0,0 +1,142 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+@SuppressWarnings("Duplicates")
+public class EdgeListParserTests {
+
+    private static final String EDGES = "# a comment\n"
+            + "4 5 0.35\n"
+            + "5\t4\t0.35\r\n"
+            + "4,7,0.37\n"
+            + "\n"
+            + "% another comment\n"
+            + "  5 7 .28 ignored\n"
+            + "7 5 2.8e-1\n"
+            + "5 1 +0.32\n"
+            + "0 4 0.38";
+
+    @Test
+    void testParse() throws IOException {
+        CsrGraph expected = new CsrGraph.Builder(8)
+                .addEdge(4, 5, 0.35)
+                .addEdge(5, 4, 0.35)
+                .addEdge(4, 7, 0.37)
+                .addEdge(5, 7, 0.28)
+                .addEdge(7, 5, 0.28)
+                .addEdge(5, 1, 0.32)
+                .addEdge(0, 4, 0.38)
+                .build();
+
+        File file = write(EDGES);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertSame(new EdgeListParser().weighted().parse(file), expected);
+            assertSame(new EdgeListParser().weighted().parallel(pool).parse(file), expected);
+            assertSame(new EdgeListParser().weighted().parse(channel(EDGES)), expected);
+        } finally {
+            pool.shutdown();
+        }
+
+        // unweighted, the weights are ignored
+        CsrGraph unweighted = new EdgeListParser().vertices(10).undirected().parse(file);
+        Assertions.assertThat(unweighted.V()).isEqualTo(10);
+        Assertions.assertThat(unweighted.isWeighted()).isFalse();
+        Assertions.assertThat(unweighted.isUndirected()).isTrue();
+        Assertions.assertThat(unweighted.E()).isEqualTo(7);
+        Assertions.assertThat(unweighted.adjacent(5)).containsExactly(4, 4, 7, 7, 1);
+
+        Assertions.assertThat(new EdgeListParser().parse(write("# nothing\n")).V()).isEqualTo(0);
+    }
+
+    @Test
+    void testLargeFile() throws IOException {
+        Random random = new Random(13);
+        int V = 50_000, E = 300_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V).undirected();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < E; i++) {
+            int v = random.nextInt(V), w = random.nextInt(V);
+
+            // short weights take the fast path, full precision ones fall back
+            String weight = i % 2 == 0
+                    ? String.format(Locale.ROOT, "%.3f", random.nextDouble() * 100)
+                    : Double.toString(random.nextDouble());
+            builder.addEdge(v, w, Double.parseDouble(weight));
+            sb.append(v).append(' ').append(w).append(' ').append(weight).append('\n');
+        }
+        CsrGraph expected = builder.build();
+        File file = write(sb.toString());
+        Assertions.assertThat(file.length()).isGreaterThan(4L << 20);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertSame(new EdgeListParser().vertices(V).undirected().weighted().parse(file), expected);
+            assertSame(new EdgeListParser().vertices(V).undirected().weighted().parallel(pool).parse(file), expected);
+            assertSame(new EdgeListParser().vertices(V).undirected().weighted().parse(channel(sb.toString())),
+                    expected);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testMalformed() throws IOException {
+        Assertions.assertThatThrownBy(() -> new EdgeListParser().parse(write("0 1\n1 x\n")))
+                .isInstanceOf(IOException.class)
+                .hasMessage("malformed edge at byte 6");
+        Assertions.assertThatThrownBy(() -> new EdgeListParser().parse(write("0 -1\n")))
+                .isInstanceOf(IOException.class);
+        Assertions.assertThatThrownBy(() -> new EdgeListParser().parse(write("0 99999999999\n")))
+                .isInstanceOf(IOException.class);
+        Assertions.assertThatThrownBy(() -> new EdgeListParser().weighted().parse(write("0 1\n")))
+                .isInstanceOf(IOException.class);
+        Assertions.assertThatThrownBy(() -> new EdgeListParser().weighted().parse(write("0 1 0.5.5\n")))
+                .isInstanceOf(IOException.class)
+                .hasMessage("malformed weight at byte 4");
+        Assertions.assertThatThrownBy(() -> new EdgeListParser().vertices(2).parse(channel("0 1\n1 2\n")))
+                .isInstanceOf(IOException.class)
+                .hasMessage("2 is out of bounds at byte 6");
+    }
+
+    private File write(String text) throws IOException {
+        File file = File.createTempFile("edges", ".txt");
+        file.deleteOnExit();
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.US_ASCII)) {
+            writer.write(text);
+        }
+        return file;
+    }
+
+    private ReadableByteChannel channel(String text) {
+        return Channels.newChannel(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private void assertSame(CsrGraph actual, CsrGraph expected) {
+        Assertions.assertThat(actual.V()).isEqualTo(expected.V());
+        Assertions.assertThat(actual.arcs()).isEqualTo(expected.arcs());
+        Assertions.assertThat(actual.isWeighted()).isEqualTo(expected.isWeighted());
+        for (int v = 0; v < expected.V(); v++) {
+            Assertions.assertThat(actual.begin(v)).isEqualTo(expected.begin(v));
+        }
+        for (int e = 0; e < expected.arcs(); e++) {
+            Assertions.assertThat(actual.target(e)).isEqualTo(expected.target(e));
+            if (expected.isWeighted())
+                Assertions.assertThat(actual.weight(e)).isEqualTo(expected.weight(e));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class IncrementalConnectivityTests {
+
+    @Test
+    void testAddEdge() {
+        UnDiGraph g = ConnectedComponentsTests.exampleGraph();
+        IncrementalConnectivity connectivity = new IncrementalConnectivity(g.V());
+        Assertions.assertThat(connectivity.count()).isEqualTo(13);
+
+        for (int v = 0; v < g.V(); v++) {
+            for (int w : g.adjacent(v)) {
+                connectivity.addEdge(v, w);
+            }
+        }
+        assertSame(connectivity, new ConnectedComponents(g));
+        Assertions.assertThat(connectivity.isConnected(7, 12)).isFalse();
+
+        // joining two components renumbers the ones after them
+        Assertions.assertThat(connectivity.addEdge(12, 8)).isTrue();
+        Assertions.assertThat(connectivity.addEdge(11, 7)).isFalse();
+        Assertions.assertThat(connectivity.count()).isEqualTo(2);
+        Assertions.assertThat(connectivity.isConnected(7, 12)).isTrue();
+        Assertions.assertThat(connectivity.id(9)).isEqualTo(1);
+        Assertions.assertThat(connectivity.id(0)).isEqualTo(0);
+    }
+
+    @Test
+    void testBatches() {
+        Random random = new Random(5);
+        int V = 50_000;
+        UnDiGraph g = new UnDiGraph(V);
+        IncrementalConnectivity sequential = new IncrementalConnectivity(V);
+        IncrementalConnectivity parallel = new IncrementalConnectivity(V);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int batch = 0; batch < 5; batch++) {
+                int[] from = new int[V / 10];
+                int[] to = new int[V / 10];
+                for (int i = 0; i < from.length; i++) {
+                    from[i] = random.nextInt(V);
+                    to[i] = random.nextInt(V);
+                    g.addEdge(from[i], to[i]);
+                }
+
+                int count = sequential.count();
+                Assertions.assertThat(sequential.addEdges(from, to)).isEqualTo(count - sequential.count());
+                Assertions.assertThat(parallel.addEdges(from, to, pool)).isEqualTo(count - parallel.count());
+
+                ConnectedComponents cc = new ConnectedComponents(g);
+                assertSame(sequential, cc);
+                assertSame(parallel, cc);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testFromGraph() {
+        UnDiGraph g = ConnectedComponentsTests.exampleGraph();
+        for (Graph graph : new Graph[]{g, CsrGraph.of(g)}) {
+            assertSame(new IncrementalConnectivity(graph), new ConnectedComponents(g));
+        }
+    }
+
+    @Test
+    void testBadInput() {
+        IncrementalConnectivity connectivity = new IncrementalConnectivity(3);
+        Assertions.assertThatThrownBy(() -> connectivity.addEdge(0, 3))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        Assertions.assertThatThrownBy(() -> connectivity.addEdges(new int[]{0, 1}, new int[]{2}))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // a bad edge rejects the whole batch
+        Assertions.assertThatThrownBy(() -> connectivity.addEdges(new int[]{0, 1}, new int[]{1, -1}))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        Assertions.assertThat(connectivity.count()).isEqualTo(3);
+    }
+
+    private void assertSame(IncrementalConnectivity connectivity, ConnectedComponents cc) {
+        Assertions.assertThat(connectivity.count()).isEqualTo(cc.count());
+        for (int v = 0; v < connectivity.V(); v++) {
+            Assertions.assertThat(connectivity.id(v)).isEqualTo(cc.id(v));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+public class MappedCsrGraphTests {
+
+    @Test
+    void testWeighted() throws IOException {
+        CsrGraph g = CsrGraph.of(DijkstraSPTests.exampleGraph());
+        MappedCsrGraph mapped = saveAndLoad(g);
+
+        assertSame(mapped, g);
+        Assertions.assertThat(mapped.isWeighted()).isTrue();
+        Assertions.assertThat(mapped.isUndirected()).isFalse();
+
+        // algorithms over weighted graphs run on the mapped one unchanged
+        for (int source = 0; source < g.V(); source++) {
+            DijkstraSP expected = new DijkstraSP(g, source);
+            DijkstraSP actual = new DijkstraSP(mapped, source);
+            for (int v = 0; v < g.V(); v++) {
+                Assertions.assertThat(actual.distanceTo(v)).isEqualTo(expected.distanceTo(v));
+            }
+        }
+    }
+
+    @Test
+    void testUnweighted() throws IOException {
+        UnDiGraph undirected = ConnectedComponentsTests.exampleGraph();
+        MappedCsrGraph mapped = saveAndLoad(CsrGraph.of(undirected));
+
+        assertSame(mapped, CsrGraph.of(undirected));
+        Assertions.assertThat(mapped.isWeighted()).isFalse();
+        Assertions.assertThat(mapped.isUndirected()).isTrue();
+        Assertions.assertThat(mapped.E()).isEqualTo(undirected.E());
+        Assertions.assertThat(new ConnectedComponents(mapped).count()).isEqualTo(3);
+        Assertions.assertThatThrownBy(() -> mapped.weight(0)).isInstanceOf(IllegalStateException.class);
+
+        // no edges at all, with an even and an odd number of offsets
+        assertSame(saveAndLoad(new CsrGraph.Builder(0).build()), new CsrGraph.Builder(0).build());
+        assertSame(saveAndLoad(new CsrGraph.Builder(1).build()), new CsrGraph.Builder(1).build());
+    }
+
+    @Test
+    void testLargeGraph() throws IOException {
+        Random random = new Random(11);
+        int V = 10_000;
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < 5 * V + 1; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), random.nextDouble());
+        }
+        CsrGraph g = builder.build();
+
+        assertSame(saveAndLoad(g), g);
+    }
+
+    @Test
+    void testCorruptFile() throws IOException {
+        File file = File.createTempFile("csr", ".bin");
+        file.deleteOnExit();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeInt(0xCAFEBABE);
+        }
+        Assertions.assertThatThrownBy(() -> MappedCsrGraph.load(file)).isInstanceOf(IOException.class);
+
+        CsrGraph.of(DijkstraSPTests.exampleGraph()).save(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 8);
+        }
+        Assertions.assertThatThrownBy(() -> MappedCsrGraph.load(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("expected");
+    }
+
+    private MappedCsrGraph saveAndLoad(CsrGraph g) throws IOException {
+        File file = File.createTempFile("csr", ".bin");
+        file.deleteOnExit();
+        g.save(file);
+        return MappedCsrGraph.load(file);
+    }
+
+    private void assertSame(CsrGraph actual, CsrGraph expected) {
+        Assertions.assertThat(actual.V()).isEqualTo(expected.V());
+        Assertions.assertThat(actual.arcs()).isEqualTo(expected.arcs());
+        for (int v = 0; v < expected.V(); v++) {
+            Assertions.assertThat(actual.begin(v)).isEqualTo(expected.begin(v));
+            Assertions.assertThat(actual.end(v)).isEqualTo(expected.end(v));
+        }
+        for (int e = 0; e < expected.arcs(); e++) {
+            Assertions.assertThat(actual.target(e)).isEqualTo(expected.target(e));
+            if (expected.isWeighted())
+                Assertions.assertThat(actual.weight(e)).isEqualTo(expected.weight(e));
+        }
+    }
+}
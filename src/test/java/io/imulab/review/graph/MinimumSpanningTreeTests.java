@@ -1,14 +1,135 @@
 package io.imulab.review.graph;
 
+import io.imulab.review.misc.UnionFind;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 public class MinimumSpanningTreeTests {
 
+    @Test
+    void testMinimumSpanningTree() {
+        EdgeWeightedGraph g = exampleGraph();
+        MinimumSpanningTree[] msts = {
+                new KruskalMST(g),
+                new PrimMST(g),
+                new FilterKruskalMST(g),
+                new BoruvkaMST(g),
+                new EagerPrimMST(g)
+        };
 
+        for (MinimumSpanningTree mst : msts) {
+            Assertions.assertThat(mst.weight()).isCloseTo(1.81, Assertions.within(1e-9));
+            Assertions.assertThat(mst.edges()).containsExactlyInAnyOrder(
+                    new Edge(0, 7, 0.16),
+                    new Edge(2, 3, 0.17),
+                    new Edge(1, 7, 0.19),
+                    new Edge(0, 2, 0.26),
+                    new Edge(5, 7, 0.28),
+                    new Edge(4, 5, 0.35),
+                    new Edge(6, 2, 0.40)
+            );
+        }
+    }
 
-    private EdgeWeightedGraph exampleGraph() {
-        EdgeWeightedGraph g = new EdgeWeightedGraph(8);
+    @Test
+    void testLargeGraph() {
+        Random random = new Random(5);
+        int V = 20_000;
+        EdgeArray edges = new EdgeArray(V);
+        for (int v = 1; v < V; v++) {
+            // a random tree keeps the graph connected
+            edges.addEdge(v, random.nextInt(v), random.nextDouble());
+        }
+        for (int i = 0; i < V * 10; i++) {
+            int v = random.nextInt(V);
+            int w = random.nextInt(V);
+            if (v != w) {
+                // few distinct weights, so ties are common
+                edges.addEdge(v, w, random.nextInt(100) / 100d);
+            }
+        }
+
+        double expected = sequentialKruskal(edges);
+
+        FilterKruskalMST filterKruskal = new FilterKruskalMST(edges);
+        Assertions.assertThat(filterKruskal.weight()).isCloseTo(expected, Assertions.within(1e-6));
+        Assertions.assertThat(filterKruskal.edges()).hasSize(V - 1);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BoruvkaMST boruvka = new BoruvkaMST(edges, pool);
+            Assertions.assertThat(boruvka.weight()).isCloseTo(expected, Assertions.within(1e-6));
+            Assertions.assertThat(boruvka.edges()).hasSize(V - 1);
+        } finally {
+            pool.shutdown();
+        }
+
+        EagerPrimMST prim = new EagerPrimMST(edges);
+        Assertions.assertThat(prim.weight()).isCloseTo(expected, Assertions.within(1e-6));
+        Assertions.assertThat(prim.edges()).hasSize(V - 1);
+    }
+
+    @Test
+    void testSpanningForest() {
+        EdgeArray edges = new EdgeArray(5);
+        edges.addEdge(0, 1, 1d);
+        edges.addEdge(1, 2, 2d);
+        edges.addEdge(0, 2, 3d);
+        edges.addEdge(3, 4, 4d);
+
+        Assertions.assertThat(new FilterKruskalMST(edges).weight()).isEqualTo(7d);
+        Assertions.assertThat(new BoruvkaMST(edges).weight()).isEqualTo(7d);
+
+        EagerPrimMST prim = new EagerPrimMST(edges);
+        Assertions.assertThat(prim.weight()).isEqualTo(7d);
+        Assertions.assertThat(prim.edges()).containsExactlyInAnyOrder(
+                new Edge(0, 1, 1d), new Edge(1, 2, 2d), new Edge(3, 4, 4d));
+    }
 
-        // todo
+    private double sequentialKruskal(EdgeArray edges) {
+        Integer[] order = new Integer[edges.E()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(edges::weight));
 
+        UnionFind uf = new UnionFind(edges.V());
+        double total = 0d;
+        for (int i : order) {
+            if (!uf.connected(edges.either(i), edges.other(i))) {
+                uf.union(edges.either(i), edges.other(i));
+                total += edges.weight(i);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * The 8 vertex example graph from Sedgewick's Algorithms (tinyEWG).
+     */
+    private EdgeWeightedGraph exampleGraph() {
+        EdgeWeightedGraph g = new EdgeWeightedGraph(8);
+        g.addEdge(new Edge(4, 5, 0.35));
+        g.addEdge(new Edge(4, 7, 0.37));
+        g.addEdge(new Edge(5, 7, 0.28));
+        g.addEdge(new Edge(0, 7, 0.16));
+        g.addEdge(new Edge(1, 5, 0.32));
+        g.addEdge(new Edge(0, 4, 0.38));
+        g.addEdge(new Edge(2, 3, 0.17));
+        g.addEdge(new Edge(1, 7, 0.19));
+        g.addEdge(new Edge(0, 2, 0.26));
+        g.addEdge(new Edge(1, 2, 0.36));
+        g.addEdge(new Edge(1, 3, 0.29));
+        g.addEdge(new Edge(2, 7, 0.34));
+        g.addEdge(new Edge(6, 2, 0.40));
+        g.addEdge(new Edge(3, 6, 0.52));
+        g.addEdge(new Edge(6, 0, 0.58));
+        g.addEdge(new Edge(6, 4, 0.93));
         return g;
     }
 }
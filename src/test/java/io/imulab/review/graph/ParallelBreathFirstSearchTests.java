@@ -0,0 +1,65 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelBreathFirstSearchTests {
+
+    @Test
+    void testSearch() {
+        Graph g = UnDiGraph.exampleGraph();
+        ParallelBreathFirstSearch parallel = new ParallelBreathFirstSearch(g, 0);
+        BreathFirstSearch bfs = new BreathFirstSearch(g, 0);
+
+        for (int w = 0; w < g.V(); w++) {
+            Assertions.assertThat(parallel.hasPathTo(w)).isEqualTo(bfs.hasPathTo(w));
+            if (bfs.hasPathTo(w)) {
+                Assertions.assertThat(parallel.pathTo(w)).hasSameSizeAs(bfs.pathTo(w));
+            }
+        }
+    }
+
+    @Test
+    void testLargeGraphs() {
+        Random random = new Random(7);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (boolean undirected : new boolean[]{true, false}) {
+                int V = 50_000;
+                CsrGraph.Builder builder = new CsrGraph.Builder(V);
+                if (undirected) {
+                    builder.undirected();
+                }
+                for (int i = 0; i < V * 4; i++) {
+                    builder.addEdge(random.nextInt(V), random.nextInt(V));
+                }
+                CsrGraph g = builder.build();
+
+                BreathFirstSearch bfs = new BreathFirstSearch(g, 0);
+                ParallelBreathFirstSearch parallel = new ParallelBreathFirstSearch(g, 0, pool);
+                for (int w = 0; w < V; w++) {
+                    Assertions.assertThat(parallel.hasPathTo(w)).isEqualTo(bfs.hasPathTo(w));
+                    if (bfs.hasPathTo(w)) {
+                        Assertions.assertThat(parallel.pathTo(w)).hasSameSizeAs(bfs.pathTo(w));
+                        assertEdgesExist(g, parallel.pathTo(w));
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void assertEdgesExist(CsrGraph g, Iterable<Integer> path) {
+        int previous = -1;
+        for (int v : path) {
+            if (previous >= 0) {
+                Assertions.assertThat(g.adjacent(previous)).contains(v);
+            }
+            previous = v;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.imulab.review.graph;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class PointToPointSearchTests {
+
+    @Test
+    void testSearch() {
+        CsrGraph g = CsrGraph.of(DijkstraSPTests.exampleGraph());
+        PointToPointSearch[] searches = {
+                new BidirectionalDijkstra(g),
+                new AStarSearch(g, Heuristic.ZERO),
+                new AStarSearch(g, LandmarkHeuristic.farthest(g, 2))
+        };
+
+        for (PointToPointSearch search : searches) {
+            Assertions.assertThat(search.search(0, 6)).isCloseTo(1.51, Assertions.within(1e-9));
+            Assertions.assertThat(search.hasPath()).isTrue();
+
+            StringBuilder sb = new StringBuilder();
+            for (DirectedEdge e : search.pathTo(6)) {
+                sb.append(e.from()).append("->").append(e.to()).append(" ");
+            }
+            Assertions.assertThat(sb.toString().trim()).isEqualTo("0->2 2->7 7->3 3->6");
+            Assertions.assertThatThrownBy(() -> search.distanceTo(5)).isInstanceOf(IllegalArgumentException.class);
+
+            Assertions.assertThat(search.search(3, 3)).isEqualTo(0d);
+            Assertions.assertThat(search.pathTo(3)).isEmpty();
+        }
+    }
+
+    @Test
+    void testAgainstDijkstra() {
+        Random random = new Random(13);
+        int side = 60;
+        int V = side * side;
+
+        // a grid with random weights, plus a few long jumps, and a vertex no one can reach
+        CsrGraph.Builder builder = new CsrGraph.Builder(V + 1);
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int v = r * side + c;
+                if (c + 1 < side) {
+                    builder.addEdge(v, v + 1, 1 + random.nextInt(10));
+                    builder.addEdge(v + 1, v, 1 + random.nextInt(10));
+                }
+                if (r + 1 < side) {
+                    builder.addEdge(v, v + side, 1 + random.nextInt(10));
+                    builder.addEdge(v + side, v, 1 + random.nextInt(10));
+                }
+            }
+        }
+        for (int i = 0; i < 20; i++) {
+            builder.addEdge(random.nextInt(V), random.nextInt(V), 20 + random.nextInt(20));
+        }
+        CsrGraph g = builder.build();
+
+        PointToPointSearch[] searches = {
+                new BidirectionalDijkstra(g),
+                new AStarSearch(g, Heuristic.ZERO),
+                new AStarSearch(g, LandmarkHeuristic.farthest(g, 4))
+        };
+
+        for (int q = 0; q < 50; q++) {
+            int s = random.nextInt(V);
+            int t = q == 0 ? V : random.nextInt(V);
+            DijkstraSP expected = new DijkstraSP(g, s);
+
+            for (PointToPointSearch search : searches) {
+                double distance = search.search(s, t);
+                Assertions.assertThat(distance).isEqualTo(expected.distanceTo(t));
+                Assertions.assertThat(search.hasPath()).isEqualTo(expected.hasPathTo(t));
+                if (search.hasPath()) {
+                    assertPath(search.pathTo(t), s, t, distance);
+                } else {
+                    Assertions.assertThat(search.pathTo(t)).isNull();
+                }
+            }
+        }
+    }
+
+    private void assertPath(Iterable<DirectedEdge> path, int s, int t, double distance) {
+        int at = s;
+        double total = 0d;
+        for (DirectedEdge e : path) {
+            Assertions.assertThat(e.from()).isEqualTo(at);
+            at = e.to();
+            total += e.weight();
+        }
+        Assertions.assertThat(at).isEqualTo(t);
+        Assertions.assertThat(total).isEqualTo(distance);
+    }
+}
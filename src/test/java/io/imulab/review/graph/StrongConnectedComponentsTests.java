@@ -4,6 +4,8 @@ import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 public class StrongConnectedComponentsTests {
 
@@ -73,6 +75,113 @@ public class StrongConnectedComponentsTests {
         }
     }
 
+    @Test
+    void testParallel() {
+        DiGraph g = exampleGraph();
+        StrongConnectedComponents parallel = StrongConnectedComponents.parallel(g);
+
+        Assertions.assertThat(parallel.count()).isEqualTo(5);
+        assertSamePartition(new StrongConnectedComponents(g), parallel, g.V());
+
+        // numbered in the order of the smallest vertex of each component
+        Assertions.assertThat(parallel.id(0)).isEqualTo(0);
+        Assertions.assertThat(parallel.id(1)).isEqualTo(1);
+        Assertions.assertThat(parallel.id(6)).isEqualTo(2);
+        Assertions.assertThat(parallel.id(7)).isEqualTo(3);
+        Assertions.assertThat(parallel.id(9)).isEqualTo(4);
+    }
+
+    @Test
+    void testParallelLargeGraph() {
+        Random random = new Random(5);
+        int V = 50_000;
+        DiGraph g = new DiGraph(V);
+
+        // many small cycles for coloring, a few long ones, sparse random edges between them, and self loops
+        for (int v = 0; v + 3 < V / 2; v += 4) {
+            g.addEdge(v, v + 1);
+            g.addEdge(v + 1, v + 2);
+            g.addEdge(v + 2, v);
+        }
+        for (int v = V / 2; v < V - 1; v++) {
+            if (random.nextInt(5_000) != 0)
+                g.addEdge(v, v + 1);
+        }
+        g.addEdge(V - 1, V / 2);
+        for (int i = 0; i < V / 4; i++) {
+            g.addEdge(random.nextInt(V), random.nextInt(V));
+        }
+        for (int i = 0; i < 100; i++) {
+            int v = random.nextInt(V);
+            g.addEdge(v, v);
+        }
+
+        assertParallelMatches(g);
+    }
+
+    @Test
+    void testParallelChainOfCycles() {
+        // two-cycles in a chain, with vertex numbers and so colors decreasing along it: coloring would take a round
+        // per cycle, each spreading the whole length of the chain
+        for (int V : new int[]{800, 100_000}) {
+            DiGraph g = new DiGraph(V);
+            for (int v = V - 1; v > 0; v -= 2) {
+                g.addEdge(v, v - 1);
+                g.addEdge(v - 1, v);
+                if (v > 1)
+                    g.addEdge(v - 1, v - 2);
+            }
+
+            assertParallelMatches(g);
+            Assertions.assertThat(StrongConnectedComponents.parallel(g).count()).isEqualTo(V / 2);
+        }
+    }
+
+    @Test
+    void testParallelDeepGraphs() {
+        int V = 1_000_000;
+
+        // a chain, taken apart by trimming alone
+        CsrGraph.Builder chain = new CsrGraph.Builder(V);
+        for (int v = 0; v + 1 < V; v++) {
+            chain.addEdge(v, v + 1);
+        }
+        StrongConnectedComponents scc = StrongConnectedComponents.parallel(chain.build());
+        Assertions.assertThat(scc.count()).isEqualTo(V);
+        Assertions.assertThat(scc.id(V - 1)).isEqualTo(V - 1);
+
+        // a single cycle, found by the forward-backward step
+        chain.addEdge(V - 1, 0);
+        scc = StrongConnectedComponents.parallel(chain.build());
+        Assertions.assertThat(scc.count()).isEqualTo(1);
+        Assertions.assertThat(scc.isConnected(0, V / 2)).isTrue();
+    }
+
+    private void assertParallelMatches(DiGraph g) {
+        StrongConnectedComponents sequential = new StrongConnectedComponents(g);
+        assertSamePartition(sequential, StrongConnectedComponents.parallel(CsrGraph.of(g)), g.V());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertSamePartition(sequential, StrongConnectedComponents.parallel(CsrGraph.of(g), pool), g.V());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void assertSamePartition(StrongConnectedComponents expected, StrongConnectedComponents actual, int V) {
+        Assertions.assertThat(actual.count()).isEqualTo(expected.count());
+
+        int[] mapping = new int[expected.count()];
+        Arrays.fill(mapping, -1);
+        for (int v = 0; v < V; v++) {
+            int id = expected.id(v);
+            if (mapping[id] == -1)
+                mapping[id] = actual.id(v);
+            Assertions.assertThat(actual.id(v)).isEqualTo(mapping[id]);
+        }
+    }
+
     private DiGraph exampleGraph() {
         DiGraph g = new DiGraph(13);
 
@@ -0,0 +1,51 @@
+package io.imulab.review.misc;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+public class ConcurrentUnionFindTests {
+
+    @Test
+    void testUnion() {
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(10);
+
+        Assertions.assertThat(uf.union(4, 3)).isTrue();
+        Assertions.assertThat(uf.union(3, 8)).isTrue();
+        Assertions.assertThat(uf.union(6, 5)).isTrue();
+        Assertions.assertThat(uf.union(9, 4)).isTrue();
+        Assertions.assertThat(uf.union(8, 9)).isFalse();
+
+        Assertions.assertThat(uf.count()).isEqualTo(6);
+        Assertions.assertThat(uf.connected(3, 9)).isTrue();
+        Assertions.assertThat(uf.connected(5, 9)).isFalse();
+        Assertions.assertThat(uf.find(9)).isEqualTo(3);
+        Assertions.assertThatThrownBy(() -> uf.find(10)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testConcurrentUnion() {
+        int n = 200_000;
+        int[][] pairs = new int[n][2];
+        Random random = new Random(11);
+        for (int[] pair : pairs) {
+            pair[0] = random.nextInt(n);
+            pair[1] = random.nextInt(n);
+        }
+
+        UnionFind expected = new UnionFind(n);
+        for (int[] pair : pairs) {
+            expected.union(pair[0], pair[1]);
+        }
+
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+        IntStream.range(0, n).parallel().forEach(i -> uf.union(pairs[i][0], pairs[i][1]));
+
+        Assertions.assertThat(uf.count()).isEqualTo(expected.count());
+        for (int i = 0; i < n; i++) {
+            Assertions.assertThat(uf.find(i)).isEqualTo(uf.find(expected.find(i)));
+        }
+    }
+}
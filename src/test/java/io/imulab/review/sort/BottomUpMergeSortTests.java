@@ -26,4 +26,18 @@ public class BottomUpMergeSortTests {
             System.out.println();
         }
     }
+
+    @Test
+    void testSortLargeTarget() {
+        Sortable target = new Array<>(TestUtility.randomIntegerArray(0, 100, 10000));
+        BottomUpMergeSort.sort(target);
+        Assertions.assertThat(target.isSorted()).isTrue();
+
+        // sorting again goes through the already-in-order shortcut
+        BottomUpMergeSort.sort(target);
+        Assertions.assertThat(target.isSorted()).isTrue();
+
+        BottomUpMergeSort.sort(target, Sortable.Direction.DESC);
+        Assertions.assertThat(target.isSorted(Sortable.Direction.DESC)).isTrue();
+    }
 }
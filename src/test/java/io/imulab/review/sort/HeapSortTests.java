@@ -28,4 +28,25 @@ public class HeapSortTests {
             System.out.println();
         }
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSortRange() {
+        Sortable target = new Array<>(new Integer[]{9, 5, 3, 8, 1, 7, 2, 0});
+        HeapSort.sort(target, 1, 6, Sortable.Direction.ASC);
+        Assertions.assertThat(target.toString()).isEqualTo("[9, 1, 2, 3, 5, 7, 8, 0]");
+        HeapSort.sort(target, 0, 7, Sortable.Direction.DESC);
+        Assertions.assertThat(target.isSorted(Sortable.Direction.DESC)).isTrue();
+    }
+
+    @Test
+    void testSortInPlace() {
+        for (int size : new int[]{0, 1, 2, 20, 1000}) {
+            Sortable target = new Array<>(TestUtility.randomIntegerArray(0, 100, size));
+            HeapSort.sortInPlace(target);
+            Assertions.assertThat(target.isSorted()).isTrue();
+            HeapSort.sortInPlace(target, Sortable.Direction.DESC);
+            Assertions.assertThat(target.isSorted(Sortable.Direction.DESC)).isTrue();
+        }
+    }
 }
@@ -0,0 +1,169 @@
+package io.imulab.review.sort;
+
+import io.imulab.review.graph.CsrGraph;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class KahnSortTests {
+
+    @Test
+    void testLevels() {
+        KahnSort sort = new KahnSort(exampleGraph());
+
+        Assertions.assertThat(sort.hasCycle()).isFalse();
+        Assertions.assertThat(sort.cycle()).isNull();
+        Assertions.assertThat(sort.levels()).isEqualTo(6);
+        Assertions.assertThat(sort.level(0)).containsExactly(2, 8);
+        Assertions.assertThat(sort.level(1)).containsExactly(0, 3, 7);
+        Assertions.assertThat(sort.level(2)).containsExactly(1, 5, 6);
+        Assertions.assertThat(sort.level(3)).containsExactly(4, 9);
+        Assertions.assertThat(sort.level(4)).containsExactly(10, 11);
+        Assertions.assertThat(sort.level(5)).containsExactly(12);
+        Assertions.assertThat(sort.order()).containsExactly(2, 8, 0, 3, 7, 1, 5, 6, 4, 9, 10, 11, 12);
+        Assertions.assertThat(sort.levelOf(12)).isEqualTo(5);
+    }
+
+    @Test
+    void testCycle() {
+        // 0 -> 1 -> 2 -> 3 -> 1, with 4 downstream of the cycle and 5 a self loop
+        CsrGraph g = new CsrGraph.Builder(6)
+                .addEdge(0, 1).addEdge(1, 2).addEdge(2, 3).addEdge(3, 1).addEdge(3, 4).addEdge(5, 5)
+                .build();
+        KahnSort sort = new KahnSort(g);
+
+        Assertions.assertThat(sort.hasCycle()).isTrue();
+        Assertions.assertThat(sort.order()).containsExactly(0);
+        Assertions.assertThat(sort.levelOf(4)).isEqualTo(-1);
+        assertCycle(g, sort.cycle());
+
+        KahnSort selfLoop = new KahnSort(new CsrGraph.Builder(2).addEdge(0, 1).addEdge(1, 1).build());
+        Assertions.assertThat(selfLoop.cycle()).containsExactly(1);
+    }
+
+    @Test
+    void testLargeGraph() {
+        CsrGraph g = randomDag(new Random(7), 200_000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        KahnSort sort;
+        try {
+            sort = new KahnSort(g, pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        // the level of a vertex is the length of the longest path to it
+        int[] longest = new int[g.V()];
+        for (int v : TopologicalSort.order(g)) {
+            for (int e = g.begin(v); e < g.end(v); e++) {
+                longest[g.target(e)] = Math.max(longest[g.target(e)], longest[v] + 1);
+            }
+        }
+        for (int v = 0; v < g.V(); v++) {
+            Assertions.assertThat(sort.levelOf(v)).isEqualTo(longest[v]);
+        }
+        Assertions.assertThat(sort.order()).hasSize(g.V());
+    }
+
+    @Test
+    void testSchedule() throws Exception {
+        CsrGraph g = randomDag(new Random(11), 20_000);
+        AtomicInteger clock = new AtomicInteger();
+        AtomicIntegerArray started = new AtomicIntegerArray(g.V());
+        AtomicIntegerArray completed = new AtomicIntegerArray(g.V());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            KahnSort.schedule(g, v -> {
+                started.set(v, clock.incrementAndGet());
+                completed.set(v, clock.incrementAndGet());
+            }, executor).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int v = 0; v < g.V(); v++) {
+            Assertions.assertThat(completed.get(v)).isPositive();
+            for (int e = g.begin(v); e < g.end(v); e++) {
+                Assertions.assertThat(started.get(g.target(e))).isGreaterThan(completed.get(v));
+            }
+        }
+    }
+
+    @Test
+    void testScheduleOnCallingThread() throws Exception {
+        // every task makes the next one ready, with an executor that runs it right away
+        int V = 200_000;
+        CsrGraph.Builder chain = new CsrGraph.Builder(V);
+        for (int v = 0; v + 1 < V; v++) {
+            chain.addEdge(v, v + 1);
+        }
+        AtomicInteger next = new AtomicInteger();
+        KahnSort.schedule(chain.build(), v -> Assertions.assertThat(v).isEqualTo(next.getAndIncrement()), Runnable::run)
+                .get(30, TimeUnit.SECONDS);
+        Assertions.assertThat(next.get()).isEqualTo(V);
+
+        CsrGraph cyclic = new CsrGraph.Builder(3).addEdge(0, 1).addEdge(1, 2).addEdge(2, 1).build();
+        Assertions.assertThatThrownBy(() -> KahnSort.schedule(cyclic, v -> { }, Runnable::run).get())
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testScheduleFailures() {
+        CsrGraph cyclic = new CsrGraph.Builder(4).addEdge(0, 1).addEdge(1, 2).addEdge(2, 1).addEdge(2, 3).build();
+        Assertions.assertThatThrownBy(() -> KahnSort.schedule(cyclic, v -> { }, ForkJoinPool.commonPool()).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("graph has a cycle [2, 1]");
+
+        AtomicInteger ran = new AtomicInteger();
+        CsrGraph chain = new CsrGraph.Builder(3).addEdge(0, 1).addEdge(1, 2).build();
+        Assertions.assertThatThrownBy(() -> KahnSort.schedule(chain, v -> {
+            ran.incrementAndGet();
+            if (v == 1)
+                throw new IllegalArgumentException("task failed");
+        }, ForkJoinPool.commonPool()).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(ran.get()).isEqualTo(2);
+    }
+
+    private void assertCycle(CsrGraph g, int[] cycle) {
+        Assertions.assertThat(cycle).isNotEmpty();
+        for (int i = 0; i < cycle.length; i++) {
+            int v = cycle[i], w = cycle[(i + 1) % cycle.length];
+            boolean found = false;
+            for (int e = g.begin(v); e < g.end(v); e++) {
+                found |= g.target(e) == w;
+            }
+            Assertions.assertThat(found).as("edge %d -> %d", v, w).isTrue();
+        }
+    }
+
+    private CsrGraph randomDag(Random random, int V) {
+        CsrGraph.Builder builder = new CsrGraph.Builder(V);
+        for (int i = 0; i < V * 3; i++) {
+            int v = random.nextInt(V - 1);
+            builder.addEdge(v, v + 1 + random.nextInt(Math.min(100, V - v - 1)));
+        }
+        return builder.build();
+    }
+
+    /**
+     * tinyDAG from Sedgewick's Algorithms.
+     */
+    private CsrGraph exampleGraph() {
+        return new CsrGraph.Builder(13)
+                .addEdge(2, 3).addEdge(0, 6).addEdge(0, 1).addEdge(2, 0).addEdge(11, 12)
+                .addEdge(9, 12).addEdge(9, 10).addEdge(9, 11).addEdge(3, 5).addEdge(8, 7)
+                .addEdge(5, 4).addEdge(0, 5).addEdge(6, 4).addEdge(6, 9).addEdge(7, 6)
+                .build();
+    }
+}
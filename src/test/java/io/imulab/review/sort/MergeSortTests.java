@@ -26,4 +26,18 @@ public class MergeSortTests {
             System.out.println();
         }
     }
+
+    @Test
+    void testSortLargeTarget() {
+        Sortable target = new Array<>(TestUtility.randomIntegerArray(0, 100, 10000));
+        MergeSort.sort(target);
+        Assertions.assertThat(target.isSorted()).isTrue();
+
+        // sorting again goes through the already-in-order shortcut
+        MergeSort.sort(target);
+        Assertions.assertThat(target.isSorted()).isTrue();
+
+        MergeSort.sort(target, Sortable.Direction.DESC);
+        Assertions.assertThat(target.isSorted(Sortable.Direction.DESC)).isTrue();
+    }
 }
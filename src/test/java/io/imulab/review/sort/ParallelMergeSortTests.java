@@ -0,0 +1,99 @@
+package io.imulab.review.sort;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelMergeSortTests {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testSortAscending() {
+        for (int size : new int[]{0, 1, 100, 10000}) {
+            Sortable target = new Array<>(TestUtility.randomIntegerArray(0, 100, size));
+            ParallelMergeSort.sort(target, Sortable.Direction.ASC, 16, pool);
+            Assertions.assertThat(target.isSorted()).isTrue();
+        }
+    }
+
+    @Test
+    void testSortDescending() {
+        for (int size : new int[]{0, 1, 100, 10000}) {
+            Sortable target = new Array<>(TestUtility.randomIntegerArray(0, 100, size));
+            ParallelMergeSort.sort(target, Sortable.Direction.DESC, 16, pool);
+            Assertions.assertThat(target.isSorted(Sortable.Direction.DESC)).isTrue();
+        }
+    }
+
+    @Test
+    void testStable() {
+        int[] keys = TestUtility.randomIntArray(0, 10, 5000);
+        Keyed[] items = new Keyed[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            items[i] = new Keyed(keys[i], i);
+        }
+
+        ParallelMergeSort.sort(new Array<>(items), Sortable.Direction.ASC, 16, pool);
+
+        for (int i = 1; i < items.length; i++) {
+            Assertions.assertThat(items[i - 1].key).isLessThanOrEqualTo(items[i].key);
+            if (items[i - 1].key == items[i].key) {
+                Assertions.assertThat(items[i - 1].order).isLessThan(items[i].order);
+            }
+        }
+    }
+
+    @Test
+    void testSortPrimitives() {
+        int[] ints = TestUtility.randomIntArray(-1000, 1000, 20000);
+        int[] expectedInts = ints.clone();
+        Arrays.sort(expectedInts);
+        ParallelMergeSort.sort(new IntArray(ints), Sortable.Direction.ASC, 64, pool);
+        Assertions.assertThat(ints).containsExactly(expectedInts);
+
+        long[] longs = Arrays.stream(TestUtility.randomIntArray(-1000, 1000, 20000)).asLongStream().toArray();
+        long[] expectedLongs = longs.clone();
+        Arrays.sort(expectedLongs);
+        ParallelMergeSort.sort(new LongArray(longs), Sortable.Direction.ASC, 64, pool);
+        Assertions.assertThat(longs).containsExactly(expectedLongs);
+
+        DoubleArray doubles = new DoubleArray(Arrays.stream(TestUtility.randomIntArray(-1000, 1000, 20000))
+                .asDoubleStream().toArray());
+        ParallelMergeSort.sort(doubles, Sortable.Direction.DESC, 64, pool);
+        Assertions.assertThat(doubles.isSorted(Sortable.Direction.DESC)).isTrue();
+    }
+
+    @Test
+    void testSortWithDefaults() {
+        int[] ints = TestUtility.randomIntArray(0, Integer.MAX_VALUE, 100000);
+        int[] expected = ints.clone();
+        Arrays.sort(expected);
+        ParallelMergeSort.sort(new IntArray(ints));
+        Assertions.assertThat(ints).containsExactly(expected);
+    }
+
+    private static class Keyed implements Comparable<Keyed> {
+
+        final int key;
+        final int order;
+
+        Keyed(int key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+
+        @Override
+        public int compareTo(Keyed o) {
+            return Integer.compare(key, o.key);
+        }
+    }
+}
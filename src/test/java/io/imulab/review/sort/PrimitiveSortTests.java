@@ -0,0 +1,95 @@
+package io.imulab.review.sort;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public class PrimitiveSortTests {
+
+    @Test
+    void testIntArray() {
+        verifyInt(MergeSort::sort);
+        verifyInt(QuickSort::sort);
+        verifyInt(HeapSort::sort);
+        verifyInt(InsertionSort::sort);
+    }
+
+    @Test
+    void testLongArray() {
+        verifyLong(MergeSort::sort);
+        verifyLong(QuickSort::sort);
+        verifyLong(HeapSort::sort);
+        verifyLong(InsertionSort::sort);
+    }
+
+    @Test
+    void testDoubleArray() {
+        verifyDouble(MergeSort::sort);
+        verifyDouble(QuickSort::sort);
+        verifyDouble(HeapSort::sort);
+        verifyDouble(InsertionSort::sort);
+    }
+
+    @Test
+    void testDescending() {
+        for (int size : new int[]{0, 1, 2, 7, 100, 2000}) {
+            IntArray merge = new IntArray(TestUtility.randomIntArray(0, 50, size));
+            MergeSort.sort(merge, Sortable.Direction.DESC);
+            Assertions.assertThat(merge.isSorted(Sortable.Direction.DESC)).isTrue();
+
+            LongArray quick = new LongArray(Arrays.stream(TestUtility.randomIntArray(0, 50, size)).asLongStream().toArray());
+            QuickSort.sort(quick, Sortable.Direction.DESC);
+            Assertions.assertThat(quick.isSorted(Sortable.Direction.DESC)).isTrue();
+
+            DoubleArray heap = new DoubleArray(Arrays.stream(TestUtility.randomIntArray(0, 50, size)).asDoubleStream().toArray());
+            HeapSort.sort(heap, Sortable.Direction.DESC);
+            Assertions.assertThat(heap.isSorted(Sortable.Direction.DESC)).isTrue();
+
+            IntArray insertion = new IntArray(TestUtility.randomIntArray(0, 50, size));
+            InsertionSort.sort(insertion, Sortable.Direction.DESC);
+            Assertions.assertThat(insertion.isSorted(Sortable.Direction.DESC)).isTrue();
+        }
+    }
+
+    @Test
+    void testDoubleOrdering() {
+        DoubleArray target = new DoubleArray(new double[]{Double.NaN, 0.0d, 1.5d, -0.0d, Double.NEGATIVE_INFINITY});
+        QuickSort.sort(target);
+        Assertions.assertThat(target.getItems())
+                .containsExactly(Double.NEGATIVE_INFINITY, -0.0d, 0.0d, 1.5d, Double.NaN);
+    }
+
+    private void verifyInt(Consumer<IntArray> sorter) {
+        for (int size : new int[]{0, 1, 2, 7, 100, 2000}) {
+            int[] items = TestUtility.randomIntArray(0, 50, size);
+            int[] expected = items.clone();
+            Arrays.sort(expected);
+            sorter.accept(new IntArray(items));
+            Assertions.assertThat(items).containsExactly(expected);
+        }
+    }
+
+    private void verifyLong(Consumer<LongArray> sorter) {
+        for (int size : new int[]{0, 1, 2, 7, 100, 2000}) {
+            long[] items = Arrays.stream(TestUtility.randomIntArray(-1000, 1000, size)).asLongStream().toArray();
+            long[] expected = items.clone();
+            Arrays.sort(expected);
+            sorter.accept(new LongArray(items));
+            Assertions.assertThat(items).containsExactly(expected);
+        }
+    }
+
+    private void verifyDouble(Consumer<DoubleArray> sorter) {
+        for (int size : new int[]{0, 1, 2, 7, 100, 2000}) {
+            double[] items = Arrays.stream(TestUtility.randomIntArray(-1000, 1000, size)).asDoubleStream()
+                    .map(d -> d / 7)
+                    .toArray();
+            double[] expected = items.clone();
+            Arrays.sort(expected);
+            sorter.accept(new DoubleArray(items));
+            Assertions.assertThat(items).containsExactly(expected);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package io.imulab.review.sort;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 public class QuickSortTests {
 
     @Test
@@ -26,4 +28,36 @@ public class QuickSortTests {
             System.out.println();
         }
     }
+
+    @Test
+    void testSortModes() {
+        for (QuickSort.Mode mode : QuickSort.Mode.values()) {
+            for (int size : new int[]{0, 1, 2, 9, 40, 1000, 20000}) {
+                Sortable random = new Array<>(TestUtility.randomIntegerArray(0, Integer.MAX_VALUE, size));
+                QuickSort.sort(random, Sortable.Direction.ASC, mode);
+                Assertions.assertThat(random.isSorted()).isTrue();
+
+                Sortable duplicates = new Array<>(TestUtility.randomIntegerArray(0, 4, size));
+                QuickSort.sort(duplicates, Sortable.Direction.DESC, mode);
+                Assertions.assertThat(duplicates.isSorted(Sortable.Direction.DESC)).isTrue();
+
+                Integer[] sorted = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    sorted[i] = i;
+                }
+                Sortable reversed = new Array<>(sorted);
+                QuickSort.sort(reversed, Sortable.Direction.DESC, mode);
+                Assertions.assertThat(reversed.isSorted(Sortable.Direction.DESC)).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void testSortEqualKeys() {
+        Integer[] items = new Integer[100000];
+        Arrays.fill(items, 7);
+        Sortable target = new Array<>(items);
+        QuickSort.sort(target, Sortable.Direction.ASC, QuickSort.Mode.THREE_WAY);
+        Assertions.assertThat(target.isSorted()).isTrue();
+    }
 }
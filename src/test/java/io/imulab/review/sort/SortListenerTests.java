@@ -0,0 +1,59 @@
+package io.imulab.review.sort;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+public class SortListenerTests {
+
+    @Test
+    void testSilentByDefault() {
+        CountingArray target = new CountingArray(TestUtility.randomIntegerArray(0, 100, 20));
+        MergeSort.sort(target);
+        BottomUpMergeSort.sort(target);
+        QuickSort.sort(target);
+        HeapSort.sort(target);
+        InsertionSort.sort(target);
+        SelectionSort.sort(target);
+        Assertions.assertThat(target.isSorted()).isTrue();
+        Assertions.assertThat(target.toStringCalls).isEqualTo(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListenerNotified() {
+        java.util.List<String> events = new ArrayList<>();
+        SortListener listener = new SortListener() {
+            @Override
+            public void beforeSort(Sortable<?> target) {
+                events.add("before:" + target.isSorted());
+            }
+
+            @Override
+            public void afterSort(Sortable<?> target) {
+                events.add("after:" + target.isSorted());
+            }
+        };
+
+        Sortable target = new Array<>(new Integer[]{5, 4, 3, 2, 1});
+        QuickSort.sort(target, Sortable.Direction.ASC, listener);
+
+        Assertions.assertThat(events).containsExactly("before:false", "after:true");
+    }
+
+    private static class CountingArray extends Array<Integer> {
+
+        int toStringCalls = 0;
+
+        CountingArray(Integer[] items) {
+            super(items);
+        }
+
+        @Override
+        public String toString() {
+            toStringCalls++;
+            return super.toString();
+        }
+    }
+}
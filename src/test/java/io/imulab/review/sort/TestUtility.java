@@ -12,4 +12,13 @@ public class TestUtility {
         }
         return target;
     }
+
+    public static int[] randomIntArray(int rangeLow, int rangeHigh, int count) {
+        ThreadLocalRandom tlr = ThreadLocalRandom.current();
+        int[] target = new int[count];
+        for (int i = 0; i < count; i++) {
+            target[i] = tlr.nextInt(rangeLow, rangeHigh);
+        }
+        return target;
+    }
 }
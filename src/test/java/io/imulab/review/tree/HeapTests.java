@@ -1,8 +1,11 @@
 package io.imulab.review.tree;
 
+import io.imulab.review.sort.TestUtility;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 public class HeapTests {
 
     @Test
@@ -37,4 +40,77 @@ public class HeapTests {
         Assertions.assertThat(heap.removeTop()).isEqualTo("T");
         Assertions.assertThat(heap.isValid()).isTrue();
     }
+
+    @Test
+    void testRemoveInOrder() {
+        Heap<Integer> heap = Heap.minHeap();
+        Integer[] items = TestUtility.randomIntegerArray(0, 1000, 5000);
+        for (Integer item : items) {
+            heap.insert(item);
+        }
+        Arrays.sort(items);
+        for (Integer item : items) {
+            Assertions.assertThat(heap.removeTop()).isEqualTo(item);
+        }
+        Assertions.assertThat(heap.isEmpty()).isTrue();
+        Assertions.assertThatThrownBy(heap::removeTop).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testHeapify() {
+        Integer[] items = TestUtility.randomIntegerArray(0, 1000, 1000);
+        Heap<Integer> heap = Heap.heapify(items, Heap.Type.MAX);
+        Assertions.assertThat(heap.isValid()).isTrue();
+        Assertions.assertThat(heap.len()).isEqualTo(items.length);
+
+        Arrays.sort(items);
+        for (int i = items.length - 1; i >= 0; i--) {
+            Assertions.assertThat(heap.removeTop()).isEqualTo(items[i]);
+        }
+    }
+
+    @Test
+    void testUpdate() {
+        Heap<Keyed> heap = Heap.minHeap();
+        for (int i = 0; i < 10; i++) {
+            heap.insert(new Keyed(i, i * 10));
+        }
+
+        heap.update(new Keyed(7, -1));
+        Assertions.assertThat(heap.contains(new Keyed(7, 0))).isTrue();
+        Assertions.assertThat(heap.peek().id).isEqualTo(7);
+
+        heap.update(new Keyed(7, 1000));
+        Assertions.assertThat(heap.isValid()).isTrue();
+        Assertions.assertThat(heap.removeTop().id).isEqualTo(0);
+    }
+
+    /**
+     * Compared by priority, equal by id.
+     */
+    private static class Keyed implements Comparable<Keyed> {
+
+        final int id;
+        final int priority;
+
+        Keyed(int id, int priority) {
+            this.id = id;
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Keyed o) {
+            return Integer.compare(priority, o.priority);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Keyed && ((Keyed) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+    }
 }
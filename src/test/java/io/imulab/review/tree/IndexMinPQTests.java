@@ -0,0 +1,63 @@
+package io.imulab.review.tree;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class IndexMinPQTests {
+
+    @Test
+    void testRemoveInOrder() {
+        IndexMinPQ pq = new IndexMinPQ(1000);
+        for (int i = 0; i < 1000; i++) {
+            pq.insert(i, ThreadLocalRandom.current().nextDouble());
+        }
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (!pq.isEmpty()) {
+            double key = pq.minKey();
+            int i = pq.removeMin();
+            Assertions.assertThat(key).isGreaterThanOrEqualTo(last);
+            Assertions.assertThat(pq.contains(i)).isFalse();
+            last = key;
+        }
+    }
+
+    @Test
+    void testDecreaseKey() {
+        IndexMinPQ pq = new IndexMinPQ(10);
+        for (int i = 0; i < 10; i++) {
+            pq.insert(i, 10 + i);
+        }
+
+        pq.decreaseKey(9, 1);
+        Assertions.assertThat(pq.minIndex()).isEqualTo(9);
+        Assertions.assertThat(pq.keyOf(9)).isEqualTo(1);
+
+        pq.insertOrDecrease(5, 0.5);
+        Assertions.assertThat(pq.removeMin()).isEqualTo(5);
+        Assertions.assertThat(pq.removeMin()).isEqualTo(9);
+        Assertions.assertThat(pq.removeMin()).isEqualTo(0);
+        Assertions.assertThat(pq.size()).isEqualTo(7);
+
+        Assertions.assertThatThrownBy(() -> pq.decreaseKey(1, 100)).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> pq.insert(1, 0)).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThatThrownBy(() -> pq.contains(10)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testClear() {
+        IndexMinPQ pq = new IndexMinPQ(10);
+        pq.insert(3, 1d);
+        pq.insert(7, 0.5);
+        pq.clear();
+
+        Assertions.assertThat(pq.isEmpty()).isTrue();
+        Assertions.assertThat(pq.contains(3)).isFalse();
+        Assertions.assertThat(pq.contains(7)).isFalse();
+
+        pq.insert(3, 2d);
+        Assertions.assertThat(pq.removeMin()).isEqualTo(3);
+    }
+}